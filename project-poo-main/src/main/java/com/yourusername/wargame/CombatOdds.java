@@ -0,0 +1,149 @@
+package com.yourusername.wargame;
+
+import java.io.Serializable;
+
+/**
+ * Exact outcome probabilities of one attack, as computed by {@link CombatResolver#computeOdds}.
+ *
+ * Damage is {@code round(B * f)} with {@code B = max(0, attack - defense)} a small integer and
+ * {@code f} uniform in [0.8, 1.2), so each damage value has the probability of a sub-interval of
+ * {@code f} and the whole distribution is known exactly. The counter-attack distribution is the
+ * one the defender would roll if it survives and the attacker is within its range.
+ * Instances are immutable and shared through the resolver's memo table.
+ */
+public final class CombatOdds implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int minDamage;
+    private final double[] damage;        // damage[i] = P(damage == i), zero below minDamage
+    private final double killChance;
+    private final boolean counterAttack;  // Attacker within the defender's range
+    private final int minCounterDamage;
+    private final double[] counterDamage; // Given that the counter-attack happens
+    private final double attackerDeathChance;
+
+    /**
+     * @param damage Distribution of the attack's damage, indexed by damage value.
+     * @param defenderHitPoints The defender's current hit points.
+     * @param counterAttack True if the attacker is within the defender's range.
+     * @param counterDamage Distribution of the counter-attack's damage, indexed by damage value.
+     * @param attackerHitPoints The attacker's current hit points.
+     */
+    CombatOdds(double[] damage, int defenderHitPoints,
+               boolean counterAttack, double[] counterDamage, int attackerHitPoints) {
+        this.damage = damage;
+        this.minDamage = firstPossible(damage);
+        this.killChance = atLeast(damage, defenderHitPoints);
+        this.counterAttack = counterAttack;
+        this.counterDamage = counterDamage;
+        this.minCounterDamage = firstPossible(counterDamage);
+        this.attackerDeathChance = counterAttack ? (1 - killChance) * atLeast(counterDamage, attackerHitPoints) : 0;
+    }
+
+    private static int firstPossible(double[] distribution) {
+        int i = 0;
+        while (i < distribution.length - 1 && distribution[i] == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    // P(value >= threshold)
+    private static double atLeast(double[] distribution, int threshold) {
+        double p = 0;
+        for (int i = Math.max(0, threshold); i < distribution.length; i++) {
+            p += distribution[i];
+        }
+        return p;
+    }
+
+    private static double mean(double[] distribution) {
+        double sum = 0;
+        for (int i = 0; i < distribution.length; i++) {
+            sum += i * distribution[i];
+        }
+        return sum;
+    }
+
+    // --- Attack ---
+
+    public int getMinDamage() {
+        return minDamage;
+    }
+
+    public int getMaxDamage() {
+        return damage.length - 1;
+    }
+
+    /**
+     * @param value A damage value.
+     * @return The probability that the attack deals exactly that damage.
+     */
+    public double getDamageProbability(int value) {
+        return value >= 0 && value < damage.length ? damage[value] : 0;
+    }
+
+    public double getExpectedDamage() {
+        return mean(damage);
+    }
+
+    /**
+     * @return The probability that the attack destroys the defender.
+     */
+    public double getKillChance() {
+        return killChance;
+    }
+
+    // --- Counter-attack ---
+
+    /**
+     * @return True if the defender strikes back when it survives (the attacker is within its range).
+     */
+    public boolean canCounterAttack() {
+        return counterAttack;
+    }
+
+    /**
+     * @return The probability that a counter-attack happens: the defender survives and is in range.
+     */
+    public double getCounterAttackChance() {
+        return counterAttack ? 1 - killChance : 0;
+    }
+
+    public int getMinCounterDamage() {
+        return minCounterDamage;
+    }
+
+    public int getMaxCounterDamage() {
+        return counterDamage.length - 1;
+    }
+
+    /**
+     * @param value A damage value.
+     * @return The probability that the counter-attack, if it happens, deals exactly that damage.
+     */
+    public double getCounterDamageProbability(int value) {
+        return value >= 0 && value < counterDamage.length ? counterDamage[value] : 0;
+    }
+
+    /**
+     * @return The expected damage taken by the attacker, counting the attacks that get no counter-attack as 0.
+     */
+    public double getExpectedCounterDamage() {
+        return getCounterAttackChance() * mean(counterDamage);
+    }
+
+    /**
+     * @return The probability that the attacker is destroyed by the counter-attack.
+     */
+    public double getAttackerDeathChance() {
+        return attackerDeathChance;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CombatOdds[damage %d-%d (avg %.2f), kill %.3f, counter %.3f (avg %.2f), death %.3f]",
+                getMinDamage(), getMaxDamage(), getExpectedDamage(), killChance,
+                getCounterAttackChance(), getExpectedCounterDamage(), attackerDeathChance);
+    }
+}
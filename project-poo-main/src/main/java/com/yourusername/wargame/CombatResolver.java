@@ -1,11 +1,14 @@
 package com.yourusername.wargame;
 
+import com.yourusername.wargame.engine.GameLog;
 import com.yourusername.wargame.engine.GameState;
 import com.yourusername.wargame.model.terrain.TerrainType;
 import com.yourusername.wargame.model.unit.Unit;
 
 import java.io.Serializable;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
 
 /**
  * Resolves combat between units.
@@ -13,58 +16,53 @@ import java.util.Random;
 public class CombatResolver implements Serializable {
     private static final long serialVersionUID = 1L;
     
-    // For randomized combat outcomes
-    private final Random random;
+    // Memoized odds, keyed by unit types, terrain, counter range and hit points (see oddsKey)
+    private static final Map<Long, CombatOdds> ODDS_CACHE = new ConcurrentHashMap<>();
     
     /**
-     * Creates a new CombatResolver with the provided random generator.
-     * @param random The random generator to use.
+     * Creates a new CombatResolver. It holds no random generator: every combat rolls on the
+     * stream it is given, so outcomes only depend on the caller's seeds.
      */
-    public CombatResolver(Random random) {
-        this.random = random;
+    public CombatResolver() {
     }
     
     /**
-     * Resolves combat between attacker and defender units.
+     * Resolves combat between attacker and defender units, rolling damage from the given generator
+     * (e.g. a per-combat stream of {@link com.yourusername.wargame.engine.RandomStreams}).
      * @param attacker The attacking unit.
      * @param defender The defending unit.
      * @param defenderTerrain The terrain the defender is on, for defense bonuses.
      * @param gameState The current game state.
+     * @param rolls The source of the damage rolls (the attack's, then the counter-attack's).
      * @return True if the defender was destroyed, false otherwise.
      */
-    public boolean resolveCombat(Unit attacker, Unit defender, TerrainType defenderTerrain, GameState gameState) {
+    public boolean resolveCombat(Unit attacker, Unit defender, TerrainType defenderTerrain, GameState gameState,
+                                 RandomGenerator rolls) {
         if (attacker == null || defender == null) {
             throw new IllegalArgumentException("Combat units cannot be null");
         }
         
-        System.out.println("--== COMBAT ==--");
-        System.out.println(attacker.getTypeName() + " (HP:" + attacker.getCurrentHitPoints() + 
+        GameLog.info("--== COMBAT ==--");
+        GameLog.info(() -> attacker.getTypeName() + " (HP:" + attacker.getCurrentHitPoints() + 
                            ") attacks " + defender.getTypeName() + " (HP:" + defender.getCurrentHitPoints() + ")");
                 
-        // Calculate attack damage
-        int baseAttack = attacker.getBaseAttack();
-        int attackModifier = attackModifier(attacker);
-        int totalAttack = baseAttack + attackModifier;
-        
-        // Calculate defense
-        int baseDefense = defender.getBaseDefense();
-        double terrainBonus = defenderTerrain.getDefenseBonus(); 
-        int defenseModifier = defenseModifier(defender);
-        double totalDefense = baseDefense * (1 + terrainBonus) + defenseModifier;
+        // Calculate attack and defense
+        int totalAttack = totalAttack(attacker);
+        int totalDefense = totalDefense(defender, defenderTerrain);
         
         // Calculate damage
-        int damage = calculateDamage(totalAttack, (int)totalDefense);
+        int damage = calculateDamage(totalAttack, totalDefense, rolls);
         
-        System.out.println("Attack: " + totalAttack + " vs Defense: " + (int)totalDefense);
-        System.out.println("Damage: " + damage);
+        GameLog.info(() -> "Attack: " + totalAttack + " vs Defense: " + totalDefense);
+        GameLog.info(() -> "Damage: " + damage);
         
         // Apply damage
         boolean survived = defender.takeDamage(damage);
         
         // Execute counterattack if defender survived and in range
         if (survived && isInCounterAttackRange(attacker, defender)) {
-            System.out.println("--== COUNTER-ATTACK ==--");
-            executeCounterAttack(attacker, defender, gameState);
+            GameLog.info("--== COUNTER-ATTACK ==--");
+            executeCounterAttack(attacker, defender, gameState, rolls);
         }
         
         return !survived;
@@ -86,23 +84,18 @@ public class CombatResolver implements Serializable {
      * @param attacker The original attacker (now being counter-attacked).
      * @param defender The original defender (now counter-attacking).
      * @param gameState The current game state.
+     * @param rolls The source of the damage roll.
      */
-    private void executeCounterAttack(Unit attacker, Unit defender, GameState gameState) {
-        // Calculate counter-attack damage (reduced effectiveness)
-        int baseCounterAttack = (int)(defender.getBaseAttack() * 0.7); // Counter-attacks are weaker
-        int counterAttackModifier = attackModifier(defender);
-        int totalCounterAttack = baseCounterAttack + counterAttackModifier;
-        
-        // Calculate defense against counter
-        int baseDefense = attacker.getBaseDefense();
-        int defenseModifier = defenseModifier(attacker);
-        double totalDefense = baseDefense + defenseModifier;
+    private void executeCounterAttack(Unit attacker, Unit defender, GameState gameState, RandomGenerator rolls) {
+        // Calculate counter-attack and defense against it
+        int totalCounterAttack = totalCounterAttack(defender);
+        int totalDefense = totalCounterDefense(attacker);
         
         // Calculate damage
-        int damage = calculateDamage(totalCounterAttack, (int)totalDefense);
+        int damage = calculateDamage(totalCounterAttack, totalDefense, rolls);
         
-        System.out.println("Counter-Attack: " + totalCounterAttack + " vs Defense: " + (int)totalDefense);
-        System.out.println("Counter-Damage: " + damage);
+        GameLog.info(() -> "Counter-Attack: " + totalCounterAttack + " vs Defense: " + totalDefense);
+        GameLog.info(() -> "Counter-Damage: " + damage);
         
         // Apply damage
         attacker.takeDamage(damage);
@@ -110,6 +103,140 @@ public class CombatResolver implements Serializable {
         // Note: No further counter-counters
     }
     
+    /**
+     * Checks whether the defender of an attack will strike back if it survives.
+     * @param attacker The attacking unit.
+     * @param defender The defending unit.
+     * @return True if the attacker is within the defender's attack range.
+     */
+    public boolean canCounterAttack(Unit attacker, Unit defender) {
+        return isInCounterAttackRange(attacker, defender);
+    }
+    
+    /**
+     * Computes the damage of an attack for a given random factor, without applying it or logging.
+     * Uses the same formula as {@link #resolveCombat}; lets AI search roll (or fix) the factor itself.
+     * @param attacker The attacking unit.
+     * @param defender The defending unit.
+     * @param defenderTerrain The terrain the defender is on.
+     * @param randomFactor The damage multiplier, in [0.8, 1.2) (1.0 gives the average roll).
+     * @return The damage dealt to the defender.
+     */
+    public int computeDamage(Unit attacker, Unit defender, TerrainType defenderTerrain, double randomFactor) {
+        return damageFor(totalAttack(attacker), totalDefense(defender, defenderTerrain), randomFactor);
+    }
+    
+    /**
+     * Computes the damage of the defender's counter-attack for a given random factor.
+     * @param attacker The original attacker (receiving the counter-attack).
+     * @param defender The original defender (counter-attacking).
+     * @param randomFactor The damage multiplier, in [0.8, 1.2).
+     * @return The damage dealt to the attacker.
+     */
+    public int computeCounterDamage(Unit attacker, Unit defender, double randomFactor) {
+        return damageFor(totalCounterAttack(defender), totalCounterDefense(attacker), randomFactor);
+    }
+    
+    /**
+     * Computes the exact outcome probabilities of an attack: the damage distribution, the chance of
+     * destroying the defender, and the counter-attack the defender strikes back with if it survives.
+     * Results are memoized per (attacker type, defender type, terrain, counter range, hit points),
+     * so after the first call for a matchup the lookup is O(1). Nothing is rolled, applied or logged.
+     * @param attacker The attacking unit.
+     * @param defender The defending unit.
+     * @param defenderTerrain The terrain the defender is on.
+     * @return The odds of the attack.
+     */
+    public CombatOdds computeOdds(Unit attacker, Unit defender, TerrainType defenderTerrain) {
+        if (attacker == null || defender == null || defenderTerrain == null) {
+            throw new IllegalArgumentException("Combat units and terrain cannot be null");
+        }
+        boolean counterAttack = isInCounterAttackRange(attacker, defender);
+        int attack = totalAttack(attacker);
+        int defense = totalDefense(defender, defenderTerrain);
+        int counterAttackValue = totalCounterAttack(defender);
+        int counterDefense = totalCounterDefense(attacker);
+        // Hit points above the maximum damage all give the same odds: cap them to share entries
+        int defenderHp = Math.min(defender.getCurrentHitPoints(), maxDamage(attack, defense) + 1);
+        int attackerHp = Math.min(attacker.getCurrentHitPoints(), maxDamage(counterAttackValue, counterDefense) + 1);
+        
+        long key = oddsKey(attacker, defender, defenderTerrain, counterAttack, attackerHp, defenderHp);
+        return ODDS_CACHE.computeIfAbsent(key, k -> new CombatOdds(
+                damageDistribution(attack, defense), defenderHp,
+                counterAttack, damageDistribution(counterAttackValue, counterDefense), attackerHp));
+    }
+    
+    // The attack and defense totals only depend on the unit types and the terrain while the
+    // modifiers are constant; the key must grow with them if they ever depend on the unit
+    private static long oddsKey(Unit attacker, Unit defender, TerrainType terrain, boolean counterAttack,
+                                int attackerHp, int defenderHp) {
+        long key = attacker.getUnitType().ordinal();
+        key = key << 8 | defender.getUnitType().ordinal();
+        key = key << 8 | terrain.ordinal();
+        key = key << 1 | (counterAttack ? 1 : 0);
+        key = key << 16 | (Math.max(0, attackerHp) & 0xFFFF);
+        key = key << 16 | (Math.max(0, defenderHp) & 0xFFFF);
+        return key;
+    }
+    
+    /**
+     * Computes the exact distribution of {@code damageFor(attack, defense, f)} for f uniform in [0.8, 1.2).
+     * With {@code B = attack - defense > 0}, the roll deals d when {@code B * f} lies in [d - 0.5, d + 0.5),
+     * so d has probability {@code (min(1.2B, d + 0.5) - max(0.8B, d - 0.5)) / 0.4B}; scaled by 10 these
+     * bounds are integers, and the probabilities are exact ratios of small integers.
+     * @param attack Attack value.
+     * @param defense Defense value.
+     * @return The probabilities indexed by damage value (length = maximum damage + 1), summing to 1.
+     */
+    public static double[] damageDistribution(int attack, int defense) {
+        int baseDamage = Math.max(0, attack - defense);
+        double[] distribution = new double[maxDamage(attack, defense) + 1];
+        if (baseDamage == 0) {
+            distribution[0] = 1;
+            return distribution;
+        }
+        int low = 8 * baseDamage;   // 10 * 0.8B
+        int high = 12 * baseDamage; // 10 * 1.2B
+        for (int d = 0; d < distribution.length; d++) {
+            int width = Math.min(high, 10 * d + 5) - Math.max(low, 10 * d - 5);
+            if (width > 0) {
+                distribution[d] = (double) width / (4 * baseDamage);
+            }
+        }
+        // Minimum damage for successful hits (cannot trigger while 0.8B >= 0.5, kept in step with damageFor)
+        if (attack > defense && distribution[0] > 0) {
+            distribution[1] += distribution[0];
+            distribution[0] = 0;
+        }
+        return distribution;
+    }
+    
+    // Largest value damageFor can return for a factor below 1.2
+    private static int maxDamage(int attack, int defense) {
+        int baseDamage = Math.max(0, attack - defense);
+        // round(x) = floor(x + 0.5), and 1.2B itself is excluded: largest d with 10d - 5 < 12B
+        int max = Math.max(0, (12 * baseDamage + 4) / 10);
+        return attack > defense ? Math.max(1, max) : max;
+    }
+    
+    private int totalAttack(Unit attacker) {
+        return attacker.getBaseAttack() + attackModifier(attacker);
+    }
+    
+    private int totalDefense(Unit defender, TerrainType defenderTerrain) {
+        double terrainBonus = defenderTerrain.getDefenseBonus();
+        return (int) (defender.getBaseDefense() * (1 + terrainBonus) + defenseModifier(defender));
+    }
+    
+    private int totalCounterAttack(Unit defender) {
+        int baseCounterAttack = (int)(defender.getBaseAttack() * 0.7); // Counter-attacks are weaker
+        return baseCounterAttack + attackModifier(defender);
+    }
+    
+    private int totalCounterDefense(Unit attacker) {
+        return attacker.getBaseDefense() + defenseModifier(attacker);
+    }
+    
     /**
      * Calculate attack modifiers for a unit. Could be expanded with status effects.
      * @param unit The unit attacking.
@@ -134,14 +261,18 @@ public class CombatResolver implements Serializable {
      * Calculate damage based on attack and defense values.
      * @param attack Attack value.
      * @param defense Defense value.
+     * @param rolls The source of the random factor.
      * @return Calculated damage value.
      */
-    private int calculateDamage(int attack, int defense) {
-        // Basic formula with randomization: attack - defense with some variance
-        int baseDamage = Math.max(0, attack - defense);
-        
+    private int calculateDamage(int attack, int defense, RandomGenerator rolls) {
         // Add some randomness (0.8 - 1.2 multiplier)
-        double randomFactor = 0.8 + (random.nextDouble() * 0.4);
+        double randomFactor = 0.8 + (rolls.nextDouble() * 0.4);
+        return damageFor(attack, defense, randomFactor);
+    }
+    
+    // Basic formula: attack - defense, scaled by the random factor
+    private static int damageFor(int attack, int defense, double randomFactor) {
+        int baseDamage = Math.max(0, attack - defense);
         int finalDamage = (int) Math.round(baseDamage * randomFactor);
         
         // Ensure minimum damage for successful hits
@@ -0,0 +1,123 @@
+package com.yourusername.wargame;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int node ids keyed by int priorities, with O(log n) decrease-key.
+ * Each node id appears at most once; its heap slot is tracked so it can be re-prioritised in place.
+ * Backing arrays grow on demand and are reused across searches (call {@link #clear()} between runs).
+ */
+class IndexedMinHeap {
+    private int[] heap;      // heap[i] = node id at heap slot i
+    private int[] keys;      // keys[node] = priority of node
+    private int[] positions; // positions[node] = heap slot of node, or -1 if absent
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[Math.max(1, capacity)];
+        this.keys = new int[Math.max(1, capacity)];
+        this.positions = new int[Math.max(1, capacity)];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Ensures node ids in [0, capacity) can be stored.
+     * @param capacity The number of distinct node ids needed.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) return;
+        int oldLength = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldLength, capacity, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    /**
+     * Inserts a node, or lowers its key if it is already queued with a higher key.
+     * @param node The node id.
+     * @param key The priority (smaller is polled first).
+     */
+    void insertOrDecrease(int node, int key) {
+        int slot = positions[node];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = node;
+            positions[node] = slot;
+            keys[node] = key;
+            siftUp(slot);
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(slot);
+        }
+    }
+
+    /**
+     * Removes and returns the node with the smallest key.
+     * @return The node id.
+     */
+    int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes every queued node. Cost is proportional to the number of queued nodes.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int node = heap[slot];
+        int key = keys[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (keys[parent] <= key) break;
+            heap[slot] = parent;
+            positions[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = node;
+        positions[node] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int node = heap[slot];
+        int key = keys[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            if (key <= keys[heap[child]]) break;
+            heap[slot] = heap[child];
+            positions[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = node;
+        positions[node] = slot;
+    }
+}
@@ -0,0 +1,162 @@
+package com.yourusername.wargame;
+
+import com.yourusername.wargame.engine.AxialCoord;
+import com.yourusername.wargame.engine.Board;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * The set of hexes a unit can reach this turn, as computed by {@link MovementRangeFinder}.
+ * Holds the cheapest movement cost and the predecessor on that cheapest route for every reachable hex.
+ * Stored as parallel arrays sorted by hex index. Immutable once built.
+ */
+public class MovementRange implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Board board;
+    private final AxialCoord origin;
+    private final int originIndex;
+    private final int movementPoints;
+    private final int[] indices;      // Reachable hex indices (origin included), ascending
+    private final int[] costs;        // Cheapest cost from origin (origin itself = 0)
+    private final int[] predecessors; // Previous hex index on the cheapest route (-1 for origin)
+
+    MovementRange(Board board, AxialCoord origin, int originIndex, int movementPoints,
+                  int[] indices, int[] costs, int[] predecessors) {
+        this.board = Objects.requireNonNull(board, "Board cannot be null");
+        this.origin = Objects.requireNonNull(origin, "Origin cannot be null");
+        this.originIndex = originIndex;
+        this.movementPoints = movementPoints;
+        this.indices = indices;
+        this.costs = costs;
+        this.predecessors = predecessors;
+    }
+
+    public AxialCoord getOrigin() {
+        return origin;
+    }
+
+    public int getMovementPoints() {
+        return movementPoints;
+    }
+
+    // Position of a hex index in the sorted arrays, or a negative value if unreachable
+    private int slotOf(int index) {
+        return index < 0 ? -1 : Arrays.binarySearch(indices, index);
+    }
+
+    private int slotOf(AxialCoord coord) {
+        return coord == null ? -1 : slotOf(board.indexOf(coord.getQ(), coord.getR()));
+    }
+
+    /**
+     * Checks if the unit can end its move on the given hex.
+     * The origin is not considered a destination.
+     * @param coord The hex to check.
+     * @return true if the hex is reachable within the movement budget.
+     */
+    public boolean canReach(AxialCoord coord) {
+        int slot = slotOf(coord);
+        return slot >= 0 && indices[slot] != originIndex;
+    }
+
+    /**
+     * Checks if the unit can end its move on the hex with the given board index.
+     * @param index The hex index.
+     * @return true if the hex is reachable and is not the origin.
+     */
+    public boolean canReachIndex(int index) {
+        return index != originIndex && slotOf(index) >= 0;
+    }
+
+    /**
+     * Gets the cheapest movement cost to reach a hex.
+     * @param coord The target hex.
+     * @return The cost, or -1 if the hex is not reachable.
+     */
+    public int getCost(AxialCoord coord) {
+        int slot = slotOf(coord);
+        return slot >= 0 ? costs[slot] : -1;
+    }
+
+    /**
+     * Gets the hex preceding the given one on its cheapest route.
+     * @param coord The target hex.
+     * @return The predecessor, or null for the origin and unreachable hexes.
+     */
+    public AxialCoord getPredecessor(AxialCoord coord) {
+        int slot = slotOf(coord);
+        if (slot < 0 || predecessors[slot] < 0) return null;
+        return board.getHexAt(predecessors[slot]).getCoordinates();
+    }
+
+    /**
+     * Gets every hex the unit can move to (excluding its current position).
+     * @return A new list of reachable coordinates.
+     */
+    public List<AxialCoord> getReachableCoords() {
+        List<AxialCoord> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            if (index != originIndex) {
+                result.add(board.getHexAt(index).getCoordinates());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the cheapest route to a reachable hex by following predecessors.
+     * @param destination The target hex.
+     * @return The path (excluding origin, including destination), or an empty list if unreachable.
+     */
+    public List<AxialCoord> getPathTo(AxialCoord destination) {
+        if (!canReach(destination)) {
+            return Collections.emptyList();
+        }
+        LinkedList<AxialCoord> path = new LinkedList<>();
+        int slot = slotOf(destination);
+        while (slot >= 0 && indices[slot] != originIndex) {
+            path.addFirst(board.getHexAt(indices[slot]).getCoordinates());
+            slot = slotOf(predecessors[slot]);
+        }
+        return path;
+    }
+
+    /**
+     * @return The number of reachable destinations (excluding the origin).
+     */
+    public int size() {
+        return Math.max(0, indices.length - 1);
+    }
+
+    /**
+     * Gets the hex index of the i-th reachable entry (origin included), for allocation-free iteration.
+     * @param i The entry position, in [0, {@link #entryCount()}).
+     * @return The hex index.
+     */
+    public int indexAt(int i) {
+        return indices[i];
+    }
+
+    /**
+     * Gets the cost of the i-th reachable entry.
+     * @param i The entry position, in [0, {@link #entryCount()}).
+     * @return The cheapest movement cost.
+     */
+    public int costAt(int i) {
+        return costs[i];
+    }
+
+    /**
+     * @return The number of entries, origin included.
+     */
+    public int entryCount() {
+        return indices.length;
+    }
+
+    @Override
+    public String toString() {
+        return "MovementRange[origin=" + origin + ", MP=" + movementPoints + ", reachable=" + size() + "]";
+    }
+}
@@ -0,0 +1,99 @@
+package com.yourusername.wargame;
+
+import com.yourusername.wargame.engine.AxialCoord;
+import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.engine.Hex;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Computes a unit's movement range with a single bounded Dijkstra (uniform-cost) flood.
+ * Replaces running one A* search per board hex when listing or validating moves.
+ * Uses the same movement rules as {@link PathFinder}: terrain costs, inaccessible hexes
+ * and hexes occupied by other units block movement.
+ *
+ * The flood runs over the board's dense hex indices and adjacency table, using the
+ * per-thread {@link SearchWorkspace}; only the returned range is allocated.
+ */
+public class MovementRangeFinder implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Finds every hex the unit can reach with its current movement points.
+     * @param unit The unit moving (its position is the flood origin).
+     * @param board The game board.
+     * @return The unit's movement range.
+     */
+    public MovementRange findReachable(Unit unit, Board board) {
+        Objects.requireNonNull(unit, "Unit cannot be null");
+        return findReachable(unit, unit.getPosition(), unit.getCurrentMovementPoints(), board);
+    }
+
+    /**
+     * Finds every hex reachable from a start coordinate within a movement budget.
+     * @param unit The unit moving (used for movement costs and to ignore its own hex).
+     * @param start The flood origin.
+     * @param movementPoints The maximum total cost allowed.
+     * @param board The game board.
+     * @return The movement range from start.
+     */
+    public MovementRange findReachable(Unit unit, AxialCoord start, int movementPoints, Board board) {
+        Objects.requireNonNull(unit, "Unit cannot be null");
+        Objects.requireNonNull(start, "Start coordinate cannot be null");
+        Objects.requireNonNull(board, "Board cannot be null");
+
+        int startIndex = board.indexOf(start.getQ(), start.getR());
+        if (startIndex < 0 || movementPoints <= 0) {
+            return new MovementRange(board, start, startIndex, movementPoints,
+                                     new int[0], new int[0], new int[0]);
+        }
+
+        SearchWorkspace ws = SearchWorkspace.get();
+        ws.begin(board);
+        ws.markSeen(startIndex, 0, -1);
+        ws.offer(startIndex, 0);
+
+        // Every reachable hex is within movementPoints steps (each step costs at least 1)
+        int[] settled = new int[(int) Math.min(board.getIndexSize(), 3L * movementPoints * (movementPoints + 1) + 1)];
+        int settledCount = 0;
+
+        while (ws.hasOpen()) {
+            int current = ws.poll();
+            ws.markClosed(current);
+            settled[settledCount++] = current;
+            int currentCost = ws.gCost(current);
+
+            for (int i = 0; i < Board.DIRECTIONS; i++) {
+                int neighbor = board.getNeighborIndex(current, i);
+                if (neighbor < 0 || ws.isClosed(neighbor)) continue;
+                Hex neighborHex = board.getHexAt(neighbor);
+
+                // Units can neither enter inaccessible hexes nor pass through other units
+                if (!neighborHex.isAccessible()) continue;
+                Unit occupant = neighborHex.getUnit();
+                if (occupant != null && occupant != unit) continue;
+
+                int newCost = currentCost + board.getMovementCost(neighborHex, unit);
+                if (newCost > movementPoints) continue; // Out of budget
+
+                if (!ws.isSeen(neighbor) || newCost < ws.gCost(neighbor)) {
+                    ws.markSeen(neighbor, newCost, current);
+                    ws.offer(neighbor, newCost);
+                }
+            }
+        }
+
+        // Store the result sorted by hex index so lookups can binary search
+        int[] indices = Arrays.copyOf(settled, settledCount);
+        Arrays.sort(indices);
+        int[] costs = new int[settledCount];
+        int[] predecessors = new int[settledCount];
+        for (int i = 0; i < settledCount; i++) {
+            costs[i] = ws.gCost(indices[i]);
+            predecessors[i] = ws.parent(indices[i]);
+        }
+        return new MovementRange(board, start, startIndex, movementPoints, indices, costs, predecessors);
+    }
+}
@@ -0,0 +1,207 @@
+package com.yourusername.wargame;
+
+import com.yourusername.wargame.engine.AxialCoord;
+import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Bounded LRU cache of movement ranges and paths.
+ * Entries are keyed by (unit type, movement points, origin, destination, board version):
+ * movement only depends on terrain and occupancy, so a result stays valid until the board's
+ * version changes. Old versions simply age out of the LRU order.
+ * Hit/miss counters are exposed to help size the cache.
+ */
+public class PathCache implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int NO_DESTINATION = -1; // Destination slot of reachability entries
+
+    // Cache key; destination is NO_DESTINATION for movement ranges
+    private static final class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final UnitType unitType;
+        final int movementPoints;
+        final int origin;
+        final int destination;
+        final long boardVersion;
+
+        Key(UnitType unitType, int movementPoints, int origin, int destination, long boardVersion) {
+            this.unitType = unitType;
+            this.movementPoints = movementPoints;
+            this.origin = origin;
+            this.destination = destination;
+            this.boardVersion = boardVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return movementPoints == key.movementPoints && origin == key.origin
+                    && destination == key.destination && boardVersion == key.boardVersion
+                    && unitType == key.unitType;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = unitType.ordinal();
+            h = 31 * h + movementPoints;
+            h = 31 * h + origin;
+            h = 31 * h + destination;
+            h = 31 * h + Long.hashCode(boardVersion);
+            return h;
+        }
+    }
+
+    private final int capacity;
+    private final PathFinder pathFinder;
+    private final MovementRangeFinder movementRangeFinder;
+    private final LinkedHashMap<Key, Object> entries; // MovementRange or List<AxialCoord>
+    private Board board; // Board the entries belong to (versions are per board)
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache holding at most capacity results.
+     * @param capacity The maximum number of cached paths and ranges.
+     * @param pathFinder The path finder used on misses.
+     * @param movementRangeFinder The range finder used on misses.
+     */
+    public PathCache(int capacity, PathFinder pathFinder, MovementRangeFinder movementRangeFinder) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.pathFinder = Objects.requireNonNull(pathFinder, "PathFinder cannot be null");
+        this.movementRangeFinder = Objects.requireNonNull(movementRangeFinder, "MovementRangeFinder cannot be null");
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > PathCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the movement range of a unit from its current position, computing it on a miss.
+     * @param unit The unit.
+     * @param board The board the unit is on.
+     * @return The (shared, immutable) movement range.
+     */
+    public synchronized MovementRange findReachable(Unit unit, Board board) {
+        Objects.requireNonNull(unit, "Unit cannot be null");
+        int origin = indexOf(board, unit.getPosition());
+        if (origin < 0) {
+            return movementRangeFinder.findReachable(unit, board); // Off-board: nothing worth caching
+        }
+        Key key = new Key(unit.getUnitType(), unit.getCurrentMovementPoints(), origin, NO_DESTINATION, board.getVersion());
+        Object cached = lookup(board, key);
+        if (cached != null) {
+            return (MovementRange) cached;
+        }
+        MovementRange range = movementRangeFinder.findReachable(unit, board);
+        entries.put(key, range);
+        return range;
+    }
+
+    /**
+     * Gets the lowest-cost path for a unit from its current position, computing it on a miss.
+     * Same contract as {@link PathFinder#findPath}.
+     * @param unit The unit.
+     * @param end The target coordinate.
+     * @param board The board the unit is on.
+     * @return An unmodifiable path (excluding start, including end), or an empty list.
+     */
+    public synchronized List<AxialCoord> findPath(Unit unit, AxialCoord end, Board board) {
+        Objects.requireNonNull(unit, "Unit cannot be null");
+        int origin = indexOf(board, unit.getPosition());
+        int destination = indexOf(board, end);
+        if (origin < 0 || destination < 0) {
+            return pathFinder.findPath(unit, unit.getPosition(), end, board);
+        }
+        // Paths ignore movement points, so the key does not depend on them
+        Key key = new Key(unit.getUnitType(), 0, origin, destination, board.getVersion());
+        Object cached = lookup(board, key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            List<AxialCoord> path = (List<AxialCoord>) cached;
+            return path;
+        }
+        List<AxialCoord> path = Collections.unmodifiableList(pathFinder.findPath(unit, unit.getPosition(), end, board));
+        entries.put(key, path);
+        return path;
+    }
+
+    private int indexOf(Board board, AxialCoord coord) {
+        Objects.requireNonNull(board, "Board cannot be null");
+        return coord == null ? -1 : board.indexOf(coord.getQ(), coord.getR());
+    }
+
+    // Looks up a key, switching boards if needed, and updates the counters
+    private Object lookup(Board board, Key key) {
+        if (this.board != board) {
+            entries.clear();
+            this.board = board;
+        }
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cached;
+    }
+
+    /**
+     * Drops every cached result (counters are kept).
+     */
+    public synchronized void clear() {
+        entries.clear();
+        board = null;
+    }
+
+    /**
+     * Resets the hit/miss counters.
+     */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The fraction of lookups served from the cache (0 if there were none).
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PathCache[size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
@@ -2,6 +2,7 @@ package com.yourusername.wargame;
 
 import com.yourusername.wargame.engine.AxialCoord;
 import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.engine.GameLog;
 import com.yourusername.wargame.engine.Hex;
 import com.yourusername.wargame.model.unit.Unit;
 
@@ -11,44 +12,13 @@ import java.util.*;
 /**
  * Finds paths for units on the game board using the A* algorithm.
  * Considers terrain movement costs and obstacles.
+ *
+ * The search runs over dense int node indices with primitive cost/parent arrays and an
+ * indexed binary heap, all held in a per-thread {@link SearchWorkspace}, so repeated
+ * queries allocate nothing beyond the returned path.
  */
 public class PathFinder implements Serializable {
     private static final long serialVersionUID = 1L;
-    
-    // Helper class to store node information for A*
-    private static class Node implements Comparable<Node> {
-        AxialCoord coord;
-        Node parent;
-        double gCost; // Cost from start to this node
-        double hCost; // Heuristic cost from this node to end
-        double fCost; // gCost + hCost
-
-        Node(AxialCoord coord, Node parent, double gCost, double hCost) {
-            this.coord = coord;
-            this.parent = parent;
-            this.gCost = gCost;
-            this.hCost = hCost;
-            this.fCost = gCost + hCost;
-        }
-
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.fCost, other.fCost); // PriorityQueue needs comparison
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Node node = (Node) o;
-            return Objects.equals(coord, node.coord);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(coord);
-        }
-    }
 
     /**
      * Finds the lowest-cost path for a unit from start to end coordinates.
@@ -71,96 +41,100 @@ public class PathFinder implements Serializable {
 
         // Basic checks: start/end exist and end is potentially reachable
         if (startHex == null || endHex == null || !endHex.isAccessible()) {
-            System.err.println("Pathfinding: Start or End hex invalid or end inaccessible.");
+            GameLog.error("Pathfinding: Start or End hex invalid or end inaccessible.");
             return Collections.emptyList();
         }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Map<AxialCoord, Node> allNodes = new HashMap<>(); // Store nodes to access G-cost easily
+        SearchWorkspace ws = SearchWorkspace.get();
+        ws.begin(board);
+
+        int startIndex = startHex.getIndex();
+        int endIndex = endHex.getIndex();
+        int endQ = end.getQ();
+        int endR = end.getR();
 
-        Node startNode = new Node(start, null, 0, heuristic(start, end));
-        openSet.add(startNode);
-        allNodes.put(start, startNode);
+        ws.markSeen(startIndex, 0, -1);
+        ws.offer(startIndex, heuristic(start.getQ(), start.getR(), endQ, endR));
 
-        while (!openSet.isEmpty()) {
-            Node currentNode = openSet.poll(); // Node with lowest F-cost
+        while (ws.hasOpen()) {
+            int current = ws.poll(); // Node with lowest F-cost
 
             // Goal check
-            if (currentNode.coord.equals(end)) {
-                return reconstructPath(currentNode);
+            if (current == endIndex) {
+                return reconstructPath(ws, endIndex, board);
             }
+            ws.markClosed(current);
+
+            int currentG = ws.gCost(current);
 
-            // Explore all 6 neighbors in hexagonal grid
-            for (int i = 0; i < 6; i++) { 
-                AxialCoord neighborCoord = currentNode.coord.neighbor(i);
-                Hex neighborHex = board.getHex(neighborCoord);
+            // Explore all 6 neighbors in hexagonal grid (precomputed adjacency)
+            for (int i = 0; i < Board.DIRECTIONS; i++) {
+                int neighbor = board.getNeighborIndex(current, i);
+                if (neighbor < 0 || ws.isClosed(neighbor)) {
+                    continue; // Off-map or already expanded
+                }
+                Hex neighborHex = board.getHexAt(neighbor);
 
-                // Skip invalid or inaccessible hexes
-                if (neighborHex == null || !neighborHex.isAccessible()) {
+                // Skip inaccessible hexes
+                if (!neighborHex.isAccessible()) {
                     continue;
                 }
 
                 // Skip hexes occupied by other units (allow moving into the *end* hex if needed)
                 Unit occupant = neighborHex.getUnit();
-                if (occupant != null && occupant != unit && !neighborCoord.equals(end)) {
+                if (occupant != null && occupant != unit && neighbor != endIndex) {
                      continue; // Blocked by another unit (not the target hex)
                 }
 
                 // Calculate movement cost for this step
-                double movementCost = board.getMovementCost(neighborHex, unit);
+                int movementCost = board.getMovementCost(neighborHex, unit);
                 if (movementCost >= 999) continue; // Skip effectively impassable terrain
 
-                double tentativeGCost = currentNode.gCost + movementCost;
-
-                Node neighborNode = allNodes.get(neighborCoord);
-
-                // If neighbor not visited or found a cheaper path to it
-                if (neighborNode == null || tentativeGCost < neighborNode.gCost) {
-                    if (neighborNode == null) {
-                        neighborNode = new Node(neighborCoord, currentNode, tentativeGCost, heuristic(neighborCoord, end));
-                        allNodes.put(neighborCoord, neighborNode);
-                        openSet.add(neighborNode);
-                    } else {
-                        // Found a cheaper path, update node info
-                        openSet.remove(neighborNode); // Remove old entry if present
-                        neighborNode.parent = currentNode;
-                        neighborNode.gCost = tentativeGCost;
-                        neighborNode.fCost = neighborNode.gCost + neighborNode.hCost;
-                        openSet.add(neighborNode); // Re-add with updated cost
-                    }
+                int tentativeGCost = currentG + movementCost;
+
+                // If neighbor not visited or found a cheaper path to it (decrease-key in place)
+                if (!ws.isSeen(neighbor) || tentativeGCost < ws.gCost(neighbor)) {
+                    ws.markSeen(neighbor, tentativeGCost, current);
+                    AxialCoord neighborCoord = neighborHex.getCoordinates();
+                    ws.offer(neighbor, tentativeGCost + heuristic(neighborCoord.getQ(), neighborCoord.getR(), endQ, endR));
                 }
             }
         }
 
         // No path found
-        System.out.println("Pathfinding: No path found from " + start + " to " + end);
+        GameLog.info(() -> "Pathfinding: No path found from " + start + " to " + end);
         return Collections.emptyList();
     }
 
     /**
      * Heuristic function for A*: distance between two hex coordinates.
-     * @param a Starting coordinate.
-     * @param b Target coordinate.
+     * Admissible since every accessible terrain costs at least 1 to enter.
      * @return The hex grid distance.
      */
-    private double heuristic(AxialCoord a, AxialCoord b) {
-        return a.distanceTo(b);
+    private int heuristic(int q1, int r1, int q2, int r2) {
+        int dq = q1 - q2;
+        int dr = r1 - r2;
+        return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
     }
 
     /**
-     * Reconstructs the path from the end node back to the start using parent references.
-     * @param endNode The final node reached by A*.
+     * Reconstructs the path from the end node back to the start using the parent array.
+     * @param ws The workspace holding the finished search.
+     * @param endIndex The final node reached by A*.
+     * @param board The board searched.
      * @return The path as a list of coordinates (excluding start, including end).
      */
-    private List<AxialCoord> reconstructPath(Node endNode) {
-        LinkedList<AxialCoord> path = new LinkedList<>();
-        Node current = endNode;
-        
-        while (current != null && current.parent != null) { // Stop when parent is null (start node)
-            path.addFirst(current.coord);
-            current = current.parent;
+    private List<AxialCoord> reconstructPath(SearchWorkspace ws, int endIndex, Board board) {
+        int length = 0;
+        for (int node = endIndex; ws.parent(node) >= 0; node = ws.parent(node)) {
+            length++;
+        }
+        AxialCoord[] path = new AxialCoord[length];
+        int node = endIndex;
+        for (int i = length - 1; i >= 0; i--) { // Stop at the start node (parent -1)
+            path[i] = board.getHexAt(node).getCoordinates();
+            node = ws.parent(node);
         }
-        
-        return path;
+        return Arrays.asList(path);
     }
 }
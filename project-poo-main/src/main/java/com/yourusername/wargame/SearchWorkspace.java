@@ -0,0 +1,201 @@
+package com.yourusername.wargame;
+
+import com.yourusername.wargame.engine.Board;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch memory for graph searches over a board's dense hex indices.
+ * One instance per thread (see {@link #get()}), so repeated searches allocate nothing.
+ *
+ * Per-node arrays are not cleared between searches: a node's g-cost and parent are only
+ * valid when its stamp equals the current generation, so starting a search is O(1).
+ *
+ * On ordinary boards the arrays are indexed by hex index. On lazy boards ({@link Board#isLazy()}),
+ * whose index space can run to millions of slots, each node reached gets a local id from an
+ * int hash table instead, and the arrays grow with the number of nodes the search reaches.
+ */
+final class SearchWorkspace {
+    private static final ThreadLocal<SearchWorkspace> LOCAL = ThreadLocal.withInitial(SearchWorkspace::new);
+    private static final int SPARSE_INITIAL_CAPACITY = 1024;
+
+    private int[] gCost = new int[0];
+    private int[] parent = new int[0];
+    private int[] seenStamp = new int[0];   // Node has a valid gCost/parent this generation
+    private int[] closedStamp = new int[0]; // Node has been expanded this generation
+    private int generation;
+    private final IndexedMinHeap open = new IndexedMinHeap(64); // Keyed by local id
+
+    // Sparse mode: hex index -> local id, entries valid when their stamp equals the generation
+    private boolean sparse;
+    private int[] nodeOf = new int[0];      // Local id -> hex index
+    private int localCount;
+    private int[] tableKeys = new int[0];
+    private int[] tableIds = new int[0];
+    private int[] tableStamp = new int[0];
+
+    private SearchWorkspace() {
+    }
+
+    /**
+     * @return The calling thread's workspace.
+     */
+    static SearchWorkspace get() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Prepares the workspace for a new search on the given board.
+     * @param board The board to search (node ids are its dense hex indices).
+     */
+    void begin(Board board) {
+        sparse = board.isLazy();
+        int size = sparse ? SPARSE_INITIAL_CAPACITY : board.getIndexSize();
+        if (gCost.length < size) {
+            resize(size);
+        }
+        if (sparse && tableKeys.length == 0) {
+            tableKeys = new int[2 * SPARSE_INITIAL_CAPACITY];
+            tableIds = new int[2 * SPARSE_INITIAL_CAPACITY];
+            tableStamp = new int[2 * SPARSE_INITIAL_CAPACITY];
+        }
+        open.ensureCapacity(gCost.length);
+        open.clear();
+        localCount = 0;
+        generation++;
+        if (generation == Integer.MAX_VALUE) { // Wrap-around: stale stamps could collide
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            Arrays.fill(tableStamp, 0);
+            generation = 1;
+        }
+    }
+
+    private void resize(int size) {
+        gCost = Arrays.copyOf(gCost, size);
+        parent = Arrays.copyOf(parent, size);
+        seenStamp = Arrays.copyOf(seenStamp, size);
+        closedStamp = Arrays.copyOf(closedStamp, size);
+    }
+
+    // --- Node ids ---
+
+    // Local id of a node, or -1 if the search has not reached it
+    private int find(int node) {
+        if (!sparse) return node;
+        int mask = tableKeys.length - 1;
+        for (int slot = hash(node) & mask; tableStamp[slot] == generation; slot = (slot + 1) & mask) {
+            if (tableKeys[slot] == node) return tableIds[slot];
+        }
+        return -1;
+    }
+
+    // Local id of a node, assigning the next one if the search has not reached it yet
+    private int idOf(int node) {
+        if (!sparse) return node;
+        int id = find(node);
+        if (id >= 0) return id;
+        id = localCount++;
+        if (id == gCost.length) {
+            resize(2 * id);
+            open.ensureCapacity(2 * id);
+        }
+        if (id == nodeOf.length) {
+            nodeOf = Arrays.copyOf(nodeOf, Math.max(SPARSE_INITIAL_CAPACITY, 2 * id));
+        }
+        nodeOf[id] = node;
+        seenStamp[id] = 0;
+        closedStamp[id] = 0;
+        if (2 * localCount > tableKeys.length) {
+            growTable();
+        } else {
+            insert(node, id);
+        }
+        return id;
+    }
+
+    private void insert(int node, int id) {
+        int mask = tableKeys.length - 1;
+        int slot = hash(node) & mask;
+        while (tableStamp[slot] == generation) {
+            slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = node;
+        tableIds[slot] = id;
+        tableStamp[slot] = generation;
+    }
+
+    // Doubles the table and reinserts the nodes reached so far (the latest one included)
+    private void growTable() {
+        int capacity = 2 * tableKeys.length;
+        tableKeys = new int[capacity];
+        tableIds = new int[capacity];
+        tableStamp = new int[capacity];
+        for (int id = 0; id < localCount; id++) {
+            insert(nodeOf[id], id);
+        }
+    }
+
+    private static int hash(int node) {
+        int h = node * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // --- Search state ---
+
+    boolean isSeen(int node) {
+        int id = find(node);
+        return id >= 0 && seenStamp[id] == generation;
+    }
+
+    void markSeen(int node, int cost, int parentNode) {
+        int id = idOf(node);
+        seenStamp[id] = generation;
+        gCost[id] = cost;
+        parent[id] = parentNode;
+    }
+
+    /**
+     * @return The cost a node was last marked seen with; only valid if {@link #isSeen} this search.
+     */
+    int gCost(int node) {
+        return gCost[find(node)];
+    }
+
+    /**
+     * @return The node a node was reached from, or -1 for the start; only valid if {@link #isSeen}.
+     */
+    int parent(int node) {
+        return parent[find(node)];
+    }
+
+    boolean isClosed(int node) {
+        int id = find(node);
+        return id >= 0 && closedStamp[id] == generation;
+    }
+
+    void markClosed(int node) {
+        closedStamp[idOf(node)] = generation;
+    }
+
+    // --- Open set ---
+
+    boolean hasOpen() {
+        return !open.isEmpty();
+    }
+
+    /**
+     * Queues a node already marked seen, or lowers its priority if it is queued with a higher one.
+     */
+    void offer(int node, int priority) {
+        open.insertOrDecrease(idOf(node), priority);
+    }
+
+    /**
+     * Removes and returns the queued node with the lowest priority.
+     */
+    int poll() {
+        int id = open.poll();
+        return sparse ? nodeOf[id] : id;
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourusername.wargame.bench;
+
+import com.yourusername.wargame.MovementRangeFinder;
+import com.yourusername.wargame.PathFinder;
+import com.yourusername.wargame.engine.AxialCoord;
+import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.engine.FogOfWar;
+import com.yourusername.wargame.engine.Hex;
+import com.yourusername.wargame.engine.HumanPlayer;
+import com.yourusername.wargame.engine.Player;
+import com.yourusername.wargame.io.MapFile;
+import com.yourusername.wargame.model.terrain.TerrainType;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares opening a large map through {@link MapFile} (memory-mapped, hexes built on demand)
+ * with building the same board from a {@code Map<AxialCoord, TerrainType>} definition.
+ * Both then look up the same random hexes and run a unit's movement range, a path search and
+ * a fog update near the center, as a game would. Reports wall time and retained heap.
+ * Run from the command line; optional arguments: [radius] [lookups].
+ */
+public class MapLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int radius = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        TerrainType[] land = Arrays.stream(TerrainType.values()).filter(TerrainType::isAccessible)
+                .toArray(TerrainType[]::new);
+        // Mixed land with one-hex lakes where q and r are both multiples of 4: no two lakes are
+        // adjacent, so the land stays connected and the path search below always finds a path
+        MapFile.TerrainSource terrain = (q, r) -> (q & 3) == 0 && (r & 3) == 0 ? TerrainType.DEEP_WATER
+                : land[Math.floorMod(q * 31 + r * 17, land.length)];
+
+        Path file = Files.createTempFile("wargame-bench", ".wgm");
+        try {
+            long start = System.nanoTime();
+            MapFile.writeHexagonal(file, radius, terrain);
+            System.out.printf("Map: radius %d, %d hexes, file %d bytes, written in %.1f ms%n",
+                    radius, Board.diskSize(radius), Files.size(file), (System.nanoTime() - start) / 1e6);
+
+            long baseline = usedHeap();
+            start = System.nanoTime();
+            Board mapped = MapFile.open(file);
+            long openNanos = System.nanoTime() - start;
+            long checksum = lookUp(mapped, radius, lookups);
+            long lookupNanos = System.nanoTime() - start - openNanos;
+            report("Memory-mapped", openNanos, lookupNanos, usedHeap() - baseline);
+            mapped = null;
+
+            baseline = usedHeap();
+            start = System.nanoTime();
+            Map<AxialCoord, TerrainType> definition = new HashMap<>();
+            for (int q = -radius; q <= radius; q++) {
+                int r1 = Math.max(-radius, -q - radius);
+                int r2 = Math.min(radius, -q + radius);
+                for (int r = r1; r <= r2; r++) {
+                    definition.put(AxialCoord.of(q, r), terrain.terrainAt(q, r));
+                }
+            }
+            Board built = new Board(definition);
+            definition = null;
+            openNanos = System.nanoTime() - start;
+            checksum -= lookUp(built, radius, lookups);
+            lookupNanos = System.nanoTime() - start - openNanos;
+            report("HashMap definition", openNanos, lookupNanos, usedHeap() - baseline);
+            System.out.println("(checksum " + checksum + ", 0 if both boards agree) " + built.getHexCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Looks up random hexes and their neighbors, as a game touching part of the map would
+    private static long lookUp(Board board, int radius, int lookups) {
+        Random random = new Random(7);
+        long checksum = 0;
+        for (int i = 0; i < lookups; i++) {
+            int q = random.nextInt(2 * radius + 1) - radius;
+            int r = Math.max(-radius, -q - radius) + random.nextInt(2 * radius + 1 - Math.abs(q));
+            Hex hex = board.getHex(q, r);
+            checksum += hex.getTerrainType().ordinal();
+            for (int d = 0; d < Board.DIRECTIONS; d++) {
+                int n = board.getNeighborIndex(hex.getIndex(), d);
+                if (n >= 0) checksum += board.getHexAt(n).getTerrainType().ordinal();
+            }
+        }
+
+        // A unit in play: searches and fog touch only the hexes around it
+        Player player = new HumanPlayer("Bench", 0);
+        Hex start = firstAccessible(board, 0, 0);
+        Unit unit = new Unit(UnitType.CAVALRY, player, start.getCoordinates());
+        player.addUnit(unit);
+        board.placeUnit(unit, unit.getPosition());
+        checksum += new MovementRangeFinder().findReachable(unit, board).size();
+        Hex target = firstAccessible(board, Math.min(radius, 20), 0);
+        int pathLength = new PathFinder().findPath(unit, start.getCoordinates(), target.getCoordinates(), board).size();
+        if (pathLength == 0) {
+            throw new IllegalStateException("No path from " + start.getCoordinates() + " to " + target.getCoordinates());
+        }
+        checksum += pathLength;
+        new FogOfWar().refreshUnit(unit, board);
+        board.removeUnit(unit);
+        return checksum;
+    }
+
+    // First accessible hex along r from (q, r)
+    private static Hex firstAccessible(Board board, int q, int r) {
+        Hex hex = board.getHex(q, r);
+        while (hex != null && !hex.isAccessible()) {
+            hex = board.getHex(q, --r);
+        }
+        return hex;
+    }
+
+    private static void report(String name, long openNanos, long lookupNanos, long heapBytes) {
+        System.out.printf("%-20s open %9.1f ms, lookups %7.1f ms, heap %8.1f MB%n",
+                name, openNanos / 1e6, lookupNanos / 1e6, heapBytes / 1e6);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,91 @@
+package com.yourusername.wargame.bench;
+
+import com.yourusername.wargame.engine.GameState;
+import com.yourusername.wargame.io.BinarySaveFormat;
+import com.yourusername.wargame.io.SavedGame;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares {@link BinarySaveFormat} with default Java serialization ({@link ObjectOutputStream})
+ * on the {@link SnapshotBenchmark} board: file size, save time and load time, through real files.
+ * Run from the command line; optional arguments: [radius] [units] [iterations].
+ */
+public class SaveFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int radius = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int unitCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        GameState state = SnapshotBenchmark.createState(radius, unitCount, new Random(42));
+        SavedGame game = new SavedGame(state, 42, 0, 0);
+        System.out.println("Board: radius " + radius + ", " + state.getBoard().getHexCount()
+                + " hexes, " + state.getBoard().getUnitCount() + " units");
+
+        Path binaryFile = Files.createTempFile("wargame-bench", ".wgs");
+        Path serialFile = Files.createTempFile("wargame-bench", ".ser");
+        try {
+            // Warm-up so the JIT compiles both paths before we time them
+            long checksum = 0;
+            for (int i = 0; i < iterations / 4; i++) {
+                checksum += saveBinary(binaryFile, game) + loadBinary(binaryFile);
+                checksum += saveSerialized(serialFile, state) + loadSerialized(serialFile);
+            }
+
+            long binarySave = 0, binaryLoad = 0, serialSave = 0, serialLoad = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                checksum += saveBinary(binaryFile, game);
+                binarySave += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                checksum += loadBinary(binaryFile);
+                binaryLoad += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                checksum += saveSerialized(serialFile, state);
+                serialSave += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                checksum += loadSerialized(serialFile);
+                serialLoad += System.nanoTime() - start;
+            }
+
+            System.out.printf("%-18s %10s %12s %12s%n", "Format", "Bytes", "Save (us)", "Load (us)");
+            System.out.printf("%-18s %10d %12.1f %12.1f%n", "Binary (NIO)", Files.size(binaryFile),
+                    binarySave / 1000.0 / iterations, binaryLoad / 1000.0 / iterations);
+            System.out.printf("%-18s %10d %12.1f %12.1f%n", "ObjectOutputStream", Files.size(serialFile),
+                    serialSave / 1000.0 / iterations, serialLoad / 1000.0 / iterations);
+            System.out.println("(checksum " + checksum + ")");
+        } finally {
+            Files.deleteIfExists(binaryFile);
+            Files.deleteIfExists(serialFile);
+        }
+    }
+
+    private static int saveBinary(Path file, SavedGame game) throws IOException {
+        BinarySaveFormat.write(file, game);
+        return 1;
+    }
+
+    private static int loadBinary(Path file) throws IOException {
+        return BinarySaveFormat.read(file).getGameState().getBoard().getUnitCount();
+    }
+
+    private static int saveSerialized(Path file, GameState state) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeObject(state);
+        }
+        return 1;
+    }
+
+    private static int loadSerialized(Path file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return ((GameState) in.readObject()).getBoard().getUnitCount();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yourusername.wargame.bench;
+
+import com.yourusername.wargame.engine.*;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.util.*;
+
+/**
+ * Measures {@link GameState#deepCopy()} on a radius-20 board (1261 hexes) with 200 units.
+ * Run from the command line; optional arguments: [radius] [units] [iterations].
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) {
+        int radius = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int unitCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+        GameState state = createState(radius, unitCount, new Random(42));
+        System.out.println("Board: radius " + radius + ", " + state.getBoard().getHexCount()
+                + " hexes, " + state.getBoard().getUnitCount() + " units");
+
+        // Warm-up so the JIT compiles the copy path before we time it
+        long checksum = 0;
+        for (int i = 0; i < iterations / 4; i++) {
+            checksum += state.deepCopy().getBoard().getUnitCount();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += state.deepCopy().getBoard().getUnitCount();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("deepCopy: %.2f us/copy over %d copies (checksum %d)%n",
+                elapsed / 1000.0 / iterations, iterations, checksum);
+    }
+
+    // Two players with units spread at random over the board
+    static GameState createState(int radius, int unitCount, Random random) {
+        Board board = new Board(radius);
+        Player first = new HumanPlayer("Player 1", 0);
+        Player second = new AiPlayer("Player 2", 1);
+        List<Hex> hexes = new ArrayList<>(board.getAllHexes());
+        Collections.shuffle(hexes, random);
+        UnitType[] types = UnitType.values();
+        for (int i = 0; i < unitCount && i < hexes.size(); i++) {
+            Player owner = i % 2 == 0 ? first : second;
+            Unit unit = new Unit(types[random.nextInt(types.length)], owner, hexes.get(i).getCoordinates());
+            owner.addUnit(unit);
+            board.placeUnit(unit, unit.getPosition());
+        }
+
+        Map<Player, List<VictoryCondition>> conditions = new HashMap<>();
+        conditions.put(first, List.of(new DestroyAllCondition(second)));
+        conditions.put(second, List.of(new DestroyAllCondition(first), new SurviveTurnsCondition(30)));
+        GameState state = new GameState(board, Arrays.asList(first, second), conditions);
+        new FogOfWar().updateVisibility(state);
+        return state;
+    }
+}
@@ -0,0 +1,43 @@
+package com.yourusername.wargame.engine;
+
+/**
+ * Receives every action a {@link GameController} accepts, in order, to record the game
+ * (see {@link com.yourusername.wargame.io.ActionJournal}).
+ *
+ * Each call is made once the action has been applied, but before listeners are notified and
+ * before the next AI turn is dispatched, so recorded actions are never interleaved. Hexes are
+ * given by dense index (see {@link Board#indexOf(int, int)}); the acting player is always the
+ * current player. Calls run on the thread performing the action, with the controller locked.
+ */
+public interface ActionRecorder {
+
+    /**
+     * A game was started or resumed: its state is the starting point of the actions that follow.
+     */
+    void onGameStarted(GameController controller);
+
+    /**
+     * A unit moved.
+     * @param fromIndex The hex the unit left.
+     * @param toIndex The hex the unit moved to.
+     */
+    void onMove(GameController controller, int fromIndex, int toIndex);
+
+    /**
+     * A unit attacked (the combat is resolved, destroyed units are removed).
+     * @param attackerIndex The hex of the attacker, before the combat.
+     * @param defenderIndex The hex of the defender, before the combat.
+     */
+    void onAttack(GameController controller, int attackerIndex, int defenderIndex);
+
+    /**
+     * The current player took back its latest move (see {@link GameController#undo}).
+     * A redo is reported as the action played again.
+     */
+    void onUndo(GameController controller);
+
+    /**
+     * The current player ended its turn: the game state is now at the start of the next player's turn.
+     */
+    void onEndTurn(GameController controller);
+}
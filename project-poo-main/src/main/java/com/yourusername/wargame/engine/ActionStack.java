@@ -0,0 +1,299 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.CombatResolver;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reversible make/unmake layer over a {@link GameState}, for in-place game-tree search.
+ *
+ * Each make method applies a move, an attack or an end of turn directly to the board, units
+ * and players (the same effects as {@link GameController#requestMove}, {@link GameController#requestAttack}
+ * and {@link GameController#endTurn}, without validation, logging, listeners or victory checks) and
+ * pushes an undo record holding the prior hit points, position, flags, movement points and registry
+ * slots of removed units. {@link #unmake()} pops the latest record and restores the exact prior
+ * state, including unit list orders and, when a {@link FogOfWar} is attached, vision counts.
+ *
+ * Undo records are pooled and reused, so once the stack has reached its maximum depth, making and
+ * unmaking actions no longer allocates (fog updates aside). Not thread-safe: use one stack per state.
+ */
+public class ActionStack {
+
+    private static final int MOVE = 0;
+    private static final int ATTACK = 1;
+    private static final int END_TURN = 2;
+
+    // Pooled undo record; the fields used depend on the action type
+    private static final class UndoRecord {
+        int type;
+        Unit unit;              // Mover or attacker
+        Unit other;             // Defender
+        int unitState;          // Packed movement points and flags of unit (see pack)
+        int unitHp;
+        int otherHp;
+        int fromIndex;          // MOVE: hex the unit left
+        int spatialSlot;        // MOVE: slot the unit left in the spatial index
+        boolean unitRemoved;
+        boolean otherRemoved;
+        final int[] unitSlots = new int[3];  // Board registry slots of a removed attacker
+        final int[] otherSlots = new int[3]; // Board registry slots of a removed defender
+        int unitPlayerSlot;
+        int otherPlayerSlot;
+        int playerIndex;        // END_TURN: previous current player index
+        int turnNumber;         // END_TURN: previous turn number
+        int[] states = new int[16]; // END_TURN: packed state of each reset unit, in roster order
+        int stateCount;
+    }
+
+    private final GameState gameState;
+    private final Board board;
+    private final FogOfWar fogOfWar; // May be null: visibility is then left untouched
+    private UndoRecord[] records = new UndoRecord[32];
+    private int depth;
+
+    /**
+     * Creates a stack acting on a game state.
+     * @param gameState The state to modify in place.
+     * @param fogOfWar The fog of war to keep in sync, or null to ignore visibility (faster for search).
+     */
+    public ActionStack(GameState gameState, FogOfWar fogOfWar) {
+        this.gameState = Objects.requireNonNull(gameState, "GameState cannot be null");
+        this.board = gameState.getBoard();
+        this.fogOfWar = fogOfWar;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return The number of actions that can be unmade.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    private UndoRecord push(int type) {
+        if (depth == records.length) {
+            records = Arrays.copyOf(records, depth * 2);
+        }
+        UndoRecord record = records[depth];
+        if (record == null) {
+            record = new UndoRecord();
+            records[depth] = record;
+        }
+        depth++;
+        record.type = type;
+        return record;
+    }
+
+    // Movement points and the two action flags in one int
+    private static int pack(Unit unit) {
+        return (unit.getCurrentMovementPoints() << 2)
+                | (unit.hasMovedThisTurn() ? 2 : 0)
+                | (unit.hasAttackedThisTurn() ? 1 : 0);
+    }
+
+    private static void unpack(Unit unit, int hitPoints, int state) {
+        unit.restoreState(hitPoints, state >> 2, (state & 2) != 0, (state & 1) != 0);
+    }
+
+    private void refreshFog(Unit unit) {
+        if (fogOfWar != null) {
+            fogOfWar.refreshUnit(unit, board);
+        }
+    }
+
+    // --- Make ---
+
+    /**
+     * Moves a unit to a hex, spending movement points and marking it as moved.
+     * The caller is responsible for legality (e.g. via a {@link com.yourusername.wargame.MovementRange}).
+     * @param unit The unit to move.
+     * @param destinationIndex The board index of the destination hex.
+     * @param cost The movement cost to spend.
+     * @return false (and nothing is recorded) if the destination is not an accessible, empty hex.
+     */
+    public boolean makeMove(Unit unit, int destinationIndex, int cost) {
+        Hex destination = board.getHexAt(destinationIndex);
+        AxialCoord position = unit.getPosition();
+        int fromIndex = position == null ? -1 : board.indexOf(position.getQ(), position.getR());
+        if (destination == null || !destination.isAccessible() || destination.isOccupied() || fromIndex < 0) {
+            return false;
+        }
+        UndoRecord record = push(MOVE);
+        record.unit = unit;
+        record.unitHp = unit.getCurrentHitPoints();
+        record.unitState = pack(unit);
+        record.fromIndex = fromIndex;
+        record.spatialSlot = board.relocate(unit, destinationIndex);
+        unit.spendMovementPoints(cost);
+        unit.setHasMovedThisTurn(true);
+        refreshFog(unit);
+        return true;
+    }
+
+    /**
+     * Resolves an attack with fixed damage values (deterministic, for search).
+     * The counter-attack only applies if the defender survives and the attacker is within its range,
+     * as in {@link CombatResolver#resolveCombat}. Destroyed units are removed from the board and their owner.
+     * @param attacker The attacking unit.
+     * @param defender The defending unit.
+     * @param damage The damage dealt to the defender.
+     * @param counterDamage The counter-attack damage dealt to the attacker.
+     * @return true if the defender was destroyed.
+     */
+    public boolean makeAttack(Unit attacker, Unit defender, int damage, int counterDamage) {
+        UndoRecord record = beginAttack(attacker, defender);
+        boolean survived = defender.takeDamage(damage);
+        if (survived && attacker.getPosition().distanceTo(defender.getPosition()) <= defender.getAttackRange()) {
+            attacker.takeDamage(counterDamage);
+        }
+        finishAttack(record);
+        return !survived;
+    }
+
+    /**
+     * Resolves an attack with a combat resolver, rolling on a given stream (the live game's seeded combats).
+     * @param attacker The attacking unit.
+     * @param defender The defending unit.
+     * @param combatResolver The resolver to roll damage with.
+     * @param rolls The random stream of this combat.
+     * @return true if the defender was destroyed.
+     */
+    public boolean makeAttack(Unit attacker, Unit defender, CombatResolver combatResolver, RandomGenerator rolls) {
+        UndoRecord record = beginAttack(attacker, defender);
+        boolean destroyed = combatResolver.resolveCombat(attacker, defender,
+                board.getHex(defender.getPosition()).getTerrainType(), gameState, rolls);
+        finishAttack(record);
+        return destroyed;
+    }
+
+    private UndoRecord beginAttack(Unit attacker, Unit defender) {
+        UndoRecord record = push(ATTACK);
+        record.unit = attacker;
+        record.other = defender;
+        record.unitHp = attacker.getCurrentHitPoints();
+        record.unitState = pack(attacker);
+        record.otherHp = defender.getCurrentHitPoints();
+        return record;
+    }
+
+    private void finishAttack(UndoRecord record) {
+        Unit attacker = record.unit;
+        Unit defender = record.other;
+        attacker.setHasAttackedThisTurn(true);
+        attacker.setHasMovedThisTurn(true); // Can't move after attacking
+
+        record.otherRemoved = defender.getCurrentHitPoints() <= 0;
+        if (record.otherRemoved) {
+            board.removeUnit(defender, record.otherSlots);
+            record.otherPlayerSlot = defender.getOwner().removeUnit(defender);
+            refreshFog(defender);
+        }
+        record.unitRemoved = attacker.getCurrentHitPoints() <= 0;
+        if (record.unitRemoved) {
+            board.removeUnit(attacker, record.unitSlots);
+            record.unitPlayerSlot = attacker.getOwner().removeUnit(attacker);
+            refreshFog(attacker);
+        }
+    }
+
+    /**
+     * Ends the current player's turn: advances to the next player and resets that player's units.
+     */
+    public void makeEndTurn() {
+        UndoRecord record = push(END_TURN);
+        record.playerIndex = gameState.getCurrentPlayerIndex();
+        record.turnNumber = gameState.getCurrentTurnNumber();
+        Player next = gameState.advanceTurn();
+        int count = next.getActiveUnitCount();
+        if (record.states.length < count) {
+            record.states = new int[Math.max(count, record.states.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            Unit unit = next.getActiveUnit(i);
+            record.states[i] = pack(unit);
+            unit.startTurn();
+        }
+        record.stateCount = count;
+    }
+
+    // --- Unmake ---
+
+    /**
+     * Reverts the most recent action.
+     * @throws IllegalStateException if there is nothing to unmake.
+     */
+    public void unmake() {
+        if (depth == 0) {
+            throw new IllegalStateException("No action to unmake.");
+        }
+        UndoRecord record = records[--depth];
+        switch (record.type) {
+            case MOVE:
+                board.undoRelocate(record.unit, record.fromIndex, record.spatialSlot);
+                unpack(record.unit, record.unitHp, record.unitState);
+                refreshFog(record.unit);
+                break;
+            case ATTACK:
+                // Reverse order of removal: attacker first, then defender
+                if (record.unitRemoved) {
+                    board.restoreUnit(record.unit, record.unitSlots);
+                    restoreToOwner(record.unit, record.unitPlayerSlot);
+                }
+                if (record.otherRemoved) {
+                    board.restoreUnit(record.other, record.otherSlots);
+                    restoreToOwner(record.other, record.otherPlayerSlot);
+                }
+                unpack(record.unit, record.unitHp, record.unitState);
+                record.other.restoreState(record.otherHp, record.other.getCurrentMovementPoints(),
+                        record.other.hasMovedThisTurn(), record.other.hasAttackedThisTurn());
+                refreshFog(record.unit);
+                refreshFog(record.other);
+                break;
+            case END_TURN:
+                Player next = gameState.getCurrentPlayer();
+                for (int i = 0; i < record.stateCount; i++) {
+                    Unit unit = next.getActiveUnit(i);
+                    unpack(unit, unit.getCurrentHitPoints(), record.states[i]);
+                }
+                gameState.restoreTurn(record.playerIndex, record.turnNumber);
+                break;
+            default:
+                throw new IllegalStateException("Unknown action type: " + record.type);
+        }
+        // Drop references so that unmade units can be collected
+        record.unit = null;
+        record.other = null;
+    }
+
+    private static void restoreToOwner(Unit unit, int slot) {
+        if (slot >= 0) {
+            unit.getOwner().restoreUnit(unit, slot);
+        }
+    }
+
+    /**
+     * Forgets every recorded action without unmaking it: the actions made so far become permanent.
+     */
+    public void clear() {
+        while (depth > 0) {
+            UndoRecord record = records[--depth];
+            record.unit = null;
+            record.other = null;
+        }
+    }
+
+    /**
+     * Reverts every recorded action.
+     */
+    public void unmakeAll() {
+        while (depth > 0) {
+            unmake();
+        }
+    }
+}
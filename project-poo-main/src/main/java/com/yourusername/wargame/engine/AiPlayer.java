@@ -16,9 +16,14 @@ public class AiPlayer extends Player {
         super(name, playerIndex, true);
     }
 
+    @Override
+    protected Player copyWithoutUnits() {
+        return new AiPlayer(getName(), getPlayerIndex());
+    }
+
     @Override
     public void performTurn(GameController controller) {
-        System.out.println("AI Player " + getName() + " is thinking...");
+        GameLog.info(() -> "AI Player " + getName() + " is thinking...");
 
         // Get current game state (needed for board, enemy units etc.)
         GameState gameState = controller.getGameState();
@@ -27,14 +32,17 @@ public class AiPlayer extends Player {
 
         // Very simple AI: Iterate through units and perform the first valid attack or move.
         for (Unit unit : myActiveUnits) {
+            if (controller.shouldStopThinking(this)) { // Cancelled or out of time
+                break;
+            }
             if (!unit.canAct()) { // Skip unit if it already acted
                  continue;
             }
 
             // 1. Try to Attack
-            Optional<Unit> target = findBestTargetInRange(unit, humanPlayer.getActiveUnits(), gameState.getBoard());
+            Optional<Unit> target = findBestTargetInRange(unit, humanPlayer, gameState.getBoard(), controller);
             if (target.isPresent() && unit.canAttack()) {
-                System.out.println("AI Unit " + unit.getId().toString().substring(0,4) + " attacking " + target.get().getId().toString().substring(0,4));
+                GameLog.info(() -> "AI Unit " + unit.getId().toString().substring(0,4) + " attacking " + target.get().getId().toString().substring(0,4));
                 controller.requestAttack(this, unit, target.get());
                 unit.setHasAttackedThisTurn(true); // Mark as acted
                 continue; // Move to next unit
@@ -42,12 +50,12 @@ public class AiPlayer extends Player {
 
             // 2. If no attack possible/made, try to Move towards nearest enemy
             if (unit.canMove()) {
-                Optional<Unit> nearestEnemy = findNearestEnemy(unit, humanPlayer.getActiveUnits());
+                Optional<Unit> nearestEnemy = findNearestEnemy(unit, humanPlayer, gameState.getBoard());
                 if (nearestEnemy.isPresent()) {
                     AxialCoord targetCoord = nearestEnemy.get().getPosition();
                     AxialCoord bestStep = findBestStepTowards(unit.getPosition(), targetCoord, gameState.getBoard(), unit);
                     if (bestStep != null && !bestStep.equals(unit.getPosition())) {
-                        System.out.println("AI Unit " + unit.getId().toString().substring(0,4) + " moving towards " + targetCoord + " via " + bestStep);
+                        GameLog.info(() -> "AI Unit " + unit.getId().toString().substring(0,4) + " moving towards " + targetCoord + " via " + bestStep);
                         List<AxialCoord> path = Collections.singletonList(bestStep);
                         controller.requestMove(this, unit, path);
                         unit.setHasMovedThisTurn(true); // Mark as acted
@@ -57,57 +65,52 @@ public class AiPlayer extends Player {
             }
 
             // If unit did nothing
-            System.out.println("AI Unit " + unit.getId().toString().substring(0,4) + " couldn't act or chose not to.");
+            GameLog.info(() -> "AI Unit " + unit.getId().toString().substring(0,4) + " couldn't act or chose not to.");
         }
 
-        System.out.println("AI Player " + getName() + " finished turn.");
+        GameLog.info(() -> "AI Player " + getName() + " finished turn.");
         controller.endTurn(this); // Signal end of turn to controller
     }
 
     // --- AI Helper Methods ---
 
-    private Optional<Unit> findBestTargetInRange(Unit attacker, List<Unit> enemies, Board board) {
+    private Optional<Unit> findBestTargetInRange(Unit attacker, Player enemy, Board board, GameController controller) {
         Unit bestTarget = null;
+        double bestKillChance = -1;
         int minHp = Integer.MAX_VALUE;
 
-        for (Unit enemy : enemies) {
-            int distance = attacker.getPosition().distanceTo(enemy.getPosition());
-            if (distance <= attacker.getAttackRange()) {
-                // Basic targeting: prefer weakest target in range
-                if (enemy.getCurrentHitPoints() < minHp) {
-                    minHp = enemy.getCurrentHitPoints();
-                    bestTarget = enemy;
-                }
+        // Spatial index: only enemies in the cells around the attacker are examined
+        for (Unit target : board.getSpatialIndex().unitsWithin(attacker.getPosition(), attacker.getAttackRange(),
+                u -> u.getOwner() == enemy)) {
+            // Prefer the surest kill (exact odds, memoized), then the weakest target in range
+            double killChance = controller.computeCombatOdds(attacker, target).getKillChance();
+            if (killChance > bestKillChance
+                    || (killChance == bestKillChance && target.getCurrentHitPoints() < minHp)) {
+                bestKillChance = killChance;
+                minHp = target.getCurrentHitPoints();
+                bestTarget = target;
             }
         }
         return Optional.ofNullable(bestTarget);
     }
 
-    private Optional<Unit> findNearestEnemy(Unit unit, List<Unit> enemies) {
-        Unit nearest = null;
-        int minDist = Integer.MAX_VALUE;
-
-        for (Unit enemy : enemies) {
-            int dist = unit.getPosition().distanceTo(enemy.getPosition());
-            if (dist < minDist) {
-                minDist = dist;
-                nearest = enemy;
-            }
-        }
-        return Optional.ofNullable(nearest);
+    private Optional<Unit> findNearestEnemy(Unit unit, Player enemy, Board board) {
+        return board.getSpatialIndex().nearest(unit.getPosition(), u -> u.getOwner() == enemy);
     }
 
      private AxialCoord findBestStepTowards(AxialCoord start, AxialCoord target, Board board, Unit unit) {
         AxialCoord bestStep = start; // Stay put if no better option
         int minDist = start.distanceTo(target);
+        int startIndex = board.indexOf(start.getQ(), start.getR());
+        if (startIndex < 0) return null;
 
-        for (int i = 0; i < 6; i++) { // Check all 6 neighbors
-            AxialCoord neighbor = start.neighbor(i);
-            Hex neighborHex = board.getHex(neighbor);
+        for (int i = 0; i < Board.DIRECTIONS; i++) { // Check all 6 neighbors
+            Hex neighborHex = board.getHexAt(board.getNeighborIndex(startIndex, i));
 
             if (neighborHex != null && neighborHex.isAccessible() && !neighborHex.isOccupied()) {
                 int moveCost = board.getMovementCost(neighborHex, unit);
                 if(unit.getCurrentMovementPoints() >= moveCost) {
+                    AxialCoord neighbor = neighborHex.getCoordinates();
                     int dist = neighbor.distanceTo(target);
                     if (dist < minDist) {
                         minDist = dist;
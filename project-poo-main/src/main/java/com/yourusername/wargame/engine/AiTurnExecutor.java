@@ -0,0 +1,210 @@
+package com.yourusername.wargame.engine;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs AI turns on a dedicated background thread, so that the thread ending a human turn
+ * (usually the Swing event thread) returns immediately instead of waiting for the AI.
+ *
+ * Turns run one at a time, in submission order, on a single daemon worker. Each turn gets a hard
+ * deadline: once it has passed, {@link GameController#shouldStopThinking(Player)} returns true and
+ * the AI players play the best action they have found so far and end their turn.
+ * {@link #cancelAll()} (called when a new game is initialized) drops queued turns and stops the
+ * running one; its later requests are rejected by the controller since it no longer owns the game.
+ *
+ * Progress notifications are delivered through a callback executor, e.g. {@code SwingUtilities::invokeLater}
+ * for a Swing UI, so listeners never run on the worker thread.
+ */
+public class AiTurnExecutor {
+
+    public static final long DEFAULT_DEADLINE_MILLIS = 10_000;
+
+    /**
+     * Interface for objects that want to follow the progress of AI turns.
+     */
+    public interface ProgressListener {
+        /**
+         * Called when an AI turn starts running.
+         * @param player The AI player.
+         * @param deadlineMillis The hard deadline of the turn, in milliseconds.
+         */
+        void onAiTurnStarted(Player player, long deadlineMillis);
+
+        /**
+         * Called when an AI player reports progress during its turn.
+         * @param player The AI player.
+         * @param status A short description of what the AI is doing.
+         * @param elapsedMillis Time spent on the turn so far.
+         */
+        void onAiProgress(Player player, String status, long elapsedMillis);
+
+        /**
+         * Called when an AI turn has finished.
+         * @param player The AI player.
+         * @param cancelled True if the turn was cancelled (new game) rather than completed.
+         */
+        void onAiTurnFinished(Player player, boolean cancelled);
+    }
+
+    // State of the turn being run; read by the AI through the controller
+    private static final class Turn {
+        final Player player;
+        final long generation;
+        final long startNanos;
+        final long deadlineNanos;
+
+        Turn(Player player, long generation, long deadlineMillis) {
+            this.player = player;
+            this.generation = generation;
+            this.startNanos = System.nanoTime();
+            this.deadlineNanos = startNanos + deadlineMillis * 1_000_000L;
+        }
+    }
+
+    private final ExecutorService worker;
+    private final Executor callbackExecutor;
+    private final long deadlineMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Turn currentTurn;
+    private volatile Future<?> currentFuture;
+    private volatile ProgressListener progressListener;
+
+    /**
+     * Creates an executor with the default deadline, delivering progress on the worker thread.
+     */
+    public AiTurnExecutor() {
+        this(DEFAULT_DEADLINE_MILLIS, Runnable::run);
+    }
+
+    /**
+     * Creates an executor.
+     * @param deadlineMillis Hard limit on the duration of an AI turn, in milliseconds.
+     * @param callbackExecutor Runs the progress notifications (e.g. {@code SwingUtilities::invokeLater}).
+     */
+    public AiTurnExecutor(long deadlineMillis, Executor callbackExecutor) {
+        if (deadlineMillis <= 0) {
+            throw new IllegalArgumentException("AI turn deadline must be positive.");
+        }
+        this.deadlineMillis = deadlineMillis;
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor, "Callback executor cannot be null");
+        this.worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "ai-turn-worker");
+            thread.setDaemon(true); // Never keeps the application alive
+            return thread;
+        });
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * Set a listener to be notified of AI turn progress.
+     * @param listener The listener to set, or null to remove it.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Queues an AI player's turn.
+     * @param controller The controller the player acts through.
+     * @param player The AI player whose turn it is.
+     */
+    public void submit(GameController controller, Player player) {
+        Objects.requireNonNull(controller, "Controller cannot be null");
+        Objects.requireNonNull(player, "Player cannot be null");
+        long submittedGeneration = generation.get();
+        currentFuture = worker.submit(() -> runTurn(controller, player, submittedGeneration));
+    }
+
+    private void runTurn(GameController controller, Player player, long turnGeneration) {
+        if (turnGeneration != generation.get()) return; // Cancelled while queued
+        Turn turn = new Turn(player, turnGeneration, deadlineMillis);
+        currentTurn = turn;
+        notifyListener(listener -> listener.onAiTurnStarted(player, deadlineMillis));
+        try {
+            player.performTurn(controller);
+        } catch (RuntimeException e) {
+            GameLog.error("AI turn of " + player.getName() + " failed: " + e.getMessage(), e);
+            // Hand the turn back so the game does not stall (rejected if the game has moved on)
+            if (turnGeneration == generation.get() && controller.isGameRunning()
+                    && controller.getGameState().getCurrentPlayer() == player) {
+                controller.endTurn(player);
+            }
+        } finally {
+            if (currentTurn == turn) {
+                currentTurn = null;
+            }
+            boolean cancelled = turnGeneration != generation.get();
+            notifyListener(listener -> listener.onAiTurnFinished(player, cancelled));
+        }
+    }
+
+    /**
+     * Cancels every queued AI turn and asks the running one to stop.
+     * Turns submitted afterwards run normally.
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        Future<?> future = currentFuture;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Tells whether an AI player should stop thinking: its turn was cancelled or is past its deadline.
+     * @param player The AI player asking.
+     * @return True if the player should commit its best plan and end its turn.
+     */
+    public boolean shouldStop(Player player) {
+        Turn turn = currentTurn;
+        if (turn == null || turn.player != player) return false; // Not run by this executor
+        return turn.generation != generation.get() || System.nanoTime() - turn.deadlineNanos >= 0;
+    }
+
+    /**
+     * Gets the hard deadline of a player's running turn.
+     * @param player The AI player asking.
+     * @return The deadline as a {@link System#nanoTime()} value, or Long.MAX_VALUE if there is none.
+     */
+    public long getDeadlineNanos(Player player) {
+        Turn turn = currentTurn;
+        if (turn == null || turn.player != player) return Long.MAX_VALUE;
+        return turn.deadlineNanos;
+    }
+
+    /**
+     * Forwards an AI player's progress report to the listener.
+     * @param player The AI player.
+     * @param status A short description of what the AI is doing.
+     */
+    public void reportProgress(Player player, String status) {
+        Turn turn = currentTurn;
+        if (turn == null || turn.player != player) return;
+        long elapsedMillis = (System.nanoTime() - turn.startNanos) / 1_000_000L;
+        notifyListener(listener -> listener.onAiProgress(player, status, elapsedMillis));
+    }
+
+    private void notifyListener(Consumer<ProgressListener> event) {
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            callbackExecutor.execute(() -> event.accept(listener));
+        }
+    }
+
+    /**
+     * Cancels all turns and stops the worker thread.
+     */
+    public void shutdown() {
+        cancelAll();
+        worker.shutdownNow();
+    }
+}
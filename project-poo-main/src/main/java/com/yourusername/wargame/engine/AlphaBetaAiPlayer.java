@@ -0,0 +1,270 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.CombatResolver;
+import com.yourusername.wargame.MovementRangeFinder;
+import com.yourusername.wargame.model.unit.Unit;
+
+
+/**
+ * AI player that chooses its actions with iterative-deepening alpha-beta search.
+ *
+ * A ply is one action of {@link SearchActions}: a unit's move or attack, or PASS, which hands the
+ * move to the opponent. Combat uses average damage, so the search is deterministic: with an
+ * unlimited budget the same position always gives the same action. Positions are hashed with
+ * Zobrist keys and looked up in a lock-free {@link TranspositionTable} that is kept between
+ * decisions, so transpositions (the same units reaching the same hexes in another order) are
+ * searched once, and the best action of the previous iteration is tried first.
+ *
+ * Meant for short tactical skirmishes: the branching factor grows with every unit's movement range.
+ */
+public class AlphaBetaAiPlayer extends Player {
+    private static final long serialVersionUID = 1L;
+
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+    public static final int DEFAULT_MAX_DEPTH = 8;
+
+    private static final int TABLE_BITS = 18;      // 2^18 entries, 6 MB
+    private static final int UNIT_VALUE = 20;      // Bonus per living unit, on top of its hit points
+    private static final int WIN_SCORE = 1_000_000;
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final long NO_ACTION = -1L;
+    private static final long MIN_SLICE_MILLIS = 5;
+
+    private final long budgetMillis;
+    private final int maxDepth;
+    private final CombatResolver combatResolver = new CombatResolver(); // Damage formula only
+    private transient TranspositionTable table;
+    private transient ZobristHasher hasher;
+    private transient Board tableBoard; // Live board the table's entries belong to
+
+    // Per-search state (one search at a time)
+    private transient GameState state;
+    private transient Player me;
+    private transient ActionStack stack;
+    private transient MovementRangeFinder rangeFinder;
+    private transient long deadline;
+    private transient int iterationDepth;
+    private transient boolean aborted;
+    private transient long nodes;
+    private transient long tableHits;
+    private transient long rootBest;
+    private transient long[] entry;
+
+    public AlphaBetaAiPlayer(String name, int playerIndex) {
+        this(name, playerIndex, DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates an alpha-beta player.
+     * @param name The player's name.
+     * @param playerIndex The player's index.
+     * @param budgetMillis The thinking time for a whole turn, in milliseconds.
+     * @param maxDepth The deepest iteration, in plies (single actions).
+     */
+    public AlphaBetaAiPlayer(String name, int playerIndex, long budgetMillis, int maxDepth) {
+        super(name, playerIndex, true);
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Search budget must be positive.");
+        }
+        if (maxDepth <= 0 || maxDepth > 255) {
+            throw new IllegalArgumentException("Maximum depth must be between 1 and 255.");
+        }
+        this.budgetMillis = budgetMillis;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    protected Player copyWithoutUnits() {
+        return new AlphaBetaAiPlayer(getName(), getPlayerIndex(), budgetMillis, maxDepth);
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public void performTurn(GameController controller) {
+        GameLog.info(() -> "Alpha-beta AI " + getName() + " is thinking...");
+        // Own budget, capped by the hard deadline of a background turn
+        long turnDeadline = Math.min(System.nanoTime() + budgetMillis * 1_000_000L, controller.getThinkingDeadline(this));
+
+        while (controller.isGameRunning() && controller.getGameState().getCurrentPlayer() == this
+                && !controller.shouldStopThinking(this)) {
+            int pending = 0;
+            for (int i = 0; i < getActiveUnitCount(); i++) {
+                if (getActiveUnit(i).canMove() || getActiveUnit(i).canAttack()) pending++;
+            }
+            if (pending == 0) break;
+
+            // Share the remaining time between the decisions still to make
+            long remainingMillis = (turnDeadline - System.nanoTime()) / 1_000_000L;
+            long slice = Math.max(MIN_SLICE_MILLIS, remainingMillis / (pending + 1));
+            controller.reportAiProgress(this, "Searching (" + pending + " units left to act)");
+            long best = findBestAction(controller.getGameState(), slice);
+            if (best == SearchActions.PASS) break;
+            if (!SearchActions.play(controller, this, best)) {
+                GameLog.error(() -> "Alpha-beta AI " + getName() + " could not play " + SearchActions.describe(best));
+                break;
+            }
+        }
+
+        GameLog.info(() -> "AI Player " + getName() + " finished turn.");
+        controller.endTurn(this); // Signal end of turn to controller
+    }
+
+    /**
+     * Searches a position by iterative deepening until the budget or the maximum depth is reached.
+     * @param gameState The position (not modified: the search runs on a copy).
+     * @param millis The time budget.
+     * @return The best action of the deepest completed iteration.
+     */
+    long findBestAction(GameState gameState, long millis) {
+        long start = System.nanoTime();
+        state = gameState.deepCopy();
+        me = state.getPlayers().get(gameState.getPlayers().indexOf(this));
+        stack = new ActionStack(state, null);
+        rangeFinder = new MovementRangeFinder();
+        entry = new long[2];
+        if (hasher == null) {
+            hasher = new ZobristHasher();
+        }
+        if (table == null || tableBoard != gameState.getBoard()) {
+            table = new TranspositionTable(TABLE_BITS); // New game: old entries are meaningless
+            tableBoard = gameState.getBoard();
+        }
+        deadline = start + millis * 1_000_000L;
+        aborted = false;
+        nodes = 0;
+        tableHits = 0;
+
+        long best = SearchActions.PASS;
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            rootBest = NO_ACTION;
+            iterationDepth = depth;
+            int score = search(depth, -INFINITY, INFINITY, 0);
+            if (aborted) break;
+            if (rootBest != NO_ACTION) best = rootBest;
+            bestScore = score;
+            completedDepth = depth;
+            if (Math.abs(score) >= WIN_SCORE) break; // Forced result found
+        }
+
+        int reportedDepth = completedDepth;
+        int reportedScore = bestScore;
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        GameLog.info(() -> String.format("Alpha-beta AI %s: depth %d, score %d, %d nodes, %d table hits in %d ms",
+                getName(), reportedDepth, reportedScore, nodes, tableHits, elapsedMillis));
+        state = null;
+        me = null;
+        stack = null;
+        return best;
+    }
+
+    // Minimax with alpha-beta pruning; scores are from this player's point of view
+    private int search(int depth, int alpha, int beta, int ply) {
+        // The first iteration always completes, so there is always an answer
+        if ((++nodes & 1023) == 0 && iterationDepth > 1 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        Player toMove = state.getCurrentPlayer();
+        Player enemy = state.getOpponent(me);
+        if (!me.hasActiveUnits()) return -WIN_SCORE;
+        if (enemy == null || !enemy.hasActiveUnits()) return WIN_SCORE;
+        if (depth == 0) return evaluate();
+
+        long key = hasher.hash(state);
+        long tableAction = NO_ACTION;
+        if (table.probe(key, entry)) {
+            tableHits++;
+            tableAction = entry[1];
+            int score = TranspositionTable.score(entry[0]);
+            if (ply > 0 && TranspositionTable.depth(entry[0]) >= depth) {
+                int bound = TranspositionTable.bound(entry[0]);
+                if (bound == TranspositionTable.EXACT) return score;
+                if (bound == TranspositionTable.LOWER_BOUND) alpha = Math.max(alpha, score);
+                if (bound == TranspositionTable.UPPER_BOUND) beta = Math.min(beta, score);
+                if (alpha >= beta) return score;
+            }
+        }
+
+        long[] actions = SearchActions.generate(state, toMove, rangeFinder);
+        order(actions, tableAction);
+
+        boolean maximizing = toMove == me;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        long bestAction = actions[0];
+        for (long action : actions) {
+            if (!SearchActions.apply(stack, toMove, action, combatResolver, null)) continue;
+            int score = search(depth - 1, alpha, beta, ply + 1);
+            stack.unmake();
+            if (aborted) return 0;
+
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestAction = action;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) break;
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= originalBeta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, depth, best, bound, bestAction);
+        if (ply == 0) rootBest = bestAction;
+        return best;
+    }
+
+    // Puts the table's action first, then attacks, then PASS, then moves (generation order otherwise)
+    private static void order(long[] actions, long tableAction) {
+        int front = 0;
+        for (int i = 0; i < actions.length; i++) {
+            if (actions[i] == tableAction) {
+                swap(actions, i, front++);
+                break;
+            }
+        }
+        for (int i = front; i < actions.length; i++) {
+            if (SearchActions.type(actions[i]) == SearchActions.TYPE_ATTACK) swap(actions, i, front++);
+        }
+        for (int i = front; i < actions.length; i++) {
+            if (actions[i] == SearchActions.PASS) {
+                swap(actions, i, front);
+                break;
+            }
+        }
+    }
+
+    private static void swap(long[] actions, int i, int j) {
+        long tmp = actions[i];
+        actions[i] = actions[j];
+        actions[j] = tmp;
+    }
+
+    // Material balance: hit points plus a bonus per living unit
+    private int evaluate() {
+        int score = 0;
+        for (Player player : state.getPlayers()) {
+            int material = 0;
+            for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                Unit unit = player.getActiveUnit(i);
+                material += unit.getCurrentHitPoints() + UNIT_VALUE;
+            }
+            score += player == me ? material : -material;
+        }
+        return score;
+    }
+}
@@ -7,10 +7,24 @@ import java.util.Objects;
  * Represents Axial coordinates (q, r) for a hexagonal grid.
  * Immutable class.
  * See https://www.redblobgames.com/grids/hexagons/ for coordinate systems.
+ *
+ * Prefer {@link #of(int, int)} over the constructor: coordinates within {@link #CACHE_RADIUS}
+ * of the origin are interned, so repeated lookups share one instance and equals() short-circuits
+ * on identity.
  */
 public class AxialCoord implements Serializable {
     private static final long serialVersionUID = 1L; // For serialization
 
+    // --- Flyweight cache ---
+    public static final int CACHE_RADIUS = 64; // Covers |q|, |r| <= 64, enough for any standard map
+    private static final int CACHE_WIDTH = 2 * CACHE_RADIUS + 1;
+    // Filled lazily; a racing thread may create a duplicate, which is harmless for an immutable value
+    private static final AxialCoord[] CACHE = new AxialCoord[CACHE_WIDTH * CACHE_WIDTH];
+
+    // Axial directions: 0: (+1, 0), 1: (0, +1), 2: (-1, +1), 3: (-1, 0), 4: (0, -1), 5: (+1, -1)
+    private static final int[] DIRECTION_Q = {+1, 0, -1, -1, 0, +1};
+    private static final int[] DIRECTION_R = {0, +1, +1, 0, -1, -1};
+
     private final int q; // Column coordinate
     private final int r; // Row coordinate
     // s coordinate is implicitly defined: q + r + s = 0
@@ -20,6 +34,46 @@ public class AxialCoord implements Serializable {
         this.r = r;
     }
 
+    /**
+     * Returns the canonical instance for (q, r).
+     * Coordinates inside the cache window are shared; others are created on demand.
+     * @param q The q coordinate.
+     * @param r The r coordinate.
+     * @return The coordinate.
+     */
+    public static AxialCoord of(int q, int r) {
+        int cq = q + CACHE_RADIUS;
+        int cr = r + CACHE_RADIUS;
+        if (cq < 0 || cq >= CACHE_WIDTH || cr < 0 || cr >= CACHE_WIDTH) {
+            return new AxialCoord(q, r);
+        }
+        int slot = cq * CACHE_WIDTH + cr;
+        AxialCoord coord = CACHE[slot];
+        if (coord == null) {
+            coord = new AxialCoord(q, r);
+            CACHE[slot] = coord;
+        }
+        return coord;
+    }
+
+    /**
+     * Gets the q offset of a direction.
+     * @param direction The direction index (0 to 5).
+     * @return The q delta.
+     */
+    public static int directionQ(int direction) {
+        return DIRECTION_Q[direction];
+    }
+
+    /**
+     * Gets the r offset of a direction.
+     * @param direction The direction index (0 to 5).
+     * @return The r delta.
+     */
+    public static int directionR(int direction) {
+        return DIRECTION_R[direction];
+    }
+
     public int getQ() {
         return q;
     }
@@ -56,16 +110,10 @@ public class AxialCoord implements Serializable {
      * @throws IllegalArgumentException if direction is invalid.
      */
     public AxialCoord neighbor(int direction) {
-        // Axial directions array: [ [q, r], ... ]
-        int[][] directions = {
-            {+1, 0}, {0, +1}, {-1, +1},
-            {-1, 0}, {0, -1}, {+1, -1}
-        };
-        if (direction < 0 || direction >= directions.length) {
+        if (direction < 0 || direction >= DIRECTION_Q.length) {
             throw new IllegalArgumentException("Invalid direction: " + direction);
         }
-        int[] d = directions[direction];
-        return new AxialCoord(this.q + d[0], this.r + d[1]);
+        return of(this.q + DIRECTION_Q[direction], this.r + DIRECTION_R[direction]);
     }
 
     @Override
@@ -78,7 +126,12 @@ public class AxialCoord implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(q, r);
+        return 31 * q + r; // Avoids the varargs array and boxing of Objects.hash
+    }
+
+    // Keep deserialized coordinates canonical
+    private Object readResolve() {
+        return of(q, r);
     }
 
     @Override
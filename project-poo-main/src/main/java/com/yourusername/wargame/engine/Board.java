@@ -5,37 +5,330 @@ import com.yourusername.wargame.model.unit.Unit;
 
 import java.io.Serializable;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Represents the game board, a collection of Hex tiles.
  * Uses Axial Coordinates.
+ *
+ * Hexes are stored densely in an array. The board is split into columns (one per q value),
+ * each covering a contiguous range of r values, so (q, r) maps to an array slot with a
+ * couple of array reads and no hashing. Hexagonal maps use one exact range per column;
+ * maps loaded from a definition use their bounding box, leaving missing hexes as empty slots.
+ * Boards built on a {@link TerrainLayer} keep only the hexes built so far, in a {@link HexTable},
+ * so that a huge mapped map costs memory in proportion to the part of it in play.
  */
 public class Board implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    // Using HashMap for potentially sparse maps or irregular shapes easily
-    private final Map<AxialCoord, Hex> hexes;
     private final int mapRadius; // Example: for a hex shape map
 
+    // --- Dense index geometry ---
+    private final int minQ;          // q value of column 0
+    private final int[] columnMinR;  // First r value stored in each column
+    private final int[] columnSize;  // Number of r values stored in each column
+    private final int[] columnStart; // Array slot of each column's first hex
+    private final int indexSize;     // Number of index slots
+    private final Hex[] cells;       // cells[index] = hex, or null for an empty slot; null for lazy boards
+    private final HexTable built;    // Hexes built so far on lazy boards; null otherwise
+    private List<Hex> hexList;       // Non-null hexes in index order (built on demand for lazy boards)
+    private final int hexCount;
+
+    // Terrain of the hexes not built yet, or null when every hex is built (see the TerrainLayer constructor)
+    private final TerrainLayer terrainLayer;
+
+    // --- Adjacency ---
+    public static final int DIRECTIONS = 6;
+    private final int[] neighbors; // neighbors[index * 6 + direction] = neighbor index, or -1 if off-map; null for lazy boards
+
+    // --- Per-player visibility bitsets keyed by hex index ---
+    private final VisibilityLayers visibility;
+
+    // Bumped on every occupancy change, so derived results (paths, ranges) can be cached per version
+    private long version;
+
+    // --- Unit registry: units currently on the board, overall and per player index ---
+    private final UnitRoster allUnits;
+    private UnitRoster[] unitsByPlayer = new UnitRoster[0];
+    private final SpatialUnitIndex spatialIndex; // Units bucketed by map region, for range queries
+
     // Constructor for a hex-shaped map of a given radius
     public Board(int radius) {
         if (radius < 0) {
             throw new IllegalArgumentException("Map radius cannot be negative.");
         }
         this.mapRadius = radius;
-        this.hexes = new HashMap<>();
+        int columns = 2 * radius + 1;
+        this.minQ = -radius;
+        this.columnMinR = new int[columns];
+        this.columnSize = new int[columns];
+        this.columnStart = new int[columns];
+        int slots = 0;
+        for (int q = -radius; q <= radius; q++) {
+            int c = q + radius;
+            int r1 = Math.max(-radius, -q - radius);
+            int r2 = Math.min(radius, -q + radius);
+            columnMinR[c] = r1;
+            columnSize[c] = r2 - r1 + 1;
+            columnStart[c] = slots;
+            slots += columnSize[c];
+        }
+        this.indexSize = slots;
+        this.cells = new Hex[slots];
+        this.built = null;
+        this.visibility = new VisibilityLayers(slots);
+        this.terrainLayer = null;
         generateHexagonalMap(radius);
+        this.hexList = collectHexes();
+        this.hexCount = hexList.size();
+        this.neighbors = buildAdjacency();
+        this.allUnits = new UnitRoster();
+        this.spatialIndex = new SpatialUnitIndex(-radius, radius, -radius, radius);
     }
 
     // Constructor potentially loading from a definition
     public Board(Map<AxialCoord, TerrainType> mapDefinition) {
-         this.hexes = new HashMap<>();
-         this.mapRadius = calculateRadiusFromCoords(mapDefinition.keySet());
          Objects.requireNonNull(mapDefinition, "Map definition cannot be null");
+         this.mapRadius = calculateRadiusFromCoords(mapDefinition.keySet());
+
+         // Bounding box of the definition
+         int qMin = Integer.MAX_VALUE, qMax = Integer.MIN_VALUE;
+         int rMin = Integer.MAX_VALUE, rMax = Integer.MIN_VALUE;
+         for (AxialCoord coord : mapDefinition.keySet()) {
+             qMin = Math.min(qMin, coord.getQ());
+             qMax = Math.max(qMax, coord.getQ());
+             rMin = Math.min(rMin, coord.getR());
+             rMax = Math.max(rMax, coord.getR());
+         }
+         int columns = mapDefinition.isEmpty() ? 0 : qMax - qMin + 1;
+         int height = mapDefinition.isEmpty() ? 0 : rMax - rMin + 1;
+         this.minQ = qMin;
+         this.columnMinR = new int[columns];
+         this.columnSize = new int[columns];
+         this.columnStart = new int[columns];
+         for (int c = 0; c < columns; c++) {
+             columnMinR[c] = rMin;
+             columnSize[c] = height;
+             columnStart[c] = c * height;
+         }
+         this.indexSize = columns * height;
+         this.cells = new Hex[indexSize];
+         this.built = null;
+         this.visibility = new VisibilityLayers(indexSize);
          for (Map.Entry<AxialCoord, TerrainType> entry : mapDefinition.entrySet()) {
-             hexes.put(entry.getKey(), new Hex(entry.getKey(), entry.getValue()));
+             AxialCoord coord = AxialCoord.of(entry.getKey().getQ(), entry.getKey().getR()); // Canonical instance
+             int index = slotOf(coord.getQ(), coord.getR());
+             cells[index] = new Hex(coord, entry.getValue(), index, visibility);
          }
+         this.terrainLayer = null;
+         this.hexList = collectHexes();
+         this.hexCount = hexList.size();
+         this.neighbors = buildAdjacency();
+         this.allUnits = new UnitRoster();
+         this.spatialIndex = new SpatialUnitIndex(qMin, qMax, rMin, rMax);
+    }
+
+    /**
+     * Rebuilds a board from its column layout and the terrain of every index slot, e.g. when
+     * loading a save. The hexes get the same dense indices as on the board the layout was read
+     * from (see {@link #getMinQ()}, {@link #getColumnMinR(int)}, {@link #getColumnSize(int)}).
+     * @param mapRadius The map radius reported by {@link #getMapRadius()}.
+     * @param minQ The q value of the first column.
+     * @param columnMinR The first r value stored in each column.
+     * @param columnSize The number of r values stored in each column.
+     * @param terrain The terrain of each index slot, columns one after the other; null for an empty slot.
+     */
+    public Board(int mapRadius, int minQ, int[] columnMinR, int[] columnSize, TerrainType[] terrain) {
+        this(mapRadius, minQ, columnMinR, columnSize, new ArrayTerrainLayer(terrain), false);
+    }
+
+    /**
+     * Wraps a terrain layer, e.g. a memory-mapped map file, without reading it: each {@link Hex} is
+     * created the first time it is looked up, and neighbors are computed from coordinates instead of
+     * a precomputed table. Opening a huge map therefore costs little more than its column layout;
+     * only {@link #getAllHexes()} builds every hex.
+     * @param mapRadius The map radius reported by {@link #getMapRadius()}.
+     * @param minQ The q value of the first column.
+     * @param columnMinR The first r value stored in each column.
+     * @param columnSize The number of r values stored in each column.
+     * @param terrain The terrain of each index slot, columns one after the other.
+     */
+    public Board(int mapRadius, int minQ, int[] columnMinR, int[] columnSize, TerrainLayer terrain) {
+        this(mapRadius, minQ, columnMinR, columnSize, terrain, true);
+    }
+
+    private Board(int mapRadius, int minQ, int[] columnMinR, int[] columnSize, TerrainLayer terrain, boolean lazy) {
+        if (columnMinR.length != columnSize.length) {
+            throw new IllegalArgumentException("Column arrays must have the same length.");
+        }
+        this.mapRadius = mapRadius;
+        this.minQ = minQ;
+        this.columnMinR = columnMinR.clone();
+        this.columnSize = columnSize.clone();
+        this.columnStart = new int[columnSize.length];
+        int slots = 0;
+        int rMin = Integer.MAX_VALUE, rMax = Integer.MIN_VALUE;
+        for (int c = 0; c < columnSize.length; c++) {
+            if (columnSize[c] < 0) {
+                throw new IllegalArgumentException("Column size cannot be negative.");
+            }
+            columnStart[c] = slots;
+            slots += columnSize[c];
+            if (columnSize[c] > 0) {
+                rMin = Math.min(rMin, columnMinR[c]);
+                rMax = Math.max(rMax, columnMinR[c] + columnSize[c] - 1);
+            }
+        }
+        if (terrain.getIndexSize() != slots) {
+            throw new IllegalArgumentException("Expected terrain for " + slots + " slots, got " + terrain.getIndexSize());
+        }
+        this.indexSize = slots;
+        this.visibility = new VisibilityLayers(slots);
+        if (lazy) {
+            this.cells = null;
+            this.built = new HexTable();
+            this.terrainLayer = terrain;
+            this.hexCount = terrain.getHexCount();
+            this.neighbors = null;
+        } else {
+            this.cells = new Hex[slots];
+            this.built = null;
+            this.terrainLayer = null;
+            for (int index = 0; index < slots; index++) {
+                TerrainType type = terrain.getTerrain(index);
+                if (type != null) {
+                    cells[index] = createHex(index, type);
+                }
+            }
+            this.hexList = collectHexes();
+            this.hexCount = hexList.size();
+            this.neighbors = buildAdjacency();
+        }
+        this.allUnits = new UnitRoster();
+        this.spatialIndex = new SpatialUnitIndex(minQ, minQ + columnSize.length - 1, rMin, rMax);
+    }
+
+    // Terrain given as an array, one entry per slot
+    private static final class ArrayTerrainLayer implements TerrainLayer {
+        private static final long serialVersionUID = 1L;
+
+        private final TerrainType[] terrain;
+
+        ArrayTerrainLayer(TerrainType[] terrain) {
+            this.terrain = terrain;
+        }
+
+        @Override
+        public int getIndexSize() {
+            return terrain.length;
+        }
+
+        @Override
+        public int getHexCount() {
+            int count = 0;
+            for (TerrainType type : terrain) {
+                if (type != null) count++;
+            }
+            return count;
+        }
+
+        @Override
+        public TerrainType getTerrain(int index) {
+            return terrain[index];
+        }
+    }
+
+    // Builds the hex of a slot from the column layout
+    private Hex createHex(int index, TerrainType type) {
+        int c = columnOf(index);
+        AxialCoord coord = AxialCoord.of(minQ + c, columnMinR[c] + index - columnStart[c]);
+        return new Hex(coord, type, index, visibility);
+    }
+
+    // Column holding an index slot: the last column starting at or before it
+    // (an empty column starts where the next one does, so it is never the last)
+    private int columnOf(int index) {
+        int low = 0, high = columnStart.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (columnStart[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copy constructor used by {@link GameState#deepCopy()}.
+     * Geometry, adjacency and terrain are immutable and shared with the source; hexes,
+     * visibility, the unit registry and the spatial index are duplicated, with every unit
+     * replaced by its copy. Registry and index orders are preserved.
+     * @param source The board to copy.
+     * @param unitCopier Creates the copy of a unit; called once per unit on the board.
+     */
+    Board(Board source, Function<Unit, Unit> unitCopier) {
+        this.mapRadius = source.mapRadius;
+        this.minQ = source.minQ;
+        this.columnMinR = source.columnMinR;
+        this.columnSize = source.columnSize;
+        this.columnStart = source.columnStart;
+        this.neighbors = source.neighbors;
+        this.terrainLayer = source.terrainLayer; // Hexes not built on the source are not built on the copy either
+        this.hexCount = source.hexCount;
+        this.indexSize = source.indexSize;
+        this.visibility = source.visibility.copy();
+        if (source.cells != null) {
+            this.cells = new Hex[indexSize];
+            this.built = null;
+            for (Hex hex : source.cells) {
+                if (hex != null) {
+                    cells[hex.getIndex()] = copyHex(hex, unitCopier);
+                }
+            }
+        } else {
+            // Only the hexes built on the source are visited
+            this.cells = null;
+            this.built = new HexTable();
+            synchronized (source.built) {
+                source.built.forEach(hex -> built.put(copyHex(hex, unitCopier)));
+            }
+        }
+        this.hexList = terrainLayer == null ? collectHexes() : null;
+        this.version = source.version;
+        // Every registered unit stands on its hex, so its copy is found by position, without hashing
+        Function<Unit, Unit> unitMapper = unit -> copyOf(source, unit);
+        this.allUnits = source.allUnits.copy(unitMapper);
+        this.unitsByPlayer = new UnitRoster[source.unitsByPlayer.length];
+        for (int p = 0; p < unitsByPlayer.length; p++) {
+            if (source.unitsByPlayer[p] != null) {
+                unitsByPlayer[p] = source.unitsByPlayer[p].copy(unitMapper);
+            }
+        }
+        this.spatialIndex = source.spatialIndex.copy(unitMapper);
+    }
+
+    private Hex copyHex(Hex hex, Function<Unit, Unit> unitCopier) {
+        Hex copy = new Hex(hex.getCoordinates(), hex.getTerrainType(), hex.getIndex(), visibility);
+        if (hex.getUnit() != null) {
+            copy.setUnit(unitCopier.apply(hex.getUnit()));
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the copy of a unit of the board this one was copied from.
+     * @param source The board passed to the copy constructor.
+     * @param unit A unit of the source board.
+     * @return The unit occupying the same hex on this board, or null if the unit is not on the source board.
+     */
+    Unit copyOf(Board source, Unit unit) {
+        AxialCoord position = unit.getPosition();
+        int index = position == null ? -1 : source.indexOf(position.getQ(), position.getR());
+        Hex sourceHex = index < 0 ? null : source.builtHex(index);
+        if (sourceHex == null || sourceHex.getUnit() != unit) return null;
+        return builtHex(index).getUnit();
     }
 
     private void generateHexagonalMap(int radius) {
@@ -43,38 +336,254 @@ public class Board implements Serializable {
             int r1 = Math.max(-radius, -q - radius);
             int r2 = Math.min(radius, -q + radius);
             for (int r = r1; r <= r2; r++) {
-                AxialCoord coord = new AxialCoord(q, r);
+                AxialCoord coord = AxialCoord.of(q, r);
+                int index = slotOf(q, r);
                 // Default to PLAINS for now, ideally load from scenario
-                hexes.put(coord, new Hex(coord, TerrainType.PLAIN));
+                cells[index] = new Hex(coord, TerrainType.PLAIN, index, visibility);
             }
         }
     }
 
+    private List<Hex> collectHexes() {
+        List<Hex> list = new ArrayList<>(cells != null ? cells.length : built.size());
+        for (int index = 0; index < indexSize; index++) {
+            Hex hex = builtHex(index);
+            if (hex != null) list.add(hex);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    // Resolves the 6 neighbors of every hex once, so searches never rebuild coordinates
+    private int[] buildAdjacency() {
+        int[] table = new int[indexSize * DIRECTIONS];
+        Arrays.fill(table, -1);
+        for (Hex hex : hexList) {
+            int base = hex.getIndex() * DIRECTIONS;
+            int q = hex.getCoordinates().getQ();
+            int r = hex.getCoordinates().getR();
+            for (int d = 0; d < DIRECTIONS; d++) {
+                table[base + d] = indexOf(q + AxialCoord.directionQ(d), r + AxialCoord.directionR(d));
+            }
+        }
+        return table;
+    }
+
      // Helper to estimate radius (needed for constructor)
     private int calculateRadiusFromCoords(Collection<AxialCoord> coords) {
         int maxDist = 0;
-        AxialCoord center = new AxialCoord(0,0);
+        AxialCoord center = AxialCoord.of(0, 0);
         for(AxialCoord coord : coords) {
             maxDist = Math.max(maxDist, center.distanceTo(coord));
         }
         return maxDist;
     }
 
+    // Array slot covering (q, r), or -1 if it falls outside the stored columns
+    private int slotOf(int q, int r) {
+        int c = q - minQ;
+        if (c < 0 || c >= columnSize.length) return -1;
+        int dr = r - columnMinR[c];
+        if (dr < 0 || dr >= columnSize[c]) return -1;
+        return columnStart[c] + dr;
+    }
+
+    /**
+     * Maps axial coordinates to the dense index of the hex stored there.
+     * Indices are stable for the lifetime of the board and lie in [0, getIndexSize()).
+     * @param q The q coordinate.
+     * @param r The r coordinate.
+     * @return The hex index, or -1 if there is no hex at (q, r).
+     */
+    public int indexOf(int q, int r) {
+        int index = slotOf(q, r);
+        return index >= 0 && hasHex(index) ? index : -1;
+    }
+
+    // True if the slot holds a hex, built or not
+    private boolean hasHex(int index) {
+        return cells != null ? cells[index] != null : terrainLayer.getTerrain(index) != null;
+    }
+
+    // The hex of a slot if it is built, without building it
+    private Hex builtHex(int index) {
+        return cells != null ? cells[index] : built.get(index);
+    }
+
+    // The hex of a slot, built on first use for lazy boards; null for an empty slot
+    private Hex hexAt(int index) {
+        if (cells != null) return cells[index];
+        Hex hex = built.get(index);
+        if (hex == null) {
+            // Locked so that two threads touching a slot first never build two hexes for it
+            synchronized (built) {
+                hex = built.get(index);
+                if (hex == null) {
+                    TerrainType type = terrainLayer.getTerrain(index);
+                    if (type != null) {
+                        hex = createHex(index, type);
+                        built.put(hex);
+                    }
+                }
+            }
+        }
+        return hex;
+    }
+
+    /**
+     * Gets the Hex object at the specified coordinates.
+     * @param q The q coordinate.
+     * @param r The r coordinate.
+     * @return The Hex object, or null if no hex exists at that coordinate.
+     */
+    public Hex getHex(int q, int r) {
+        int index = slotOf(q, r);
+        return index >= 0 ? hexAt(index) : null;
+    }
+
     /**
      * Gets the Hex object at the specified coordinates.
      * @param coord The AxialCoord of the hex.
      * @return The Hex object, or null if no hex exists at that coordinate.
      */
     public Hex getHex(AxialCoord coord) {
-        return hexes.get(coord);
+        return coord == null ? null : getHex(coord.getQ(), coord.getR());
     }
 
     /**
-     * Gets all Hex objects on the board.
+     * Gets the Hex object stored at a dense index.
+     * @param index The hex index (see {@link #indexOf(int, int)}).
+     * @return The Hex object, or null for an empty slot or an out-of-range index.
+     */
+    public Hex getHexAt(int index) {
+        return index >= 0 && index < indexSize ? hexAt(index) : null;
+    }
+
+    /**
+     * Gets the size of the dense index space. Arrays indexed by hex index need this length.
+     * Equals {@link #getHexCount()} for hexagonal maps; may be larger for maps with holes.
+     * @return The number of index slots.
+     */
+    public int getIndexSize() {
+        return indexSize;
+    }
+
+    /**
+     * @return The number of hexes on the board.
+     */
+    public int getHexCount() {
+        return hexCount;
+    }
+
+    /**
+     * Gets the terrain of a slot without building its hex (see the {@link TerrainLayer} constructor).
+     * @param index The hex index.
+     * @return The terrain, or null for an empty slot or an out-of-range index.
+     */
+    public TerrainType getTerrainAt(int index) {
+        if (index < 0 || index >= indexSize) return null;
+        if (cells == null) return terrainLayer.getTerrain(index);
+        Hex hex = cells[index];
+        return hex != null ? hex.getTerrainType() : null;
+    }
+
+    /**
+     * Tells whether this board builds its hexes on first use (see the {@link TerrainLayer} constructor).
+     * Code that keeps per-hex scratch data should then key it sparsely rather than allocate
+     * {@link #getIndexSize()} entries.
+     * @return true for a board built on a terrain layer.
+     */
+    public boolean isLazy() {
+        return cells == null;
+    }
+
+    /**
+     * Gets the per-player visibility bitsets of this board, keyed by hex index.
+     * @return The board's visibility layers.
+     */
+    public VisibilityLayers getVisibility() {
+        return visibility;
+    }
+
+    /**
+     * Gets the neighbor of a hex from the precomputed adjacency table (computed from the
+     * coordinates on boards built on a {@link TerrainLayer}).
+     * Typical allocation-free iteration:
+     * <pre>
+     * for (int d = 0; d &lt; Board.DIRECTIONS; d++) {
+     *     int n = board.getNeighborIndex(index, d);
+     *     if (n &lt; 0) continue; // off-map
+     *     ...
+     * }
+     * </pre>
+     * @param index The hex index.
+     * @param direction The direction (0 to 5, same order as {@link AxialCoord#neighbor(int)}).
+     * @return The neighbor's hex index, or -1 if there is no hex in that direction.
+     */
+    public int getNeighborIndex(int index, int direction) {
+        if (neighbors != null) {
+            return neighbors[index * DIRECTIONS + direction];
+        }
+        AxialCoord coord = hexAt(index).getCoordinates();
+        return indexOf(coord.getQ() + AxialCoord.directionQ(direction), coord.getR() + AxialCoord.directionR(direction));
+    }
+
+    /**
+     * Gets the number of hexes within a given distance of a center (the full hex disk,
+     * ignoring board edges). Use it to size the buffer passed to {@link #indicesWithin}.
+     * @param radius The distance.
+     * @return 3 * radius * (radius + 1) + 1.
+     */
+    public static int diskSize(int radius) {
+        return 3 * radius * (radius + 1) + 1;
+    }
+
+    /**
+     * Collects the indices of all on-map hexes within a distance of (q, r), without allocating.
+     * Walks the disk column by column, so the cost is O(radius^2) regardless of board size.
+     * @param q The center q coordinate (need not be on the board).
+     * @param r The center r coordinate.
+     * @param radius The maximum hex distance (inclusive).
+     * @param out Receives the indices; must hold at least {@link #diskSize(int)} entries.
+     * @return The number of indices written to out.
+     */
+    public int indicesWithin(int q, int r, int radius, int[] out) {
+        int count = 0;
+        for (int dq = -radius; dq <= radius; dq++) {
+            int drMin = Math.max(-radius, -dq - radius);
+            int drMax = Math.min(radius, -dq + radius);
+            for (int dr = drMin; dr <= drMax; dr++) {
+                int index = indexOf(q + dq, r + dr);
+                if (index >= 0) {
+                    out[count++] = index;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the board's occupancy/terrain version.
+     * Increases monotonically whenever a unit is placed, moved or removed; terrain never changes
+     * after construction. Two equal versions of the same board have identical occupancy.
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets all Hex objects on the board. On a board built on a {@link TerrainLayer}, the first
+     * call builds every hex: prefer index-based access on huge maps.
      * @return An unmodifiable collection of all Hexes.
      */
     public Collection<Hex> getAllHexes() {
-        return Collections.unmodifiableCollection(hexes.values());
+        if (hexList == null) {
+            for (int index = 0; index < indexSize; index++) {
+                hexAt(index);
+            }
+            hexList = collectHexes();
+        }
+        return hexList;
     }
 
     /**
@@ -89,28 +598,58 @@ public class Board implements Serializable {
 
         Hex targetHex = getHex(position);
         if (targetHex == null || !targetHex.isAccessible() || targetHex.isOccupied()) {
-            System.err.println("Placement failed: Target hex invalid, inaccessible or occupied at " + position);
+            GameLog.error(() -> "Placement failed: Target hex invalid, inaccessible or occupied at " + position);
             return false;
         }
 
         // If unit was already on the board, remove from old hex
-        removeUnit(unit);
+        clearHex(unit);
 
         targetHex.setUnit(unit);
         unit.setPosition(position);
+        register(unit);
+        version++;
         return true;
     }
 
     /**
-     * Removes a unit from the board.
+     * Removes a unit from the board (e.g., when it is destroyed).
+     * Clears its hex and drops it from the unit registry.
      * @param unit The unit to remove.
      */
     public void removeUnit(Unit unit) {
         if (unit == null) return;
+        clearHex(unit);
+        if (allUnits.remove(unit) >= 0) {
+            rosterFor(unit.getOwner().getPlayerIndex()).remove(unit);
+        }
+        spatialIndex.remove(unit);
+    }
+
+    // Empties the hex a unit stands on, leaving the registry untouched
+    private void clearHex(Unit unit) {
         Hex currentHex = getHex(unit.getPosition());
         if (currentHex != null && currentHex.getUnit() == unit) {
             currentHex.setUnit(null);
+            version++;
+        }
+    }
+
+    private void register(Unit unit) {
+        if (allUnits.add(unit)) {
+            rosterFor(unit.getOwner().getPlayerIndex()).add(unit);
         }
+        spatialIndex.update(unit);
+    }
+
+    private UnitRoster rosterFor(int playerIndex) {
+        if (playerIndex >= unitsByPlayer.length) {
+            unitsByPlayer = Arrays.copyOf(unitsByPlayer, playerIndex + 1);
+        }
+        if (unitsByPlayer[playerIndex] == null) {
+            unitsByPlayer[playerIndex] = new UnitRoster();
+        }
+        return unitsByPlayer[playerIndex];
     }
 
     /**
@@ -125,19 +664,88 @@ public class Board implements Serializable {
          Hex targetHex = getHex(newPosition);
          // Basic check: target exists and is not occupied BY ANOTHER unit
          if (targetHex == null || !targetHex.isAccessible() || (targetHex.isOccupied() && targetHex.getUnit() != unit) ) {
-              System.err.println("Board move failed: Target hex invalid or occupied at " + newPosition);
+              GameLog.error(() -> "Board move failed: Target hex invalid or occupied at " + newPosition);
               return false;
          }
 
          // Remove from old hex
-         removeUnit(unit); // Uses unit.getPosition() internally
+         clearHex(unit); // Uses unit.getPosition() internally
 
          // Place in new hex
          targetHex.setUnit(unit);
          unit.setPosition(newPosition); // Update unit's internal state
+         register(unit);
+         version++;
          return true;
     }
 
+    // --- Reversible primitives for ActionStack (no validation, no logging) ---
+
+    /**
+     * Moves a unit to an empty hex, given by index.
+     * @param unit The unit to move.
+     * @param targetIndex The index of the destination hex.
+     * @return The slot the unit left in the spatial index, for {@link #undoRelocate}.
+     */
+    int relocate(Unit unit, int targetIndex) {
+        clearHex(unit);
+        Hex target = hexAt(targetIndex);
+        target.setUnit(unit);
+        unit.setPosition(target.getCoordinates());
+        version++;
+        return spatialIndex.update(unit);
+    }
+
+    /**
+     * Reverts {@link #relocate}, restoring the spatial index order exactly.
+     * @param unit The unit to move back.
+     * @param originIndex The index of the hex it came from.
+     * @param spatialSlot The value returned by relocate().
+     */
+    void undoRelocate(Unit unit, int originIndex, int spatialSlot) {
+        if (spatialSlot >= 0) {
+            spatialIndex.remove(unit); // Last in its current cell, so removal leaves the cell as it was
+        }
+        clearHex(unit);
+        Hex origin = hexAt(originIndex);
+        origin.setUnit(unit);
+        unit.setPosition(origin.getCoordinates());
+        version++;
+        if (spatialSlot >= 0) {
+            spatialIndex.restore(unit, spatialSlot);
+        }
+    }
+
+    /**
+     * Removes a unit, reporting the registry slots it occupied.
+     * @param unit The unit to remove.
+     * @param slots Receives {all-units slot, player slot, spatial slot}.
+     */
+    void removeUnit(Unit unit, int[] slots) {
+        clearHex(unit);
+        slots[0] = allUnits.remove(unit);
+        slots[1] = slots[0] >= 0 ? rosterFor(unit.getOwner().getPlayerIndex()).remove(unit) : -1;
+        slots[2] = spatialIndex.remove(unit);
+    }
+
+    /**
+     * Puts back a unit removed by {@link #removeUnit(Unit, int[])} at its position, in its old registry slots.
+     * Removals must be undone in reverse order.
+     * @param unit The unit to restore.
+     * @param slots The slots reported on removal.
+     */
+    void restoreUnit(Unit unit, int[] slots) {
+        getHex(unit.getPosition()).setUnit(unit);
+        if (slots[0] >= 0) {
+            allUnits.restore(unit, slots[0]);
+        }
+        if (slots[1] >= 0) {
+            rosterFor(unit.getOwner().getPlayerIndex()).restore(unit, slots[1]);
+        }
+        spatialIndex.restore(unit, slots[2]);
+        version++;
+    }
+
     /**
      * Calculates the movement cost for a specific unit to enter a given hex.
      * @param hex The target Hex.
@@ -153,14 +761,16 @@ public class Board implements Serializable {
 
     /**
      * Finds all units on the board belonging to a specific player.
+     * Reads the unit registry, so the cost is proportional to the player's army, not the map.
      * @param player The player whose units to find.
      * @return A list of units belonging to the player.
      */
     public List<Unit> getUnitsForPlayer(Player player) {
-        return hexes.values().stream()
-                .map(Hex::getUnit)
-                .filter(unit -> unit != null && unit.getOwner().equals(player))
-                .collect(Collectors.toList());
+        if (player == null || player.getPlayerIndex() >= unitsByPlayer.length
+                || unitsByPlayer[player.getPlayerIndex()] == null) {
+            return new ArrayList<>();
+        }
+        return unitsByPlayer[player.getPlayerIndex()].toList();
     }
 
      /**
@@ -168,22 +778,98 @@ public class Board implements Serializable {
      * @return A list of all units.
      */
      public List<Unit> getAllUnits() {
-        return hexes.values().stream()
-                .map(Hex::getUnit)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return allUnits.toList();
      }
 
+    /**
+     * Counts the units on the board belonging to a player. O(1).
+     * @param playerIndex The player's index.
+     * @return The number of that player's units on the board.
+     */
+    public int getUnitCount(int playerIndex) {
+        if (playerIndex < 0 || playerIndex >= unitsByPlayer.length || unitsByPlayer[playerIndex] == null) {
+            return 0;
+        }
+        return unitsByPlayer[playerIndex].size();
+    }
+
+    /**
+     * Gets one of a player's units on the board, for allocation-free iteration with
+     * {@link #getUnitCount(int)}. The order changes when units are removed.
+     * @param playerIndex The player's index.
+     * @param i The position, in [0, getUnitCount(playerIndex)).
+     * @return The unit.
+     */
+    public Unit getUnit(int playerIndex, int i) {
+        if (playerIndex < 0 || playerIndex >= unitsByPlayer.length || unitsByPlayer[playerIndex] == null) {
+            throw new IndexOutOfBoundsException("No units registered for player " + playerIndex);
+        }
+        return unitsByPlayer[playerIndex].get(i);
+    }
+
+    /**
+     * @return The number of units on the board. O(1).
+     */
+    public int getUnitCount() {
+        return allUnits.size();
+    }
+
+    /**
+     * Gets the spatial index of the units on the board, for "units within range" and
+     * "nearest unit" queries that only look at nearby map regions.
+     * @return The board's spatial index (kept up to date by placeUnit, moveUnit and removeUnit).
+     */
+    public SpatialUnitIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     public int getMapRadius() {
         return mapRadius;
     }
 
+    // --- Column layout (see the layout constructor) ---
+
+    /**
+     * @return The q value of the first column of the dense index.
+     */
+    public int getMinQ() {
+        return minQ;
+    }
+
+    public int getColumnCount() {
+        return columnSize.length;
+    }
+
+    /**
+     * @param column The column number, in [0, getColumnCount()).
+     * @return The first r value stored in that column.
+     */
+    public int getColumnMinR(int column) {
+        return columnMinR[column];
+    }
+
+    /**
+     * @param column The column number, in [0, getColumnCount()).
+     * @return The number of index slots in that column.
+     */
+    public int getColumnSize(int column) {
+        return columnSize[column];
+    }
+
+     /**
+      * Builds a coordinate-keyed view of the board. Prefer {@link #getHex(int, int)} in hot code.
+      * @return An unmodifiable map from coordinates to hexes.
+      */
      public Map<AxialCoord, Hex> getHexesMap() {
-         return Collections.unmodifiableMap(hexes);
+         Map<AxialCoord, Hex> map = new LinkedHashMap<>();
+         for (Hex hex : getAllHexes()) {
+             map.put(hex.getCoordinates(), hex);
+         }
+         return Collections.unmodifiableMap(map);
      }
 
     @Override
     public String toString() {
-        return "Board [Radius=" + mapRadius + ", Hexes=" + hexes.size() + "]";
+        return "Board [Radius=" + mapRadius + ", Hexes=" + hexCount + "]";
     }
 }
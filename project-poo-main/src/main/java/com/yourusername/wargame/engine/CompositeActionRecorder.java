@@ -0,0 +1,85 @@
+package com.yourusername.wargame.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Passes every action to several recorders, in the order they were added, so that a game can be
+ * journaled and autosaved at the same time (see {@link GameController#addActionRecorder}).
+ * Immutable: adding or removing a recorder builds a new chain.
+ */
+final class CompositeActionRecorder implements ActionRecorder {
+
+    private final ActionRecorder[] recorders;
+
+    private CompositeActionRecorder(ActionRecorder[] recorders) {
+        this.recorders = recorders;
+    }
+
+    /**
+     * @param current The recorder in place, or null.
+     * @param added The recorder to add after it.
+     * @return A recorder calling both (added itself if there was none).
+     */
+    static ActionRecorder with(ActionRecorder current, ActionRecorder added) {
+        if (current == null) return added;
+        List<ActionRecorder> chain = new ArrayList<>(flatten(current));
+        chain.add(added);
+        return new CompositeActionRecorder(chain.toArray(new ActionRecorder[0]));
+    }
+
+    /**
+     * @param current The recorder in place, or null.
+     * @param removed The recorder to remove from it.
+     * @return The remaining recorders, or null if none remains.
+     */
+    static ActionRecorder without(ActionRecorder current, ActionRecorder removed) {
+        if (current == null || current == removed) return null;
+        List<ActionRecorder> chain = new ArrayList<>(flatten(current));
+        chain.remove(removed);
+        if (chain.isEmpty()) return null;
+        return chain.size() == 1 ? chain.get(0) : new CompositeActionRecorder(chain.toArray(new ActionRecorder[0]));
+    }
+
+    private static List<ActionRecorder> flatten(ActionRecorder recorder) {
+        return recorder instanceof CompositeActionRecorder
+                ? Arrays.asList(((CompositeActionRecorder) recorder).recorders)
+                : List.of(recorder);
+    }
+
+    @Override
+    public void onGameStarted(GameController controller) {
+        for (ActionRecorder recorder : recorders) {
+            recorder.onGameStarted(controller);
+        }
+    }
+
+    @Override
+    public void onMove(GameController controller, int fromIndex, int toIndex) {
+        for (ActionRecorder recorder : recorders) {
+            recorder.onMove(controller, fromIndex, toIndex);
+        }
+    }
+
+    @Override
+    public void onAttack(GameController controller, int attackerIndex, int defenderIndex) {
+        for (ActionRecorder recorder : recorders) {
+            recorder.onAttack(controller, attackerIndex, defenderIndex);
+        }
+    }
+
+    @Override
+    public void onUndo(GameController controller) {
+        for (ActionRecorder recorder : recorders) {
+            recorder.onUndo(controller);
+        }
+    }
+
+    @Override
+    public void onEndTurn(GameController controller) {
+        for (ActionRecorder recorder : recorders) {
+            recorder.onEndTurn(controller);
+        }
+    }
+}
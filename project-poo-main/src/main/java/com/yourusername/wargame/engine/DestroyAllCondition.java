@@ -1,5 +1,6 @@
 package com.yourusername.wargame.engine;
 
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,10 +19,20 @@ public class DestroyAllCondition implements VictoryCondition {
         this.targetPlayer = Objects.requireNonNull(targetPlayer, "Target player cannot be null");
     }
     
+    public Player getTargetPlayer() {
+        return targetPlayer;
+    }
+    
     @Override
     public boolean checkCondition(GameState gameState, Player player) {
         // Condition is met if the target player has no active units
-        return targetPlayer.getActiveUnits().isEmpty();
+        return !targetPlayer.hasActiveUnits();
+    }
+    
+    @Override
+    public VictoryCondition copyFor(Map<Player, Player> playerMapping) {
+        Player copy = playerMapping.get(targetPlayer);
+        return copy == null ? this : new DestroyAllCondition(copy);
     }
     
     @Override
@@ -3,52 +3,230 @@ package com.yourusername.wargame.engine;
 import com.yourusername.wargame.model.unit.Unit;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Handles fog of war mechanics, determining what each player can see.
+ *
+ * Visibility is maintained incrementally: for every player and hex we keep the number of
+ * that player's units that currently see the hex. A hex is visible while its count is
+ * positive. When a unit moves or dies only its old and new vision disks are touched,
+ * so a single update costs O(visionRange^2) instead of a full-board rescan.
+ * Players are keyed by {@link Player#getPlayerIndex()}; the resulting visibility bits are
+ * stored in the board's {@link VisibilityLayers}. On lazy boards ({@link Board#isLazy()}) the counts
+ * are kept in a map holding only the hexes some unit sees, instead of an array per player
+ * covering the whole index space.
  */
 public class FogOfWar implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private Board board;                        // Board the counts below refer to
+    private int[][] visionCounts = new int[0][]; // visionCounts[player][hexIndex] = units seeing the hex
+    private final List<Map<Integer, Integer>> sparseCounts = new ArrayList<>(); // Same, lazy boards; absent = 0
+    private final Map<Unit, Integer> visionCenters = new HashMap<>(); // Hex index each unit currently sees from
+    private int[] diskBuffer = new int[0];       // Scratch for vision disk indices
+
     /**
-     * Updates the visibility state for the current player.
+     * Recomputes visibility from scratch for every player.
+     * Call when a game is initialized or after bulk changes; single moves and deaths
+     * should go through {@link #refreshUnit(Unit, Board)}.
      * @param gameState The current game state.
      */
     public void updateVisibility(GameState gameState) {
         if (gameState == null) return;
-        
+
         Board board = gameState.getBoard();
         if (board == null) return;
-        
+
         // Reset all visibility
-        for (Hex hex : board.getAllHexes()) {
-            hex.resetVisibility();
-        }
-        
-        // For each player, calculate what they can see based on their units
-        for (int playerIdx = 0; playerIdx < gameState.getPlayers().size(); playerIdx++) {
-            Player player = gameState.getPlayers().get(playerIdx);
-            
-            // Set visibility based on units
+        resetCounts(board);
+        board.getVisibility().clearAll();
+
+        // For each player, add the vision of each of their units
+        for (Player player : gameState.getPlayers()) {
             for (Unit unit : player.getActiveUnits()) {
-                AxialCoord unitPos = unit.getPosition();
-                int visionRange = unit.getVisionRange();
-                
-                // Mark all hexes in vision range as visible
-                for (Hex hex : board.getAllHexes()) {
-                    AxialCoord hexCoord = hex.getCoordinates();
-                    int distance = unitPos.distanceTo(hexCoord);
-                    
-                    if (distance <= visionRange) {
-                        hex.setVisibleToPlayer(playerIdx, true);
-                    }
-                }
+                refreshUnit(unit, board);
             }
         }
     }
 
     /**
-     * Checks if a hex is visible to the specified player.
+     * Brings a single unit's vision contribution up to date.
+     * Subtracts its previous vision disk and adds the disk around its current position;
+     * a unit that is dead or no longer on the board contributes nothing.
+     * @param unit The unit that moved, was placed, was damaged or died.
+     * @param board The board the unit is on.
+     */
+    public void refreshUnit(Unit unit, Board board) {
+        if (unit == null || board == null) return;
+        if (this.board != board) {
+            // Counts belong to another board; start over on this one
+            resetCounts(board);
+        }
+
+        int newCenter = -1;
+        AxialCoord position = unit.getPosition();
+        if (unit.getCurrentHitPoints() > 0 && position != null) {
+            Hex hex = board.getHex(position);
+            if (hex != null && hex.getUnit() == unit) {
+                newCenter = hex.getIndex();
+            }
+        }
+
+        Integer oldCenter = visionCenters.get(unit);
+        if (oldCenter != null && oldCenter == newCenter) return; // Nothing changed
+
+        int playerIndex = unit.getOwner().getPlayerIndex();
+        if (oldCenter != null) {
+            applyDisk(playerIndex, oldCenter, unit.getVisionRange(), -1);
+            visionCenters.remove(unit);
+        }
+        if (newCenter >= 0) {
+            applyDisk(playerIndex, newCenter, unit.getVisionRange(), +1);
+            visionCenters.put(unit, newCenter);
+        }
+    }
+
+    private void resetCounts(Board board) {
+        this.board = board;
+        visionCenters.clear();
+        for (int[] counts : visionCounts) {
+            if (counts != null) Arrays.fill(counts, 0);
+        }
+        for (Map<Integer, Integer> counts : sparseCounts) {
+            counts.clear();
+        }
+    }
+
+    /**
+     * Checks whether a unit standing on a hex would show its owner hexes that are fogged now,
+     * e.g. before moving it there. Only the vision disk around that hex is read.
+     * @param unit The unit.
+     * @param hexIndex The board index of the hex it would stand on.
+     * @param board The board the unit is on.
+     * @return True if some hex within the unit's vision range of that hex is not visible to its owner.
+     */
+    public boolean wouldReveal(Unit unit, int hexIndex, Board board) {
+        VisibilityLayers layers = board.getVisibility();
+        int playerIndex = unit.getOwner().getPlayerIndex();
+        int range = unit.getVisionRange();
+        if (diskBuffer.length < Board.diskSize(range)) {
+            diskBuffer = new int[Board.diskSize(range)];
+        }
+        AxialCoord c = board.getHexAt(hexIndex).getCoordinates();
+        int n = board.indicesWithin(c.getQ(), c.getR(), range, diskBuffer);
+        for (int i = 0; i < n; i++) {
+            if (!layers.isVisible(playerIndex, diskBuffer[i])) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a unit's vision contribution (e.g., when it is destroyed).
+     * @param unit The unit to remove.
+     */
+    public void removeUnit(Unit unit) {
+        Integer oldCenter = visionCenters.remove(unit);
+        if (oldCenter != null) {
+            applyDisk(unit.getOwner().getPlayerIndex(), oldCenter, unit.getVisionRange(), -1);
+        }
+    }
+
+    // Adds delta to the vision count of every hex within range of center, flipping visibility on 0 <-> 1
+    private void applyDisk(int playerIndex, int center, int range, int delta) {
+        if (board.isLazy()) {
+            applySparseDisk(playerIndex, center, range, delta);
+            return;
+        }
+        int[] counts = countsFor(playerIndex);
+        VisibilityLayers layers = board.getVisibility();
+        int n = fillDisk(center, range);
+        for (int i = 0; i < n; i++) {
+            int index = diskBuffer[i];
+            int before = counts[index];
+            counts[index] = before + delta;
+            if (before == 0 && delta > 0) {
+                layers.setVisible(playerIndex, index, true);
+            } else if (before + delta == 0 && delta < 0) {
+                layers.setVisible(playerIndex, index, false);
+            }
+        }
+    }
+
+    // Collects the indices of the vision disk into diskBuffer
+    private int fillDisk(int center, int range) {
+        if (diskBuffer.length < Board.diskSize(range)) {
+            diskBuffer = new int[Board.diskSize(range)];
+        }
+        AxialCoord c = board.getHexAt(center).getCoordinates();
+        return board.indicesWithin(c.getQ(), c.getR(), range, diskBuffer);
+    }
+
+    private void applySparseDisk(int playerIndex, int center, int range, int delta) {
+        Map<Integer, Integer> counts = sparseCountsFor(playerIndex);
+        VisibilityLayers layers = board.getVisibility();
+        int n = fillDisk(center, range);
+        for (int i = 0; i < n; i++) {
+            int index = diskBuffer[i];
+            Integer after = counts.merge(index, delta, FogOfWar::sumOrRemove);
+            int now = after == null ? 0 : after;
+            if (now - delta == 0 && delta > 0) {
+                layers.setVisible(playerIndex, index, true);
+            } else if (now == 0 && delta < 0) {
+                layers.setVisible(playerIndex, index, false);
+            }
+        }
+    }
+
+    // Drops the entry of a hex no unit sees any more
+    private static Integer sumOrRemove(Integer count, Integer delta) {
+        int sum = count + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private Map<Integer, Integer> sparseCountsFor(int playerIndex) {
+        while (sparseCounts.size() <= playerIndex) {
+            sparseCounts.add(new HashMap<>());
+        }
+        return sparseCounts.get(playerIndex);
+    }
+
+    private int[] countsFor(int playerIndex) {
+        if (playerIndex >= visionCounts.length) {
+            visionCounts = Arrays.copyOf(visionCounts, playerIndex + 1);
+        }
+        int[] counts = visionCounts[playerIndex];
+        if (counts == null || counts.length < board.getIndexSize()) {
+            counts = new int[board.getIndexSize()];
+            visionCounts[playerIndex] = counts;
+        }
+        return counts;
+    }
+
+    /**
+     * Gets how many of a player's units currently see a hex.
+     * @param hex The hex.
+     * @param playerIndex The player's index.
+     * @return The vision count (0 means the hex is fogged for that player).
+     */
+    public int getVisionCount(Hex hex, int playerIndex) {
+        if (board != null && board.isLazy()) {
+            if (hex == null || playerIndex < 0 || playerIndex >= sparseCounts.size()) return 0;
+            return sparseCounts.get(playerIndex).getOrDefault(hex.getIndex(), 0);
+        }
+        if (hex == null || hex.getIndex() < 0 || playerIndex < 0 || playerIndex >= visionCounts.length
+                || visionCounts[playerIndex] == null || hex.getIndex() >= visionCounts[playerIndex].length) {
+            return 0;
+        }
+        return visionCounts[playerIndex][hex.getIndex()];
+    }
+
+    /**
+     * Checks if a hex is visible to the specified player (a single bit test).
      * @param hex The hex to check visibility for.
      * @param playerIndex The player's index.
      * @return True if the hex is visible to the player.
@@ -56,4 +234,4 @@ public class FogOfWar implements Serializable {
     public boolean isVisibleToPlayer(Hex hex, int playerIndex) {
         return hex != null && hex.isVisibleToPlayer(playerIndex);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package com.yourusername.wargame.engine;
 
+import com.yourusername.wargame.CombatOdds;
 import com.yourusername.wargame.CombatResolver;
+import com.yourusername.wargame.MovementRange;
+import com.yourusername.wargame.MovementRangeFinder;
+import com.yourusername.wargame.PathCache;
 import com.yourusername.wargame.PathFinder;
 import com.yourusername.wargame.model.unit.Unit;
 import com.yourusername.wargame.model.terrain.TerrainType;
@@ -15,9 +19,14 @@ import java.util.*;
 public class GameController implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // Number of paths/movement ranges kept across calls (see getPathCache() for hit rates)
+    private static final int PATH_CACHE_CAPACITY = 256;
+
     // --- Core game components ---
     private GameState gameState;
     private final PathFinder pathFinder;
+    private final MovementRangeFinder movementRangeFinder;
+    private final PathCache pathCache;
     private final CombatResolver combatResolver;
     private final FogOfWar fogOfWar;
     
@@ -27,17 +36,38 @@ public class GameController implements Serializable {
     
     // --- Event listeners ---
     private GameEventListener listener;
+    private transient ActionRecorder actionRecorder; // Null when the game is not recorded
+    
+    // --- Undo / redo of the current turn's moves ---
+    private transient UndoHistory undoHistory; // Null until the first action of a game
+
+    // --- AI turns (executor null: run synchronously on the calling thread) ---
+    private transient AiTurnExecutor aiTurnExecutor;
+    private final TurnScheduler turnScheduler = new TurnScheduler(this);
     
-    // --- Random generator ---
-    private final Random random;
+    // --- Randomness: every combat and AI decision draws from its own stream of the master seed ---
+    private RandomStreams randomStreams; // Replaced when a saved game is resumed
+    private long combatCount;      // Combats resolved in the current game
+    private long aiDecisionCount;  // AI random streams handed out in the current game
     
     /**
-     * Constructor that initializes core game components.
+     * Constructor that initializes core game components, with a fresh random seed.
      */
     public GameController() {
-        this.random = new Random();
+        this(new SplittableRandom().nextLong());
+    }
+    
+    /**
+     * Constructor that initializes core game components.
+     * Games played with the same seed and the same actions have the same outcome.
+     * @param seed The master seed of the game's random streams.
+     */
+    public GameController(long seed) {
+        this.randomStreams = new RandomStreams(seed);
         this.pathFinder = new PathFinder();
-        this.combatResolver = new CombatResolver(random);
+        this.movementRangeFinder = new MovementRangeFinder();
+        this.pathCache = new PathCache(PATH_CACHE_CAPACITY, pathFinder, movementRangeFinder);
+        this.combatResolver = new CombatResolver();
         this.fogOfWar = new FogOfWar();
         this.gameRunning = false;
         this.gameState = null;
@@ -53,17 +83,24 @@ public class GameController implements Serializable {
             throw new IllegalArgumentException("GameState cannot be null");
         }
         
-        // Stop any existing game
+        // Stop any existing game, including an AI turn still thinking about it
         this.gameRunning = false;
+        turnScheduler.clear();
+        if (aiTurnExecutor != null) {
+            aiTurnExecutor.cancelAll();
+        }
         
         // Set the new game state
         this.gameState = gameState;
+        this.undoHistory = null;
         this.winner = null;
+        this.combatCount = 0;
+        this.aiDecisionCount = 0;
         
         // Initialize fog of war for player visibility
         fogOfWar.updateVisibility(gameState);
         
-        System.out.println("Game initialized with " + gameState.getPlayers().size() + " players.");
+        GameLog.info(() -> "Game initialized with " + gameState.getPlayers().size() + " players.");
     }
     
     /**
@@ -79,13 +116,58 @@ public class GameController implements Serializable {
         
         // Reset all units for the first turn
         for (Player player : gameState.getPlayers()) {
-            for (Unit unit : player.getActiveUnits()) {
-                unit.startTurn();
+            for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                player.getActiveUnit(i).startTurn();
             }
         }
         
-        System.out.println("Game started. It's " + gameState.getCurrentPlayer().getName() + "'s turn.");
-        
+        GameLog.info(() -> "Game started. It's " + gameState.getCurrentPlayer().getName() + "'s turn.");
+        if (actionRecorder != null) {
+            actionRecorder.onGameStarted(this);
+        }
+        announceCurrentTurn();
+    }
+    
+    /**
+     * Resumes a saved game where it stopped: units keep their hit points, movement and actions
+     * of the current turn, and combats and AI decisions continue on the same random streams,
+     * so the rest of the game plays as it would have without the save.
+     * @param gameState The saved game state.
+     * @param seed The master seed the game was played with.
+     * @param combatCount Combats already resolved in the game.
+     * @param aiDecisionCount AI random streams already handed out in the game.
+     */
+    public synchronized void resumeGame(GameState gameState, long seed, long combatCount, long aiDecisionCount) {
+        initializeGame(gameState);
+        this.randomStreams = new RandomStreams(seed);
+        this.combatCount = combatCount;
+        this.aiDecisionCount = aiDecisionCount;
+        this.gameRunning = true;
+        
+        GameLog.info(() -> "Game resumed on turn " + gameState.getCurrentTurnNumber() + ". It's "
+                + gameState.getCurrentPlayer().getName() + "'s turn.");
+        if (actionRecorder != null) {
+            actionRecorder.onGameStarted(this);
+        }
+        announceCurrentTurn();
+    }
+    
+    /**
+     * @return The number of combats resolved in the current game (the index of the next combat stream).
+     */
+    public synchronized long getCombatCount() {
+        return combatCount;
+    }
+    
+    /**
+     * @return The number of AI random streams handed out in the current game.
+     */
+    public synchronized long getAiDecisionCount() {
+        return aiDecisionCount;
+    }
+    
+    // Tells the listener whose turn it is, and hands the turn to the scheduler if that player is an AI
+    private void announceCurrentTurn() {
         // Notify UI and other listeners about initial state
         if (listener != null) {
             listener.onGameStateUpdate(gameState);
@@ -95,8 +177,8 @@ public class GameController implements Serializable {
         // If first player is AI, trigger its turn immediately
         Player firstPlayer = gameState.getCurrentPlayer();
         if (firstPlayer.isAi()) {
-            System.out.println("First player is AI, triggering turn automatically.");
-            ((AiPlayer) firstPlayer).performTurn(this);
+            GameLog.info("First player is AI, triggering turn automatically.");
+            dispatchAiTurn(firstPlayer);
         }
     }
 
@@ -108,6 +190,108 @@ public class GameController implements Serializable {
         this.listener = listener;
     }
 
+    /**
+     * Set the recorder that receives every accepted action (see {@link ActionRecorder}),
+     * replacing any recorders added before.
+     * Set it before {@link #startGame()} or {@link #resumeGame}, so that it sees the starting state.
+     * @param actionRecorder The recorder, or null to stop recording.
+     */
+    public synchronized void setActionRecorder(ActionRecorder actionRecorder) {
+        this.actionRecorder = actionRecorder;
+    }
+    
+    /**
+     * Add a recorder next to those already set, e.g. an autosave alongside an action journal.
+     * Recorders are called in the order they were added.
+     * @param recorder The recorder to add.
+     */
+    public synchronized void addActionRecorder(ActionRecorder recorder) {
+        Objects.requireNonNull(recorder, "Recorder cannot be null");
+        this.actionRecorder = CompositeActionRecorder.with(actionRecorder, recorder);
+    }
+    
+    /**
+     * Remove a recorder added with {@link #addActionRecorder} or {@link #setActionRecorder}.
+     * @param recorder The recorder to remove; others keep recording.
+     */
+    public synchronized void removeActionRecorder(ActionRecorder recorder) {
+        this.actionRecorder = CompositeActionRecorder.without(actionRecorder, recorder);
+    }
+    
+    /**
+     * Set the executor that runs AI turns in the background.
+     * Without one, AI turns run synchronously inside the outermost startGame() or endTurn() call (headless play).
+     * @param aiTurnExecutor The executor to use, or null to run AI turns synchronously.
+     */
+    public void setAiTurnExecutor(AiTurnExecutor aiTurnExecutor) {
+        this.aiTurnExecutor = aiTurnExecutor;
+    }
+
+    public AiTurnExecutor getAiTurnExecutor() {
+        return aiTurnExecutor;
+    }
+
+    /**
+     * Get the scheduler that runs AI turns, to pause, step or fast-forward them.
+     * @return The turn scheduler.
+     */
+    public TurnScheduler getTurnScheduler() {
+        return turnScheduler;
+    }
+
+    // Hands an AI turn to the scheduler: never nested inside the turn that just ended
+    private void dispatchAiTurn(Player player) {
+        turnScheduler.schedule(player);
+    }
+
+    /**
+     * Tells an AI player whether it should stop thinking, because its turn was cancelled
+     * (new game) or has reached the executor's hard deadline.
+     * The player should then play its best action found so far, if any, and end its turn.
+     * @param player The AI player asking.
+     * @return True if the player should stop; always false without an executor.
+     */
+    public boolean shouldStopThinking(Player player) {
+        return aiTurnExecutor != null && aiTurnExecutor.shouldStop(player);
+    }
+
+    /**
+     * Gets the hard deadline of an AI player's current turn.
+     * @param player The AI player asking.
+     * @return The deadline as a {@link System#nanoTime()} value, or Long.MAX_VALUE if there is none.
+     */
+    public long getThinkingDeadline(Player player) {
+        return aiTurnExecutor == null ? Long.MAX_VALUE : aiTurnExecutor.getDeadlineNanos(player);
+    }
+
+    /**
+     * Lets an AI player report what it is doing, for progress display.
+     * @param player The AI player.
+     * @param status A short description, e.g. the decision being searched.
+     */
+    public void reportAiProgress(Player player, String status) {
+        if (aiTurnExecutor != null) {
+            aiTurnExecutor.reportProgress(player, status);
+        }
+    }
+
+    /**
+     * Get the random streams of this controller (reproducible from their master seed).
+     * @return The random streams.
+     */
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    /**
+     * Gives an AI player the random stream of its next decision, so that its choices can be
+     * reproduced from the master seed. Split it for parallel workers.
+     * @return A new generator, distinct for every call within a game.
+     */
+    public synchronized SplittableRandom newAiRandom() {
+        return randomStreams.stream(RandomStreams.AI, aiDecisionCount++);
+    }
+
     /**
      * Process a move request from a player.
      * @param player The player requesting the move.
@@ -116,29 +300,34 @@ public class GameController implements Serializable {
      * @return True if the move was successful, false otherwise.
      */
     public synchronized boolean requestMove(Player player, Unit unit, List<AxialCoord> path) {
+        return performMove(player, unit, path, false);
+    }
+    
+    // Validates and makes a move; a redone move keeps the rest of the redo list
+    private boolean performMove(Player player, Unit unit, List<AxialCoord> path, boolean redo) {
         // Validate game state & prerequisites
         if (!gameRunning || gameState == null) {
-            System.err.println("Game not running.");
+            GameLog.error("Game not running.");
             return false;
         }
         
         if (player != gameState.getCurrentPlayer()) {
-            System.err.println("Not " + player.getName() + "'s turn.");
+            GameLog.error(() -> "Not " + player.getName() + "'s turn.");
             return false;
         }
         
         if (unit == null || unit.getOwner() != player) {
-            System.err.println("Unit is null or does not belong to player.");
+            GameLog.error("Unit is null or does not belong to player.");
             return false;
         }
         
         if (path == null || path.isEmpty()) {
-            System.err.println("Path is empty or null.");
+            GameLog.error("Path is empty or null.");
             return false;
         }
         
         if (unit.hasMovedThisTurn()) {
-            System.err.println("Unit already moved this turn.");
+            GameLog.error("Unit already moved this turn.");
             return false;
         }
         
@@ -146,36 +335,38 @@ public class GameController implements Serializable {
         AxialCoord destination = path.get(path.size() - 1);
         Hex destinationHex = gameState.getBoard().getHex(destination);
         if (destinationHex == null || !destinationHex.isAccessible() || destinationHex.isOccupied()) {
-            System.err.println("Destination hex is invalid or occupied.");
+            GameLog.error("Destination hex is invalid or occupied.");
             return false;
         }
         
-        // Calculate total path cost
-        int totalCost = 0;
-        AxialCoord from = unit.getPosition();
-        for (AxialCoord to : path) {
-            Hex hex = gameState.getBoard().getHex(to);
-            if (hex != null) {
-                totalCost += gameState.getBoard().getMovementCost(hex, unit);
-            }
-            from = to;
-        }
-        
-        // Check if unit has enough movement points
-        if (totalCost > unit.getCurrentMovementPoints()) {
-            System.err.println("Not enough movement points. Cost: " + totalCost + 
-                               ", Available: " + unit.getCurrentMovementPoints());
+        // Validate against the unit's movement range (cheapest route cost to the destination)
+        MovementRange range = pathCache.findReachable(unit, gameState.getBoard());
+        if (!range.canReach(destination)) {
+            GameLog.error(() -> "Destination " + destination + " is out of movement range. Available: "
+                               + unit.getCurrentMovementPoints());
             return false;
         }
-        
-        // Perform the move
-        if (gameState.getBoard().moveUnit(unit, destination)) {
-            // Update unit state
-            unit.spendMovementPoints(totalCost);
-            unit.setHasMovedThisTurn(true);
+        int totalCost = range.getCost(destination);
+        int fromIndex = hexIndexOf(unit);
+        // Taking back a move that lifted fog would let the player scout for free
+        boolean reveals = fogOfWar.wouldReveal(unit, destinationHex.getIndex(), gameState.getBoard());
+        
+        // Perform the move: spends the movement points, marks the unit as moved and updates
+        // its vision (only its old and new vision disks), recording what changed for undo
+        UndoHistory history = undoHistory();
+        if (history.getStack().makeMove(unit, destinationHex.getIndex(), totalCost)) {
+            if (reveals) {
+                history.clear();
+            } else {
+                history.recorded(UndoHistory.Move.of(unit, destination));
+                if (!redo) {
+                    history.clearRedo();
+                }
+            }
             
-            // Update visibility after moving
-            fogOfWar.updateVisibility(gameState);
+            if (actionRecorder != null) {
+                actionRecorder.onMove(this, fromIndex, destinationHex.getIndex());
+            }
             
             // Notify listeners
             if (listener != null) {
@@ -183,7 +374,7 @@ public class GameController implements Serializable {
                 listener.onGameStateUpdate(gameState);
             }
             
-            System.out.println("Unit " + unit.getTypeName() + " moved to " + destination);
+            GameLog.info(() -> "Unit " + unit.getTypeName() + " moved to " + destination);
             return true;
         }
         
@@ -204,39 +395,50 @@ public class GameController implements Serializable {
             return Collections.emptyList();
         }
         
-        List<AxialCoord> possibleMoves = new ArrayList<>();
-        Board board = gameState.getBoard();
-        AxialCoord unitPos = unit.getPosition();
-        
-        // Check all hexes within unit's movement range
-        for (Hex hex : board.getAllHexes()) {
-            AxialCoord coord = hex.getCoordinates();
-            
-            // Skip current position and occupied hexes
-            if (coord.equals(unitPos) || hex.isOccupied() || !hex.isAccessible()) {
-                continue;
-            }
-            
-            // Find path to this coordinate
-            List<AxialCoord> path = pathFinder.findPath(unit, unitPos, coord, board);
-            if (!path.isEmpty()) {
-                // Calculate path cost
-                int cost = 0;
-                AxialCoord from = unitPos;
-                for (AxialCoord step : path) {
-                    Hex stepHex = board.getHex(step);
-                    cost += board.getMovementCost(stepHex, unit);
-                    from = step;
-                }
-                
-                // If path is within unit's movement range, add to possible moves
-                if (cost <= unit.getCurrentMovementPoints()) {
-                    possibleMoves.add(coord);
-                }
-            }
+        // One bounded flood from the unit's position covers every reachable hex
+        return findMovementRange(unit).getReachableCoords();
+    }
+    
+    /**
+     * Computes the exact odds of an attack (damage, kill chance, counter-attack) without performing it.
+     * Range and turn rules are not checked: this is a preview for the AI and the UI.
+     * @param attacker The attacking unit.
+     * @param defender The defending unit, on the board.
+     * @return The memoized odds of the attack.
+     */
+    public CombatOdds computeCombatOdds(Unit attacker, Unit defender) {
+        TerrainType defenderTerrain = gameState.getBoard().getHex(defender.getPosition()).getTerrainType();
+        return combatResolver.computeOdds(attacker, defender, defenderTerrain);
+    }
+    
+    /**
+     * Computes the movement range of a unit (reachable hexes with cost and predecessor).
+     * @param unit The unit to compute the range for.
+     * @return The unit's movement range from its current position.
+     */
+    public MovementRange findMovementRange(Unit unit) {
+        return pathCache.findReachable(unit, gameState.getBoard());
+    }
+    
+    /**
+     * Finds the lowest-cost path for a unit from its current position (cached per board version).
+     * @param unit The unit moving.
+     * @param destination The target coordinate.
+     * @return The path (excluding start, including destination), or an empty list if none.
+     */
+    public List<AxialCoord> findPath(Unit unit, AxialCoord destination) {
+        if (gameState == null || unit == null || destination == null) {
+            return Collections.emptyList();
         }
-        
-        return possibleMoves;
+        return pathCache.findPath(unit, destination, gameState.getBoard());
+    }
+    
+    /**
+     * Gets the path/movement-range cache, e.g. to read its hit and miss counters.
+     * @return The cache.
+     */
+    public PathCache getPathCache() {
+        return pathCache;
     }
     
     /**
@@ -255,29 +457,28 @@ public class GameController implements Serializable {
         
         List<AxialCoord> possibleAttacks = new ArrayList<>();
         Board board = gameState.getBoard();
-        AxialCoord unitPos = unit.getPosition();
         Player currentPlayer = gameState.getCurrentPlayer();
         
-        // Check all hexes within unit's attack range
-        for (Hex hex : board.getAllHexes()) {
-            AxialCoord coord = hex.getCoordinates();
-            
-            // Skip empty hexes and friendly units
-            if (!hex.isOccupied()) continue;
-            
-            Unit targetUnit = hex.getUnit();
-            if (targetUnit.getOwner() == currentPlayer) continue;
-            
-            // Check if within attack range
-            int distance = unitPos.distanceTo(coord);
-            if (distance <= unit.getAttackRange()) {
-                possibleAttacks.add(coord);
-            }
+        // Only the map cells around the unit are visited, not the whole board
+        for (Unit targetUnit : board.getSpatialIndex().unitsWithin(unit.getPosition(), unit.getAttackRange(),
+                u -> u.getOwner() != currentPlayer)) {
+            possibleAttacks.add(targetUnit.getPosition());
         }
         
         return possibleAttacks;
     }
     
+    /**
+     * Creates a make/unmake action stack over the current game state and fog of war,
+     * for AI search that explores actions in place.
+     * Every action made through it must be unmade before the game continues.
+     * @return A new action stack, or null if no game is loaded.
+     */
+    public ActionStack createActionStack() {
+        if (gameState == null) return null;
+        return new ActionStack(gameState, fogOfWar);
+    }
+    
     /**
      * Process an attack request from a player.
      * @param player The player requesting the attack.
@@ -288,34 +489,34 @@ public class GameController implements Serializable {
     public synchronized boolean requestAttack(Player player, Unit attacker, Unit defender) {
         // Validate game state & prerequisites
         if (!gameRunning || gameState == null) {
-            System.err.println("Game not running.");
+            GameLog.error("Game not running.");
             return false;
         }
         
         if (player != gameState.getCurrentPlayer()) {
-            System.err.println("Not " + player.getName() + "'s turn.");
+            GameLog.error(() -> "Not " + player.getName() + "'s turn.");
             return false;
         }
         
         if (attacker == null || attacker.getOwner() != player) {
-            System.err.println("Attacker is null or does not belong to player.");
+            GameLog.error("Attacker is null or does not belong to player.");
             return false;
         }
         
         if (defender == null || defender.getOwner() == player) {
-            System.err.println("Cannot attack your own units.");
+            GameLog.error("Cannot attack your own units.");
             return false;
         }
         
         if (attacker.hasAttackedThisTurn()) {
-            System.err.println("Unit already attacked this turn.");
+            GameLog.error("Unit already attacked this turn.");
             return false;
         }
         
         // Check range
         int distance = attacker.getPosition().distanceTo(defender.getPosition());
         if (distance > attacker.getAttackRange()) {
-            System.err.println("Target out of range. Range: " + attacker.getAttackRange() + 
+            GameLog.error(() -> "Target out of range. Range: " + attacker.getAttackRange() + 
                               ", Distance: " + distance);
             return false;
         }
@@ -323,26 +524,39 @@ public class GameController implements Serializable {
         // Get defender's terrain for defense calculations
         TerrainType defenderTerrain = gameState.getBoard().getHex(defender.getPosition()).getTerrainType();
         
+        int attackerIndex = hexIndexOf(attacker);
+        int defenderIndex = hexIndexOf(defender);
+        
         // Perform attack
-        System.out.println("Attacking " + defender.getTypeName() + " with " + attacker.getTypeName());
-        boolean defenderDestroyed = combatResolver.resolveCombat(attacker, defender, defenderTerrain, gameState);
+        GameLog.info(() -> "Attacking " + defender.getTypeName() + " with " + attacker.getTypeName());
+        long combatIndex = combatCount++;
+        SplittableRandom rolls = randomStreams.stream(RandomStreams.COMBAT, combatIndex);
+        
+        // Resolve the combat: marks the attacker as having acted, removes destroyed units from the
+        // board and their owner and updates their vision. Taking it back would show the roll and let
+        // the player attack again on the next one, so it commits the turn so far
+        UndoHistory history = undoHistory();
+        boolean defenderDestroyed = history.getStack().makeAttack(attacker, defender, combatResolver, rolls);
+        history.clear();
+        if (defenderDestroyed) {
+            GameLog.info(() -> "Unit destroyed: " + defender.getTypeName());
+        }
         
-        // Mark attacker as having attacked
-        attacker.setHasAttackedThisTurn(true);
-        attacker.setHasMovedThisTurn(true); // Can't move after attacking
+        // The attacker can also fall to the counter-attack
+        boolean attackerDestroyed = attacker.getCurrentHitPoints() <= 0;
+        if (attackerDestroyed) {
+            GameLog.info(() -> "Unit destroyed by counter-attack: " + attacker.getTypeName());
+        }
         
-        // If defender was destroyed, remove from board
-        if (defenderDestroyed) {
-            gameState.getBoard().removeUnit(defender);
-            defender.getOwner().removeUnit(defender);
-            System.out.println("Unit destroyed: " + defender.getTypeName());
-            
-            // Check if this attack caused a victory
-            checkVictoryConditions();
+        // Recorded before the victory check, whose game-over notification may stop the recording
+        if (actionRecorder != null) {
+            actionRecorder.onAttack(this, attackerIndex, defenderIndex);
         }
         
-        // Update fog of war
-        fogOfWar.updateVisibility(gameState);
+        // Check if this attack caused a victory
+        if (defenderDestroyed || attackerDestroyed) {
+            checkVictoryConditions();
+        }
         
         // Notify listeners
         if (listener != null) {
@@ -355,6 +569,83 @@ public class GameController implements Serializable {
         return true;
     }
     
+    // --- Undo / redo ---
+    
+    // The history of the current game, created on its first action
+    private UndoHistory undoHistory() {
+        if (undoHistory == null) {
+            undoHistory = new UndoHistory(gameState, fogOfWar);
+        }
+        return undoHistory;
+    }
+    
+    /**
+     * Check if a player can take back a move: only the current player, and only the moves of the
+     * current turn made since its last attack that showed no fogged hex, while the game is running.
+     * @param player The player asking.
+     * @return True if {@link #undo} would succeed.
+     */
+    public synchronized boolean canUndo(Player player) {
+        return isGameRunning() && player == gameState.getCurrentPlayer()
+                && undoHistory != null && undoHistory.canUndo();
+    }
+    
+    /**
+     * Check if a player can play again a move it took back.
+     * @param player The player asking.
+     * @return True if {@link #redo} would succeed.
+     */
+    public synchronized boolean canRedo(Player player) {
+        return isGameRunning() && player == gameState.getCurrentPlayer()
+                && undoHistory != null && undoHistory.canRedo();
+    }
+    
+    /**
+     * Takes back the current player's latest move of this turn. Attacks and moves that revealed
+     * fogged hexes cannot be taken back, nor can the moves made before them: undo never shows a
+     * combat roll or an enemy position and then hides it again. Units, board occupancy, unit list
+     * orders and fog return exactly to their state before the move.
+     * @param player The player taking back the move.
+     * @return True if a move was undone.
+     */
+    public synchronized boolean undo(Player player) {
+        if (!canUndo(player)) {
+            GameLog.error("Nothing to undo.");
+            return false;
+        }
+        UndoHistory.Move move = undoHistory.undo();
+        GameLog.info(() -> "Undid move of " + move.unit.getTypeName());
+        
+        if (actionRecorder != null) {
+            actionRecorder.onUndo(this);
+        }
+        
+        if (listener != null) {
+            listener.onUnitAction(move.unit, "undo");
+            listener.onGameStateUpdate(gameState);
+        }
+        return true;
+    }
+    
+    /**
+     * Plays again the latest move taken back by {@link #undo}. Any new move or attack drops
+     * the moves left to redo.
+     * @param player The player redoing the move.
+     * @return True if a move was redone.
+     */
+    public synchronized boolean redo(Player player) {
+        if (!canRedo(player)) {
+            GameLog.error("Nothing to redo.");
+            return false;
+        }
+        UndoHistory.Move move = undoHistory.takeRedo();
+        boolean redone = performMove(player, move.unit, Collections.singletonList(move.destination), true);
+        if (!redone) {
+            undoHistory.clearRedo(); // The game no longer matches the remaining moves
+        }
+        return redone;
+    }
+    
     /**
      * End the current player's turn and advance to the next.
      * @param player The player ending their turn.
@@ -366,21 +657,30 @@ public class GameController implements Serializable {
         }
         
         if (player != gameState.getCurrentPlayer()) {
-            System.err.println("Not " + player.getName() + "'s turn, cannot end turn.");
+            GameLog.error(() -> "Not " + player.getName() + "'s turn, cannot end turn.");
             return false;
         }
         
+        // The turn's actions can no longer be undone
+        if (undoHistory != null) {
+            undoHistory.clear();
+        }
+        
         // Advance to next player
         Player nextPlayer = gameState.advanceTurn();
-        System.out.println("Turn ended. Next player: " + nextPlayer.getName());
+        GameLog.info(() -> "Turn ended. Next player: " + nextPlayer.getName());
         
         // Reset all units for the next player
-        for (Unit unit : nextPlayer.getActiveUnits()) {
-            unit.startTurn();
+        for (int i = 0; i < nextPlayer.getActiveUnitCount(); i++) {
+            nextPlayer.getActiveUnit(i).startTurn();
         }
         
-        // Update visibility for the new player
-        fogOfWar.updateVisibility(gameState);
+        // No visibility update needed: nothing moved, and vision is tracked per player
+        
+        // Recorded before the victory check, whose game-over notification may stop the recording
+        if (actionRecorder != null) {
+            actionRecorder.onEndTurn(this);
+        }
         
         // Check if any victory conditions are met
         checkVictoryConditions();
@@ -393,12 +693,18 @@ public class GameController implements Serializable {
         
         // If the next player is AI, handle their turn
         if (gameRunning && nextPlayer.isAi()) {
-            ((AiPlayer) nextPlayer).performTurn(this);
+            dispatchAiTurn(nextPlayer);
         }
         
         return true;
     }
     
+    // Dense index of the hex a unit stands on
+    private int hexIndexOf(Unit unit) {
+        AxialCoord position = unit.getPosition();
+        return gameState.getBoard().indexOf(position.getQ(), position.getR());
+    }
+    
     /**
      * Check if any victory conditions have been met.
      */
@@ -418,7 +724,7 @@ public class GameController implements Serializable {
             }
             
             // Also check if the player has no units left (defeat condition)
-            if (player.getActiveUnits().isEmpty()) {
+            if (!player.hasActiveUnits()) {
                 Player opponent = gameState.getOpponent(player);
                 if (opponent != null) {
                     declareWinner(opponent);
@@ -438,7 +744,7 @@ public class GameController implements Serializable {
         this.winner = winningPlayer;
         this.gameRunning = false;
         
-        System.out.println("Game over! Winner: " + winningPlayer.getName());
+        GameLog.info(() -> "Game over! Winner: " + winningPlayer.getName());
         
         // Notify listeners
         if (listener != null) {
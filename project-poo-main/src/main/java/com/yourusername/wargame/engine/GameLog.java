@@ -0,0 +1,121 @@
+package com.yourusername.wargame.engine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Destination of the game's log messages (actions, combat reports, AI decisions, rejected requests).
+ *
+ * Messages go to the console by default. The sink can be replaced for the whole application
+ * ({@link #setSink}) or for the current thread only ({@link #setThreadSink}), e.g. to silence the
+ * games played by {@link HeadlessEngine} while other threads keep logging.
+ * Messages built by concatenation are passed as suppliers, so a silenced game does not build them at all.
+ */
+public final class GameLog {
+
+    /**
+     * Receives log messages.
+     */
+    public interface Sink {
+        void info(String message);
+
+        void error(String message);
+    }
+
+    /** Prints messages to standard output and errors to standard error. */
+    public static final Sink CONSOLE = new Sink() {
+        @Override
+        public void info(String message) {
+            System.out.println(message);
+        }
+
+        @Override
+        public void error(String message) {
+            System.err.println(message);
+        }
+    };
+
+    /** Discards everything. */
+    public static final Sink SILENT = new Sink() {
+        @Override
+        public void info(String message) {
+        }
+
+        @Override
+        public void error(String message) {
+        }
+    };
+
+    private static volatile Sink globalSink = CONSOLE;
+    private static final ThreadLocal<Sink> threadSink = new ThreadLocal<>();
+
+    private GameLog() {
+        // Static helpers only
+    }
+
+    /**
+     * Sets the sink used by every thread that has no sink of its own.
+     * @param sink The new sink.
+     */
+    public static void setSink(Sink sink) {
+        globalSink = Objects.requireNonNull(sink, "Sink cannot be null");
+    }
+
+    /**
+     * Sets the sink of the current thread, overriding the global one.
+     * @param sink The sink, or null to go back to the global sink.
+     * @return The thread's previous sink (null if it had none), to restore afterwards.
+     */
+    public static Sink setThreadSink(Sink sink) {
+        Sink previous = threadSink.get();
+        if (sink == null) {
+            threadSink.remove();
+        } else {
+            threadSink.set(sink);
+        }
+        return previous;
+    }
+
+    private static Sink sink() {
+        Sink sink = threadSink.get();
+        return sink != null ? sink : globalSink;
+    }
+
+    /**
+     * @return False if messages logged by the current thread are discarded.
+     */
+    public static boolean isEnabled() {
+        return sink() != SILENT;
+    }
+
+    public static void info(String message) {
+        sink().info(message);
+    }
+
+    public static void info(Supplier<String> message) {
+        Sink sink = sink();
+        if (sink != SILENT) sink.info(message.get());
+    }
+
+    public static void error(String message) {
+        sink().error(message);
+    }
+
+    public static void error(Supplier<String> message) {
+        Sink sink = sink();
+        if (sink != SILENT) sink.error(message.get());
+    }
+
+    /**
+     * Logs an error with the stack trace of its cause, appended to the message.
+     */
+    public static void error(String message, Throwable cause) {
+        Sink sink = sink();
+        if (sink == SILENT) return;
+        StringWriter trace = new StringWriter();
+        cause.printStackTrace(new PrintWriter(trace));
+        sink.error(message + System.lineSeparator() + trace);
+    }
+}
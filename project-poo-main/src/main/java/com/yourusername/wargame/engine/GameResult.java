@@ -0,0 +1,99 @@
+package com.yourusername.wargame.engine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Outcome of a game played by {@link HeadlessEngine}: who won, after how many turns,
+ * and what each side had left. Holds no reference to the game itself.
+ */
+public final class GameResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How the game ended.
+     */
+    public enum Ending {
+        VICTORY,    // A player met a victory condition
+        TURN_LIMIT  // Nobody won within the turn limit: a draw
+    }
+
+    private final String scenarioName;
+    private final long seed;
+    private final Ending ending;
+    private final int winnerIndex; // -1 for a draw
+    private final int turns;
+    private final int[] unitsLeft;
+    private final int[] hitPointsLeft;
+    private final long elapsedNanos;
+
+    GameResult(String scenarioName, long seed, Ending ending, int winnerIndex, int turns,
+               int[] unitsLeft, int[] hitPointsLeft, long elapsedNanos) {
+        this.scenarioName = scenarioName;
+        this.seed = seed;
+        this.ending = ending;
+        this.winnerIndex = winnerIndex;
+        this.turns = turns;
+        this.unitsLeft = unitsLeft;
+        this.hitPointsLeft = hitPointsLeft;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    /**
+     * @return The master seed the game was played with, to replay it.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public Ending getEnding() {
+        return ending;
+    }
+
+    /**
+     * @return The winner's player index, or -1 for a draw.
+     */
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public boolean isDraw() {
+        return winnerIndex < 0;
+    }
+
+    /**
+     * @return The turn number the game ended on.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getUnitsLeft(int playerIndex) {
+        return unitsLeft[playerIndex];
+    }
+
+    public int getHitPointsLeft(int playerIndex) {
+        return hitPointsLeft[playerIndex];
+    }
+
+    /**
+     * @return The wall-clock time spent playing, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult[" + scenarioName + ", seed=" + seed + ", " + ending
+                + (isDraw() ? "" : ", winner=" + winnerIndex)
+                + ", turns=" + turns
+                + ", units=" + Arrays.toString(unitsLeft)
+                + ", hp=" + Arrays.toString(hitPointsLeft)
+                + ", " + elapsedNanos / 1000 + " us]";
+    }
+}
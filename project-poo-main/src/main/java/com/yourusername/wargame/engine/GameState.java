@@ -1,7 +1,10 @@
 package com.yourusername.wargame.engine;
 
+import com.yourusername.wargame.model.unit.Unit;
+
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Holds the current state of the game.
@@ -65,6 +68,26 @@ public class GameState implements Serializable {
         return players.get(currentPlayerIndex);
     }
     
+    /**
+     * @return The index of the current player in the players list.
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+    
+    /**
+     * Puts the turn counters back to given values (undo of advanceTurn, loading a save).
+     * @param currentPlayerIndex The index of the player whose turn it is.
+     * @param turnNumber The turn number.
+     */
+    public void restoreTurn(int currentPlayerIndex, int turnNumber) {
+        if (currentPlayerIndex < 0 || currentPlayerIndex >= players.size() || turnNumber < 1) {
+            throw new IllegalArgumentException("Invalid turn: player " + currentPlayerIndex + ", turn " + turnNumber);
+        }
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.turnNumber = turnNumber;
+    }
+    
     /**
      * Gets the opponent of the specified player.
      * Currently assumes 2 players only.
@@ -113,14 +136,56 @@ public class GameState implements Serializable {
         return victoryConditions.getOrDefault(player, Collections.emptyList());
     }
     
+    // Copy constructor used by deepCopy; takes ownership of the given collections
+    private GameState(GameState source, Board board, List<Player> players,
+                      Map<Player, List<VictoryCondition>> victoryConditions) {
+        this.board = board;
+        this.players = players;
+        this.victoryConditions = victoryConditions;
+        this.currentPlayerIndex = source.currentPlayerIndex;
+        this.turnNumber = source.turnNumber;
+    }
+    
     /**
      * Creates a deep copy of this game state.
      * Useful for AI calculations or undo functionality.
+     * Players, units, hexes and visibility are duplicated; terrain, unit types, coordinates
+     * and the board geometry are immutable and shared. Unit copies keep their ids, and every
+     * unit list keeps its order, so the copy behaves exactly like the original.
+     * No serialization is involved: the cost is linear in the number of hexes and units.
      * @return A deep copy of this game state.
      */
     public GameState deepCopy() {
-        // Note: This is a placeholder implementation that would need to be expanded
-        // to properly deep copy all mutable objects (board, players, etc.)
-        throw new UnsupportedOperationException("Deep copy not implemented yet");
+        // Player shells first, so that unit copies can point to their new owner
+        Map<Player, Player> playerMapping = new IdentityHashMap<>();
+        for (Player player : players) {
+            playerMapping.put(player, player.copyWithoutUnits());
+        }
+        Function<Unit, Unit> unitCopier = unit -> unit.copyFor(playerMapping.get(unit.getOwner()));
+        
+        // Units on the board are copied with their hexes and found again by position
+        Board boardCopy = new Board(board, unitCopier);
+        Map<Unit, Unit> offBoardCopies = new IdentityHashMap<>(); // Units a player owns but that are not placed
+        Function<Unit, Unit> unitMapper = unit -> {
+            Unit copy = boardCopy.copyOf(board, unit);
+            return copy != null ? copy : offBoardCopies.computeIfAbsent(unit, unitCopier);
+        };
+        
+        List<Player> playersCopy = new ArrayList<>(players.size());
+        for (Player player : players) {
+            playersCopy.add(player.copyWith(unitMapper, playerMapping.get(player)));
+        }
+        
+        Map<Player, List<VictoryCondition>> conditionsCopy = new HashMap<>();
+        for (Map.Entry<Player, List<VictoryCondition>> entry : victoryConditions.entrySet()) {
+            List<VictoryCondition> conditions = new ArrayList<>(entry.getValue().size());
+            for (VictoryCondition condition : entry.getValue()) {
+                conditions.add(condition.copyFor(playerMapping));
+            }
+            Player key = playerMapping.getOrDefault(entry.getKey(), entry.getKey());
+            conditionsCopy.put(key, conditions);
+        }
+        
+        return new GameState(this, boardCopy, playersCopy, conditionsCopy);
     }
 }
@@ -0,0 +1,162 @@
+package com.yourusername.wargame.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete games without a user interface, for balance testing and automated checks.
+ *
+ * Each game is built from a {@link Scenario}, played by AI players only, and summarized in a
+ * {@link GameResult}. Games run synchronously on the calling thread, one turn at a time through the
+ * controller's {@link TurnScheduler}, with the thread's {@link GameLog} silenced. Nothing from the
+ * Swing UI is involved, so separate threads can play separate games at the same time.
+ */
+public final class HeadlessEngine {
+
+    public static final int DEFAULT_MAX_TURNS = 200;
+
+    private final int maxTurns;
+
+    public HeadlessEngine() {
+        this(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Creates an engine.
+     * @param maxTurns Turn number after which an undecided game is stopped and counted as a draw.
+     */
+    public HeadlessEngine(int maxTurns) {
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Turn limit must be positive.");
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    /**
+     * Plays a scenario with its default players.
+     * @param scenario The scenario to play; both its default players must be AI players.
+     * @return The result of the game.
+     */
+    public GameResult play(Scenario scenario) {
+        return play(scenario, null);
+    }
+
+    /**
+     * Plays a scenario to completion (or to the turn limit).
+     * @param scenario The scenario to play.
+     * @param playerFactories One factory per side, creating AI players (null keeps the scenario's defaults).
+     * @return The result of the game.
+     * @throws IllegalArgumentException if a side is not played by an AI.
+     */
+    public GameResult play(Scenario scenario, List<Scenario.PlayerFactory> playerFactories) {
+        return play(scenario, playerFactories, null);
+    }
+
+    /**
+     * Plays a scenario to completion (or to the turn limit), reporting the game's events.
+     * @param scenario The scenario to play.
+     * @param playerFactories One factory per side, creating AI players (null keeps the scenario's defaults).
+     * @param listener Notified of the game's events on the calling thread (e.g. to time decisions), or null.
+     * @return The result of the game.
+     * @throws IllegalArgumentException if a side is not played by an AI.
+     */
+    public GameResult play(Scenario scenario, List<Scenario.PlayerFactory> playerFactories,
+                           GameController.GameEventListener listener) {
+        return play(scenario, playerFactories, listener, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Plays a scenario to completion (or to the turn limit) from a given random seed.
+     * The same scenario, players and seed give the same game, on any thread, as long as the
+     * players' decisions do not depend on timing (see {@link MctsAiPlayer} and {@link AlphaBetaAiPlayer}).
+     * @param scenario The scenario to play.
+     * @param playerFactories One factory per side, creating AI players (null keeps the scenario's defaults).
+     * @param listener Notified of the game's events on the calling thread, or null.
+     * @param seed The master seed of the game's random streams (see {@link RandomStreams}).
+     * @return The result of the game.
+     * @throws IllegalArgumentException if a side is not played by an AI.
+     */
+    public GameResult play(Scenario scenario, List<Scenario.PlayerFactory> playerFactories,
+                           GameController.GameEventListener listener, long seed) {
+        GameLog.Sink previousSink = GameLog.setThreadSink(GameLog.SILENT);
+        try {
+            long start = System.nanoTime();
+            GameState gameState = scenario.createGameState(playerFactories);
+            for (Player player : gameState.getPlayers()) {
+                if (!player.isAi()) {
+                    throw new IllegalArgumentException("Headless games need AI players only: " + player.getName());
+                }
+            }
+
+            GameController controller = new GameController(seed);
+            controller.setGameEventListener(listener);
+            TurnScheduler scheduler = controller.getTurnScheduler();
+            scheduler.pause(); // One turn per step, so the turn limit is checked between turns
+            controller.initializeGame(gameState);
+            controller.startGame();
+            while (controller.isGameRunning() && gameState.getCurrentTurnNumber() <= maxTurns
+                    && scheduler.getPendingTurns() > 0) {
+                scheduler.step();
+            }
+            return summarize(scenario, seed, gameState, controller.getWinner(), System.nanoTime() - start);
+        } finally {
+            GameLog.setThreadSink(previousSink);
+        }
+    }
+
+    private GameResult summarize(Scenario scenario, long seed, GameState gameState, Player winner, long elapsedNanos) {
+        List<Player> players = gameState.getPlayers();
+        int[] unitsLeft = new int[players.size()];
+        int[] hitPointsLeft = new int[players.size()];
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            unitsLeft[p] = player.getActiveUnitCount();
+            for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                hitPointsLeft[p] += player.getActiveUnit(i).getCurrentHitPoints();
+            }
+        }
+        return new GameResult(scenario.getName(), seed,
+                winner != null ? GameResult.Ending.VICTORY : GameResult.Ending.TURN_LIMIT,
+                winner != null ? players.indexOf(winner) : -1,
+                Math.min(gameState.getCurrentTurnNumber(), maxTurns),
+                unitsLeft, hitPointsLeft, elapsedNanos);
+    }
+
+    /**
+     * Plays the default skirmish with the basic AI on both sides and prints a summary.
+     * Arguments: [games] [maxTurns] [seed].
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        HeadlessEngine engine = new HeadlessEngine(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TURNS);
+        List<Scenario.PlayerFactory> players = Arrays.asList(AiPlayer::new, AiPlayer::new);
+        Scenario scenario = Scenario.skirmish();
+        RandomStreams randomStreams = new RandomStreams(args.length > 2 ? Long.parseLong(args[2]) : new SplittableRandom().nextLong());
+
+        int[] wins = new int[scenario.getPlayerCount()];
+        int draws = 0;
+        long totalTurns = 0;
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            GameResult result = engine.play(scenario, players, null, randomStreams.seedFor(RandomStreams.GAME, g));
+            if (result.isDraw()) {
+                draws++;
+            } else {
+                wins[result.getWinnerIndex()]++;
+            }
+            totalTurns += result.getTurns();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games of %s in %.2f s (%.0f games/s, %.1f turns/game)%n",
+                games, scenario.getName(), seconds, games / seconds, (double) totalTurns / games);
+        for (int p = 0; p < wins.length; p++) {
+            System.out.println(scenario.getPlayerName(p) + " wins: " + wins[p]);
+        }
+        System.out.println("Draws: " + draws);
+    }
+}
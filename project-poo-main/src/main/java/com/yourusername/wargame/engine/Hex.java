@@ -14,22 +14,44 @@ public class Hex implements Serializable {
 
     private final AxialCoord coordinates;
     private final TerrainType terrainType;
+    private final int index; // Dense index on the owning Board, -1 if not on a board
     private Unit unit; // The unit currently occupying this hex (can be null)
-    private boolean visibleToPlayer1; // Example visibility flag
-    private boolean visibleToPlayer2; // Example visibility flag
+    // Visibility lives in per-player bitsets shared by the whole board; this hex owns one bit per layer
+    private final VisibilityLayers visibility;
+    private final int visibilityBit;
 
     public Hex(AxialCoord coordinates, TerrainType terrainType) {
+        // Off-board hex: keeps its visibility in a private single-bit layer set
+        this(coordinates, terrainType, -1, new VisibilityLayers(1), 0);
+    }
+
+    // Used by Board, which assigns each hex its dense index and shares its visibility layers
+    Hex(AxialCoord coordinates, TerrainType terrainType, int index, VisibilityLayers visibility) {
+        this(coordinates, terrainType, index, visibility, index);
+    }
+
+    private Hex(AxialCoord coordinates, TerrainType terrainType, int index,
+                VisibilityLayers visibility, int visibilityBit) {
+        this.index = index;
         this.coordinates = Objects.requireNonNull(coordinates, "Coordinates cannot be null");
         this.terrainType = Objects.requireNonNull(terrainType, "Terrain type cannot be null");
         this.unit = null; // Initially empty
-        this.visibleToPlayer1 = false; // Initially not visible
-        this.visibleToPlayer2 = false; // Initially not visible
+        this.visibility = visibility; // Initially not visible
+        this.visibilityBit = visibilityBit;
     }
 
     public AxialCoord getCoordinates() {
         return coordinates;
     }
 
+    /**
+     * Gets this hex's dense index on its board (see {@link Board#indexOf(int, int)}).
+     * @return The index, or -1 for a hex created outside a board.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     public TerrainType getTerrainType() {
         return terrainType;
     }
@@ -63,30 +85,18 @@ public class Hex implements Serializable {
         return this.terrainType.isAccessible();
     }
 
-    // --- Visibility Methods ---
+    // --- Visibility Methods (O(1) bit tests against the board's VisibilityLayers) ---
     public boolean isVisibleToPlayer(int playerIndex) {
-        // Simple example for 2 players (index 0 and 1)
-        if (playerIndex == 0) {
-            return visibleToPlayer1;
-        } else if (playerIndex == 1) {
-            return visibleToPlayer2;
-        }
-        return false; // Or throw exception for invalid index
+        return visibility.isVisible(playerIndex, visibilityBit);
     }
 
     public void setVisibleToPlayer(int playerIndex, boolean visible) {
-        if (playerIndex == 0) {
-            this.visibleToPlayer1 = visible;
-        } else if (playerIndex == 1) {
-            this.visibleToPlayer2 = visible;
-        }
-        // Handle other players if necessary
+        visibility.setVisible(playerIndex, visibilityBit, visible);
     }
 
     // Reset visibility (e.g., at start of turn before recalculating)
     public void resetVisibility() {
-        this.visibleToPlayer1 = false;
-        this.visibleToPlayer2 = false;
+        visibility.clearHex(visibilityBit);
     }
 
     @Override
@@ -0,0 +1,106 @@
+package com.yourusername.wargame.engine;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+/**
+ * The hexes built so far on a board created over a {@link TerrainLayer}, keyed by hex index.
+ * Memory follows the hexes actually touched, not the size of the map.
+ *
+ * Open addressing over int keys (linear probing, load factor at most 1/2), so lookups box nothing.
+ * Lookups take no lock: a slot is written once, hex before key, and a full table is replaced by a
+ * larger one instead of being rehashed in place. A lookup racing with an insertion may miss the
+ * new hex, so callers that get null must check again under the lock that guards {@link #put}.
+ */
+final class HexTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // One generation of the table; keys hold index + 1 so that 0 marks an empty slot
+    private static final class Slots implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final int[] keys;
+        final Hex[] hexes;
+        final int shift;
+
+        Slots(int capacity) {
+            this.keys = new int[capacity];
+            this.hexes = new Hex[capacity];
+            this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        int home(int index) {
+            return (index * 0x9E3779B9) >>> shift;
+        }
+    }
+
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private int size;
+
+    /**
+     * @param index The hex index.
+     * @return The hex built for that index, or null if there is none (yet).
+     */
+    Hex get(int index) {
+        Slots current = slots;
+        int mask = current.keys.length - 1;
+        int key = index + 1;
+        for (int slot = current.home(index); ; slot = (slot + 1) & mask) {
+            int found = current.keys[slot];
+            if (found == key) return current.hexes[slot];
+            if (found == 0) return null;
+        }
+    }
+
+    /**
+     * Adds a hex that is not in the table yet. Callers must serialize insertions.
+     * @param hex The hex; its index is the key.
+     */
+    void put(Hex hex) {
+        Slots current = slots;
+        if ((size + 1) * 2 > current.keys.length) {
+            Slots larger = new Slots(current.keys.length * 2);
+            for (int slot = 0; slot < current.keys.length; slot++) {
+                if (current.keys[slot] != 0) {
+                    insert(larger, current.hexes[slot]);
+                }
+            }
+            insert(larger, hex);
+            slots = larger;
+        } else {
+            insert(current, hex);
+        }
+        size++;
+    }
+
+    private static void insert(Slots target, Hex hex) {
+        int mask = target.keys.length - 1;
+        int slot = target.home(hex.getIndex());
+        while (target.keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target.hexes[slot] = hex;
+        target.keys[slot] = hex.getIndex() + 1;
+    }
+
+    /**
+     * @return The number of hexes built.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every hex of the table to an action, in no particular order.
+     */
+    void forEach(Consumer<Hex> action) {
+        Slots current = slots;
+        for (int slot = 0; slot < current.keys.length; slot++) {
+            if (current.keys[slot] != 0) {
+                action.accept(current.hexes[slot]);
+            }
+        }
+    }
+}
@@ -10,10 +10,15 @@ public class HumanPlayer extends Player {
         super(name, playerIndex, false);
     }
     
+    @Override
+    protected Player copyWithoutUnits() {
+        return new HumanPlayer(getName(), getPlayerIndex());
+    }
+    
     @Override
     public void performTurn(GameController controller) {
         // Human players interact through the UI, so this method does nothing
         // The UI calls controller methods directly when the human makes decisions
-        System.out.println("Human player " + getName() + " turn started. Waiting for UI input...");
+        GameLog.info(() -> "Human player " + getName() + " turn started. Waiting for UI input...");
     }
 }
\ No newline at end of file
@@ -0,0 +1,448 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.CombatResolver;
+import com.yourusername.wargame.MovementRangeFinder;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * AI player that chooses its actions with Monte Carlo Tree Search.
+ *
+ * Each decision (one unit action, or ending the turn) is searched for a slice of the turn's
+ * millisecond budget. The tree covers the rest of the current turn using the actions of
+ * {@link SearchActions}, with average combat damage so that every node stands for a single state;
+ * leaves are played out by a fast randomized greedy policy for a few turns and scored by the
+ * remaining hit points. Search runs in place on game-state copies through an {@link ActionStack}.
+ *
+ * Root parallelism: every worker of a shared {@link ForkJoinPool} grows its own tree on its own copy,
+ * and the visit counts of the root actions are summed before picking the most visited one.
+ * More cores or more time mean more simulations; the rate achieved is printed after each turn.
+ */
+public class MctsAiPlayer extends Player {
+    private static final long serialVersionUID = 1L;
+
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+    private static final double EXPLORATION = 0.7;  // UCT exploration constant (rewards are in [0, 1])
+    private static final int ROLLOUT_TURNS = 4;     // Turns played out after leaving the tree
+    private static final double ROLLOUT_NOISE = 0.2; // Chance that a rollout move picks a random step
+    private static final long MIN_SLICE_MILLIS = 5;
+
+    // Search pools shared by every MCTS player, one per parallelism, so that new games add no threads
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final long budgetMillis;
+    private final int parallelism;
+    private final long simulationLimit; // Per worker and decision; 0 for none
+    private final CombatResolver combatResolver = new CombatResolver(); // Damage formula only
+    private transient volatile long lastSimulations;
+    private transient volatile double lastSimulationsPerSecond;
+
+    /**
+     * Creates an MCTS player with the default budget, searching on every available core.
+     */
+    public MctsAiPlayer(String name, int playerIndex) {
+        this(name, playerIndex, DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an MCTS player.
+     * @param name The player's name.
+     * @param playerIndex The player's index.
+     * @param budgetMillis The thinking time for a whole turn, in milliseconds.
+     * @param parallelism The number of parallel search workers (independent trees).
+     */
+    public MctsAiPlayer(String name, int playerIndex, long budgetMillis, int parallelism) {
+        this(name, playerIndex, budgetMillis, parallelism, 0);
+    }
+
+    /**
+     * Creates an MCTS player that also stops each search after a number of simulations.
+     * Its random choices come from the controller's seeded streams ({@link GameController#newAiRandom()}),
+     * so when every search reaches the limit before the time budget runs out, the player's decisions
+     * are reproducible from the game's seed.
+     * @param name The player's name.
+     * @param playerIndex The player's index.
+     * @param budgetMillis The thinking time for a whole turn, in milliseconds.
+     * @param parallelism The number of parallel search workers (independent trees).
+     * @param simulationLimit The number of simulations per worker and decision, or 0 for no limit.
+     */
+    public MctsAiPlayer(String name, int playerIndex, long budgetMillis, int parallelism, long simulationLimit) {
+        super(name, playerIndex, true);
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Search budget must be positive.");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (simulationLimit < 0) {
+            throw new IllegalArgumentException("Simulation limit cannot be negative.");
+        }
+        this.budgetMillis = budgetMillis;
+        this.parallelism = parallelism;
+        this.simulationLimit = simulationLimit;
+    }
+
+    @Override
+    protected Player copyWithoutUnits() {
+        return new MctsAiPlayer(getName(), getPlayerIndex(), budgetMillis, parallelism, simulationLimit);
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getSimulationLimit() {
+        return simulationLimit;
+    }
+
+    /**
+     * @return The number of simulations run during this player's last turn.
+     */
+    public long getLastSimulations() {
+        return lastSimulations;
+    }
+
+    /**
+     * @return The simulation rate achieved during this player's last turn.
+     */
+    public double getLastSimulationsPerSecond() {
+        return lastSimulationsPerSecond;
+    }
+
+    private ForkJoinPool pool() {
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    @Override
+    public void performTurn(GameController controller) {
+        GameLog.info(() -> "MCTS AI " + getName() + " is thinking...");
+        long turnStart = System.nanoTime();
+        // Own budget, capped by the hard deadline of a background turn
+        long turnDeadline = Math.min(turnStart + budgetMillis * 1_000_000L, controller.getThinkingDeadline(this));
+        long simulations = 0;
+
+        while (controller.isGameRunning() && controller.getGameState().getCurrentPlayer() == this
+                && !controller.shouldStopThinking(this)) {
+            GameState gameState = controller.getGameState();
+            int pending = countUnitsThatCanAct();
+            if (pending == 0) break;
+
+            // Share the remaining time between the decisions still to make (one per unit, plus ending the turn)
+            long remainingMillis = (turnDeadline - System.nanoTime()) / 1_000_000L;
+            long slice = Math.max(MIN_SLICE_MILLIS, remainingMillis / (pending + 1));
+
+            controller.reportAiProgress(this, "Searching (" + pending + " units left to act)");
+            RootStatistics result = search(gameState, slice, controller.newAiRandom());
+            simulations += result.simulations;
+            long best = result.bestAction();
+            if (best == SearchActions.PASS) break;
+            if (!SearchActions.play(controller, this, best)) {
+                GameLog.error(() -> "MCTS AI " + getName() + " could not play " + SearchActions.describe(best));
+                break;
+            }
+        }
+
+        double seconds = Math.max(1e-9, (System.nanoTime() - turnStart) / 1e9);
+        lastSimulations = simulations;
+        lastSimulationsPerSecond = simulations / seconds;
+        long totalSimulations = simulations;
+        GameLog.info(() -> String.format("MCTS AI %s: %d simulations in %.0f ms (%.0f sim/s, %d workers)",
+                getName(), totalSimulations, seconds * 1000, lastSimulationsPerSecond, parallelism));
+
+        GameLog.info(() -> "AI Player " + getName() + " finished turn.");
+        controller.endTurn(this); // Signal end of turn to controller
+    }
+
+    private int countUnitsThatCanAct() {
+        int count = 0;
+        for (int i = 0; i < getActiveUnitCount(); i++) {
+            Unit unit = getActiveUnit(i);
+            if (unit.canMove() || unit.canAttack()) count++;
+        }
+        return count;
+    }
+
+    // --- Search ---
+
+    /**
+     * Runs root-parallel MCTS on copies of a state.
+     * @param gameState The state to search (not modified).
+     * @param millis The time budget.
+     * @param random Seeds the workers' generators, in worker order; a stream of the game's
+     *               {@link RandomStreams} ({@link GameController#newAiRandom()}) keeps the search reproducible.
+     * @return The merged statistics of the root actions.
+     */
+    RootStatistics search(GameState gameState, long millis, SplittableRandom random) {
+        int me = gameState.getPlayers().indexOf(this);
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        if (parallelism == 1) {
+            // Single worker: search on this thread (e.g. already a pool worker in a tournament)
+            GameState copy = gameState.deepCopy();
+            return new Searcher(copy, copy.getPlayers().get(me), combatResolver, random.nextLong()).run(deadline, simulationLimit);
+        }
+
+        List<Callable<RootStatistics>> workers = new ArrayList<>(parallelism);
+        for (int w = 0; w < parallelism; w++) {
+            GameState copy = gameState.deepCopy(); // Copied here: the live state must not be read concurrently
+            long seed = random.nextLong();
+            workers.add(() -> new Searcher(copy, copy.getPlayers().get(me), combatResolver, seed).run(deadline, simulationLimit));
+        }
+
+        RootStatistics merged = new RootStatistics();
+        try {
+            for (Future<RootStatistics> future : pool().invokeAll(workers)) {
+                merged.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            GameLog.error(() -> "MCTS worker failed: " + e.getCause());
+        }
+        return merged;
+    }
+
+    /**
+     * Visit counts and accumulated rewards of root actions, merged across workers.
+     */
+    static final class RootStatistics {
+        final Map<Long, double[]> actions = new LinkedHashMap<>(); // action -> {visits, total reward}
+        long simulations;
+
+        void add(long action, int visits, double reward) {
+            double[] stats = actions.computeIfAbsent(action, a -> new double[2]);
+            stats[0] += visits;
+            stats[1] += reward;
+        }
+
+        void merge(RootStatistics other) {
+            simulations += other.simulations;
+            for (Map.Entry<Long, double[]> entry : other.actions.entrySet()) {
+                add(entry.getKey(), (int) entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+
+        // Most visited action (robust child), ties broken by mean reward; PASS if nothing was searched
+        long bestAction() {
+            long best = SearchActions.PASS;
+            double bestVisits = -1;
+            double bestMean = -1;
+            for (Map.Entry<Long, double[]> entry : actions.entrySet()) {
+                double visits = entry.getValue()[0];
+                double mean = visits > 0 ? entry.getValue()[1] / visits : 0;
+                if (visits > bestVisits || (visits == bestVisits && mean > bestMean)) {
+                    best = entry.getKey();
+                    bestVisits = visits;
+                    bestMean = mean;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Tree node: the state reached by playing action from the parent's state
+    private static final class Node {
+        final long action;
+        final Node parent;
+        final List<Node> children = new ArrayList<>();
+        long[] untried;   // Actions not expanded yet (null until the node is first reached)
+        int untriedCount;
+        int visits;
+        double reward;    // Sum of rollout rewards, from the searching player's point of view
+
+        Node(long action, Node parent) {
+            this.action = action;
+            this.parent = parent;
+        }
+    }
+
+    // One worker: a private tree grown on a private copy of the state
+    private static final class Searcher {
+        private final GameState state;
+        private final Player me;
+        private final ActionStack stack;
+        private final MovementRangeFinder rangeFinder = new MovementRangeFinder();
+        private final CombatResolver combatResolver;
+        private final SplittableRandom random;
+        private final Node root = new Node(SearchActions.PASS, null);
+
+        Searcher(GameState state, Player me, CombatResolver combatResolver, long seed) {
+            this.state = state;
+            this.me = me;
+            this.stack = new ActionStack(state, null); // Fog is irrelevant to the search
+            this.combatResolver = combatResolver;
+            this.random = new SplittableRandom(seed);
+        }
+
+        RootStatistics run(long deadline, long simulationLimit) {
+            expand(root);
+            long simulations = 0;
+            // A single legal action (PASS) needs no search
+            do {
+                iterate();
+                simulations++;
+            } while (root.untriedCount + root.children.size() > 1 && System.nanoTime() < deadline
+                    && (simulationLimit == 0 || simulations < simulationLimit));
+
+            RootStatistics statistics = new RootStatistics();
+            statistics.simulations = simulations;
+            for (Node child : root.children) {
+                statistics.add(child.action, child.visits, child.reward);
+            }
+            return statistics;
+        }
+
+        private void expand(Node node) {
+            boolean over = !me.hasActiveUnits() || !state.getOpponent(me).hasActiveUnits();
+            // After PASS the turn is over: the node is a leaf of the tree
+            node.untried = (node != root && node.action == SearchActions.PASS) || over
+                    ? new long[0] : SearchActions.generate(state, me, rangeFinder);
+            node.untriedCount = node.untried.length;
+        }
+
+        private void iterate() {
+            Node node = root;
+            // Selection: descend through fully expanded nodes (tree actions use average damage)
+            while (node.untriedCount == 0 && !node.children.isEmpty()) {
+                node = select(node);
+                SearchActions.apply(stack, me, node.action, combatResolver, null);
+            }
+            // Expansion: add one untried action
+            if (node.untriedCount > 0) {
+                int i = random.nextInt(node.untriedCount);
+                long action = node.untried[i];
+                node.untried[i] = node.untried[--node.untriedCount];
+                Node child = new Node(action, node);
+                node.children.add(child);
+                SearchActions.apply(stack, me, action, combatResolver, null);
+                expand(child);
+                node = child;
+            }
+            // Simulation and backpropagation
+            double reward = rollout();
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                n.reward += reward;
+            }
+            stack.unmakeAll();
+        }
+
+        // UCT: best mean reward plus an exploration bonus for rarely visited children
+        private Node select(Node node) {
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, node.visits));
+            for (Node child : node.children) {
+                double score = child.visits == 0 ? Double.POSITIVE_INFINITY
+                        : child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private double rollout() {
+            // Finish the searching player's turn, then play a few more turns
+            if (state.getCurrentPlayer() == me) {
+                playGreedyTurn(me);
+                stack.makeEndTurn();
+            }
+            for (int turn = 0; turn < ROLLOUT_TURNS && !isOver(); turn++) {
+                playGreedyTurn(state.getCurrentPlayer());
+                stack.makeEndTurn();
+            }
+            return evaluate();
+        }
+
+        private boolean isOver() {
+            for (Player player : state.getPlayers()) {
+                if (!player.hasActiveUnits()) return true;
+            }
+            return false;
+        }
+
+        // Fast policy: attack the weakest enemy in range, else step towards the nearest enemy
+        private void playGreedyTurn(Player player) {
+            Player enemy = state.getOpponent(player);
+            Board board = state.getBoard();
+            // Backwards, so that a unit dying to a counter-attack only moves an already handled unit into its slot
+            for (int slot = player.getActiveUnitCount() - 1; slot >= 0; slot--) {
+                if (enemy == null || !enemy.hasActiveUnits()) return;
+                if (slot >= player.getActiveUnitCount()) continue;
+                Unit unit = player.getActiveUnit(slot);
+
+                if (unit.canAttack()) {
+                    Unit weakest = null;
+                    for (Unit target : board.getSpatialIndex().unitsWithin(unit.getPosition(), unit.getAttackRange(),
+                            u -> u.getOwner() != player)) {
+                        if (weakest == null || target.getCurrentHitPoints() < weakest.getCurrentHitPoints()) {
+                            weakest = target;
+                        }
+                    }
+                    if (weakest != null) {
+                        AxialCoord p = weakest.getPosition();
+                        SearchActions.apply(stack, player, SearchActions.attack(slot, board.indexOf(p.getQ(), p.getR())),
+                                combatResolver, random);
+                        continue;
+                    }
+                }
+                if (unit.canMove()) {
+                    Optional<Unit> nearest = board.getSpatialIndex().nearest(unit.getPosition(), u -> u.getOwner() != player);
+                    if (nearest.isPresent()) {
+                        stepTowards(unit, nearest.get().getPosition(), board);
+                    }
+                }
+            }
+        }
+
+        private void stepTowards(Unit unit, AxialCoord target, Board board) {
+            AxialCoord position = unit.getPosition();
+            int from = board.indexOf(position.getQ(), position.getR());
+            int bestIndex = -1;
+            int bestCost = 0;
+            int bestDistance = position.distanceTo(target);
+            boolean explore = random.nextDouble() < ROLLOUT_NOISE;
+            int start = random.nextInt(Board.DIRECTIONS);
+            for (int k = 0; k < Board.DIRECTIONS; k++) {
+                Hex hex = board.getHexAt(board.getNeighborIndex(from, (start + k) % Board.DIRECTIONS));
+                if (hex == null || !hex.isAccessible() || hex.isOccupied()) continue;
+                int cost = board.getMovementCost(hex, unit);
+                if (cost > unit.getCurrentMovementPoints()) continue;
+                int distance = hex.getCoordinates().distanceTo(target);
+                if (explore || distance < bestDistance) {
+                    bestIndex = hex.getIndex();
+                    bestCost = cost;
+                    bestDistance = distance;
+                    if (explore) break;
+                }
+            }
+            if (bestIndex >= 0) {
+                stack.makeMove(unit, bestIndex, bestCost);
+            }
+        }
+
+        // Share of the remaining hit points that belongs to the searching player
+        private double evaluate() {
+            int mine = 0;
+            int theirs = 0;
+            for (Player player : state.getPlayers()) {
+                int hp = 0;
+                for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                    hp += player.getActiveUnit(i).getCurrentHitPoints();
+                }
+                if (player == me) mine += hp; else theirs += hp;
+            }
+            if (mine + theirs == 0) return 0.5;
+            return (double) mine / (mine + theirs);
+        }
+    }
+}
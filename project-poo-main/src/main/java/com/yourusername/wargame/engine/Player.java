@@ -3,10 +3,9 @@ package com.yourusername.wargame.engine;
 import com.yourusername.wargame.model.unit.Unit;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Represents a player in the game (can be Human or AI).
@@ -17,7 +16,7 @@ public abstract class Player implements Serializable {
 
     private final String name;
     private final int playerIndex; // e.g., 0 for Player 1, 1 for Player 2
-    private final List<Unit> units; // Units owned by this player
+    private UnitRoster units; // Live units owned by this player (destroyed units are removed)
     private boolean isAi;
 
     protected Player(String name, int playerIndex, boolean isAi) {
@@ -26,7 +25,7 @@ public abstract class Player implements Serializable {
             throw new IllegalArgumentException("Player index cannot be negative.");
         }
         this.playerIndex = playerIndex;
-        this.units = new ArrayList<>();
+        this.units = new UnitRoster();
         this.isAi = isAi;
     }
 
@@ -48,17 +47,45 @@ public abstract class Player implements Serializable {
      * @return A new list containing the player's units.
      */
     public List<Unit> getUnits() {
-        return new ArrayList<>(units);
+        return units.toList();
     }
 
     /**
      * Gets a list of active (non-destroyed) units owned by this player.
+     * The list is a snapshot, safe to iterate while units die; hot loops should prefer
+     * {@link #getActiveUnitCount()} and {@link #getActiveUnit(int)}, which do not allocate.
      * @return A new list containing the player's active units.
      */
     public List<Unit> getActiveUnits() {
-        return units.stream()
-                    .filter(unit -> unit.getCurrentHitPoints() > 0)
-                    .collect(Collectors.toList());
+        List<Unit> active = units.toList();
+        active.removeIf(unit -> unit.getCurrentHitPoints() <= 0);
+        return active;
+    }
+
+    /**
+     * Counts this player's units. O(1).
+     * Destroyed units are removed by the GameController, so every counted unit is active.
+     * @return The number of units.
+     */
+    public int getActiveUnitCount() {
+        return units.size();
+    }
+
+    /**
+     * Gets one of this player's units, for allocation-free iteration with {@link #getActiveUnitCount()}.
+     * The order changes when units are removed.
+     * @param i The position, in [0, getActiveUnitCount()).
+     * @return The unit.
+     */
+    public Unit getActiveUnit(int i) {
+        return units.get(i);
+    }
+
+    /**
+     * @return true if this player still has at least one unit.
+     */
+    public boolean hasActiveUnits() {
+        return !units.isEmpty();
     }
 
     /**
@@ -67,22 +94,43 @@ public abstract class Player implements Serializable {
      * @param unit The unit to add.
      */
     public void addUnit(Unit unit) {
-        if (unit != null && unit.getOwner() == this && !units.contains(unit)) {
-            units.add(unit);
+        if (unit != null && unit.getOwner() == this) {
+            units.add(unit); // No-op if already present
         } else if (unit != null && unit.getOwner() != this) {
-             System.err.println("Warning: Attempted to add unit owned by another player: " + unit);
+             GameLog.error(() -> "Warning: Attempted to add unit owned by another player: " + unit);
              // Or throw exception
         }
     }
 
     /**
-     * Removes a unit from this player's control (e.g., when destroyed).
+     * Removes a unit from this player's control (e.g., when destroyed). O(1).
      * @param unit The unit to remove.
+     * @return The roster slot the unit occupied, or -1 if it was not owned by this player.
      */
-    public void removeUnit(Unit unit) {
+    public int removeUnit(Unit unit) {
         if (unit != null) {
-            units.remove(unit);
+            return units.remove(unit);
         }
+        return -1;
+    }
+
+    /**
+     * Creates a player with the same name, index and settings as this one, but no units.
+     * Used by {@link GameState#deepCopy()}, which then fills in the copied units.
+     * @return The new player.
+     */
+    protected abstract Player copyWithoutUnits();
+
+    // Fills a copy made by copyWithoutUnits with the counterparts of this player's units, in the same order
+    Player copyWith(Function<Unit, Unit> unitMapper, Player copy) {
+        copy.isAi = isAi;
+        copy.units = units.copy(unitMapper);
+        return copy;
+    }
+
+    // Puts back a unit removed by removeUnit(), at the slot it returned (undo)
+    void restoreUnit(Unit unit, int slot) {
+        units.restore(unit, slot);
     }
 
     /**
@@ -91,7 +139,7 @@ public abstract class Player implements Serializable {
      * @param gameState The current game state (needed for context like terrain).
      */
     public void startTurn(GameState gameState) {
-        System.out.println("--- Starting Turn for Player " + (playerIndex + 1) + ": " + name + " ---");
+        GameLog.info(() -> "--- Starting Turn for Player " + (playerIndex + 1) + ": " + name + " ---");
         List<Unit> activeUnits = getActiveUnits(); // Get units before potential destruction this turn
         for (Unit unit : activeUnits) {
             unit.resetForNewTurn();
@@ -100,7 +148,7 @@ public abstract class Player implements Serializable {
             if (unit.getCurrentHitPoints() < unit.getMaxHitPoints()) {
                 int healAmount = (int) Math.ceil(unit.getMaxHitPoints() * 0.10);
                 if (healAmount > 0) {
-                    System.out.println("Unit " + unit.getId().toString().substring(0,4) + " (" + unit.getTypeName() + ") attempts to heal " + healAmount + " HP.");
+                    GameLog.info(() -> "Unit " + unit.getId().toString().substring(0,4) + " (" + unit.getTypeName() + ") attempts to heal " + healAmount + " HP.");
                     unit.heal(healAmount); // Heal method handles max HP cap
                 }
             }
@@ -0,0 +1,91 @@
+package com.yourusername.wargame.engine;
+
+import java.io.Serializable;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible source of independent random streams, all derived from one master seed.
+ *
+ * A stream is identified by a domain (what it is for: a game, a combat, an AI decision) and an
+ * index within that domain (e.g. the combat's sequence number). Its seed is computed from the
+ * master seed, the domain and the index with the SplitMix64 mixing function, so a stream never
+ * depends on how many numbers other streams have drawn, nor on which thread draws them: replaying
+ * the same actions with the same master seed gives bit-identical rolls, even when games run in parallel.
+ * Instances are immutable and can be shared between threads; the streams themselves cannot.
+ */
+public final class RandomStreams implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Streams of whole games (seeds of per-game RandomStreams, e.g. in a tournament). */
+    public static final long GAME = 1;
+    /** Damage rolls of one combat. */
+    public static final long COMBAT = 2;
+    /** Randomness of one AI decision (rollouts, tie breaks). */
+    public static final long AI = 3;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long masterSeed;
+
+    /**
+     * Creates the streams of a master seed.
+     * @param masterSeed The seed every stream is derived from.
+     */
+    public RandomStreams(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Creates streams from a fresh, unpredictable master seed (see {@link #getMasterSeed()} to replay them).
+     */
+    public static RandomStreams unseeded() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Computes the seed of a stream.
+     * @param domain The stream's domain ({@link #GAME}, {@link #COMBAT}, {@link #AI} or another constant).
+     * @param index The stream's index within its domain.
+     * @return A well-mixed seed, distinct for each (domain, index) pair in practice.
+     */
+    public long seedFor(long domain, long index) {
+        long domainSeed = mix(masterSeed + domain * GOLDEN_GAMMA);
+        return mix(domainSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a stream.
+     * @param domain The stream's domain.
+     * @param index The stream's index within its domain.
+     * @return A new generator; the same arguments always give the same sequence.
+     */
+    public SplittableRandom stream(long domain, long index) {
+        return new SplittableRandom(seedFor(domain, index));
+    }
+
+    /**
+     * Derives a child set of streams, e.g. one per game of a tournament.
+     * @param domain The child's domain.
+     * @param index The child's index within its domain.
+     * @return Streams whose master seed is {@code seedFor(domain, index)}.
+     */
+    public RandomStreams child(long domain, long index) {
+        return new RandomStreams(seedFor(domain, index));
+    }
+
+    // SplitMix64 finalizer (the same mixing SplittableRandom applies to its own seeds)
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return "RandomStreams[seed=" + masterSeed + "]";
+    }
+}
@@ -0,0 +1,260 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.terrain.TerrainType;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Immutable description of a two-player battle: a hexagonal map, its terrain, and each side's
+ * units and starting positions. Every call to {@link #createGameState} builds a fresh, independent
+ * {@link GameState} in which each side must destroy the other, so one scenario can be played many times.
+ *
+ * <pre>
+ * Scenario scenario = Scenario.builder("Duel")
+ *         .radius(5)
+ *         .player("Blue", HumanPlayer::new)
+ *         .unit(UnitType.INFANTRY, -3, 1)
+ *         .player("Red", AiPlayer::new)
+ *         .unit(UnitType.ARCHER, 3, -2)
+ *         .build();
+ * </pre>
+ */
+public final class Scenario implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the player of one side, e.g. {@code AiPlayer::new}.
+     */
+    @FunctionalInterface
+    public interface PlayerFactory extends Serializable {
+        Player create(String name, int playerIndex);
+    }
+
+    // Starting unit of a side
+    private static final class UnitSpec implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final UnitType type;
+        final int q;
+        final int r;
+
+        UnitSpec(UnitType type, int q, int r) {
+            this.type = type;
+            this.q = q;
+            this.r = r;
+        }
+    }
+
+    private static final class Side implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String name;
+        final PlayerFactory factory;
+        final List<UnitSpec> units = new ArrayList<>();
+
+        Side(String name, PlayerFactory factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+
+    private final String name;
+    private final int radius;
+    private final Map<AxialCoord, TerrainType> terrain; // Hexes that are not plain
+    private final List<Side> sides;
+
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.radius = builder.radius;
+        this.terrain = Collections.unmodifiableMap(new HashMap<>(builder.terrain));
+        List<Side> copies = new ArrayList<>(builder.sides.size());
+        for (Side side : builder.sides) { // The builder may go on adding units
+            Side copy = new Side(side.name, side.factory);
+            copy.units.addAll(side.units);
+            copies.add(copy);
+        }
+        this.sides = Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Starts the description of a scenario.
+     * @param name The scenario's name.
+     * @return A builder with a radius 5 map and no players.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * The default skirmish: a human player against the basic AI, three units each, on a radius 5 map.
+     */
+    public static Scenario skirmish() {
+        return builder("Skirmish")
+                .radius(5)
+                .player("Human Player", HumanPlayer::new)
+                .unit(UnitType.INFANTRY, -3, 1)
+                .unit(UnitType.ARCHER, -3, 0)
+                .unit(UnitType.CAVALRY, -2, -1)
+                .player("AI Player", AiPlayer::new)
+                .unit(UnitType.INFANTRY, 3, -1)
+                .unit(UnitType.ARCHER, 3, -2)
+                .unit(UnitType.MAGE, 2, -3)
+                .build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getPlayerCount() {
+        return sides.size();
+    }
+
+    public String getPlayerName(int playerIndex) {
+        return sides.get(playerIndex).name;
+    }
+
+    /**
+     * Builds a new game state with each side's default player.
+     * @return The initial game state (not yet started).
+     */
+    public GameState createGameState() {
+        return createGameState(null);
+    }
+
+    /**
+     * Builds a new game state, choosing who plays each side.
+     * @param playerFactories One factory per side, in order; null (or a null entry) keeps the scenario's default.
+     * @return The initial game state (not yet started).
+     */
+    public GameState createGameState(List<PlayerFactory> playerFactories) {
+        if (playerFactories != null && playerFactories.size() != sides.size()) {
+            throw new IllegalArgumentException("Expected " + sides.size() + " player factories, got " + playerFactories.size());
+        }
+        Board board = createBoard();
+        List<Player> players = new ArrayList<>(sides.size());
+        for (int i = 0; i < sides.size(); i++) {
+            Side side = sides.get(i);
+            PlayerFactory factory = playerFactories == null || playerFactories.get(i) == null
+                    ? side.factory : playerFactories.get(i);
+            players.add(Objects.requireNonNull(factory.create(side.name, i), "Player factory returned null"));
+        }
+
+        Map<Player, List<VictoryCondition>> victoryConditions = new HashMap<>();
+        victoryConditions.put(players.get(0), Collections.singletonList(new DestroyAllCondition(players.get(1))));
+        victoryConditions.put(players.get(1), Collections.singletonList(new DestroyAllCondition(players.get(0))));
+        GameState gameState = new GameState(board, players, victoryConditions);
+
+        for (int i = 0; i < sides.size(); i++) {
+            Player player = players.get(i);
+            for (UnitSpec spec : sides.get(i).units) {
+                Unit unit = new Unit(spec.type, player, AxialCoord.of(spec.q, spec.r));
+                player.addUnit(unit);
+                board.placeUnit(unit, unit.getPosition());
+            }
+        }
+        return gameState;
+    }
+
+    private Board createBoard() {
+        if (terrain.isEmpty()) {
+            return new Board(radius);
+        }
+        Map<AxialCoord, TerrainType> definition = new HashMap<>();
+        for (int q = -radius; q <= radius; q++) {
+            int r1 = Math.max(-radius, -q - radius);
+            int r2 = Math.min(radius, -q + radius);
+            for (int r = r1; r <= r2; r++) {
+                AxialCoord coord = AxialCoord.of(q, r);
+                definition.put(coord, terrain.getOrDefault(coord, TerrainType.PLAIN));
+            }
+        }
+        return new Board(definition);
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario[name=" + name + ", radius=" + radius + ", players=" + sides.size() + "]";
+    }
+
+    /**
+     * Collects the parts of a scenario; units are added to the most recently declared player.
+     */
+    public static final class Builder {
+        private final String name;
+        private int radius = 5;
+        private final Map<AxialCoord, TerrainType> terrain = new HashMap<>();
+        private final List<Side> sides = new ArrayList<>();
+        private final Set<AxialCoord> occupied = new HashSet<>();
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Scenario name cannot be null");
+        }
+
+        public Builder radius(int radius) {
+            if (radius < 0) {
+                throw new IllegalArgumentException("Map radius cannot be negative.");
+            }
+            this.radius = radius;
+            return this;
+        }
+
+        /**
+         * Sets the terrain of one hex (hexes default to plain).
+         */
+        public Builder terrain(int q, int r, TerrainType type) {
+            terrain.put(AxialCoord.of(q, r), Objects.requireNonNull(type, "Terrain type cannot be null"));
+            return this;
+        }
+
+        /**
+         * Declares the next side.
+         * @param playerName The player's name.
+         * @param factory Creates the player by default (see {@link Scenario#createGameState(List)}).
+         */
+        public Builder player(String playerName, PlayerFactory factory) {
+            sides.add(new Side(Objects.requireNonNull(playerName, "Player name cannot be null"),
+                    Objects.requireNonNull(factory, "Player factory cannot be null")));
+            return this;
+        }
+
+        /**
+         * Adds a starting unit to the last declared side.
+         */
+        public Builder unit(UnitType type, int q, int r) {
+            if (sides.isEmpty()) {
+                throw new IllegalStateException("Declare a player before adding units.");
+            }
+            AxialCoord position = AxialCoord.of(q, r);
+            if (!occupied.add(position)) {
+                throw new IllegalArgumentException("Two units start at " + position);
+            }
+            sides.get(sides.size() - 1).units.add(new UnitSpec(Objects.requireNonNull(type, "Unit type cannot be null"), q, r));
+            return this;
+        }
+
+        public Scenario build() {
+            if (sides.size() != 2) {
+                throw new IllegalStateException("A scenario needs exactly two players, found " + sides.size());
+            }
+            AxialCoord center = AxialCoord.of(0, 0);
+            for (AxialCoord position : occupied) {
+                if (center.distanceTo(position) > radius) {
+                    throw new IllegalStateException("Unit starts off the map at " + position);
+                }
+                TerrainType type = terrain.get(position);
+                if (type != null && !type.isAccessible()) {
+                    throw new IllegalStateException("Unit starts on inaccessible terrain at " + position);
+                }
+            }
+            return new Scenario(this);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.CombatResolver;
+import com.yourusername.wargame.MovementRange;
+import com.yourusername.wargame.MovementRangeFinder;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compact encoding, generation and application of the actions available to a player,
+ * shared by the search-based AI players.
+ *
+ * An action is a long: the type in bits 56-63, the acting unit's roster slot
+ * ({@link Player#getActiveUnit(int)}) in bits 40-55, the movement cost in bits 32-39 and the
+ * target hex index in bits 0-31. {@link #PASS} (0) ends the turn. Slots and hex indices are
+ * preserved by {@link GameState#deepCopy()}, so an action found on a copy can be played on the original.
+ */
+public final class SearchActions {
+
+    public static final int TYPE_PASS = 0;
+    public static final int TYPE_MOVE = 1;
+    public static final int TYPE_ATTACK = 2;
+
+    /** Ends the current player's turn. */
+    public static final long PASS = 0L;
+
+    private SearchActions() {
+        // Static helpers only
+    }
+
+    // --- Encoding ---
+
+    public static long move(int unitSlot, int hexIndex, int cost) {
+        return ((long) TYPE_MOVE << 56) | ((long) unitSlot << 40) | ((long) (cost & 0xFF) << 32) | (hexIndex & 0xFFFFFFFFL);
+    }
+
+    public static long attack(int unitSlot, int targetHexIndex) {
+        return ((long) TYPE_ATTACK << 56) | ((long) unitSlot << 40) | (targetHexIndex & 0xFFFFFFFFL);
+    }
+
+    public static int type(long action) {
+        return (int) (action >>> 56);
+    }
+
+    public static int unitSlot(long action) {
+        return (int) ((action >>> 40) & 0xFFFF);
+    }
+
+    public static int cost(long action) {
+        return (int) ((action >>> 32) & 0xFF);
+    }
+
+    public static int hexIndex(long action) {
+        return (int) action;
+    }
+
+    /**
+     * Describes an action for logs.
+     * @param action The encoded action.
+     * @return A short readable form.
+     */
+    public static String describe(long action) {
+        switch (type(action)) {
+            case TYPE_MOVE:
+                return "MOVE(unit " + unitSlot(action) + " -> hex " + hexIndex(action) + ", cost " + cost(action) + ")";
+            case TYPE_ATTACK:
+                return "ATTACK(unit " + unitSlot(action) + " -> hex " + hexIndex(action) + ")";
+            default:
+                return "PASS";
+        }
+    }
+
+    // --- Generation ---
+
+    /**
+     * Lists the legal actions of a player: {@link #PASS}, then for each unit its moves
+     * (every hex of its movement range) and its attacks (every enemy in range).
+     * @param gameState The state to generate actions for.
+     * @param player The player to move.
+     * @param rangeFinder The range finder used for moves.
+     * @return The encoded actions; never empty (PASS is always legal).
+     */
+    public static long[] generate(GameState gameState, Player player, MovementRangeFinder rangeFinder) {
+        Board board = gameState.getBoard();
+        long[] actions = new long[16];
+        int count = 0;
+        actions[count++] = PASS;
+        for (int slot = 0; slot < player.getActiveUnitCount(); slot++) {
+            Unit unit = player.getActiveUnit(slot);
+            if (unit.canAttack()) {
+                List<Unit> targets = board.getSpatialIndex().unitsWithin(unit.getPosition(), unit.getAttackRange(),
+                        u -> u.getOwner() != player);
+                for (Unit target : targets) {
+                    if (count == actions.length) actions = Arrays.copyOf(actions, count * 2);
+                    actions[count++] = attack(slot, board.indexOf(target.getPosition().getQ(), target.getPosition().getR()));
+                }
+            }
+            if (unit.canMove()) {
+                MovementRange range = rangeFinder.findReachable(unit, board);
+                for (int i = 0; i < range.entryCount(); i++) {
+                    int index = range.indexAt(i);
+                    if (!range.canReachIndex(index)) continue; // Origin
+                    if (count == actions.length) actions = Arrays.copyOf(actions, count * 2);
+                    actions[count++] = move(slot, index, range.costAt(i));
+                }
+            }
+        }
+        return Arrays.copyOf(actions, count);
+    }
+
+    // --- Application ---
+
+    /**
+     * Plays an action on an action stack.
+     * Attack damage uses the combat formula with a factor rolled from random, or the
+     * average factor (1.0) when random is null, which keeps the outcome deterministic.
+     * @param stack The stack to make the action on.
+     * @param player The player acting (the current player).
+     * @param action The encoded action.
+     * @param combatResolver Supplies the damage formula.
+     * @param random The source for damage rolls, or null for average damage.
+     * @return false (and nothing is made) if the action is not legal in the current state.
+     */
+    public static boolean apply(ActionStack stack, Player player, long action,
+                                CombatResolver combatResolver, SplittableRandom random) {
+        int type = type(action);
+        if (type == TYPE_PASS) {
+            stack.makeEndTurn();
+            return true;
+        }
+        int slot = unitSlot(action);
+        if (slot >= player.getActiveUnitCount()) return false;
+        Unit unit = player.getActiveUnit(slot);
+        Board board = stack.getGameState().getBoard();
+
+        if (type == TYPE_MOVE) {
+            return unit.canMove() && stack.makeMove(unit, hexIndex(action), cost(action));
+        }
+        if (type == TYPE_ATTACK) {
+            Hex targetHex = board.getHexAt(hexIndex(action));
+            Unit target = targetHex == null ? null : targetHex.getUnit();
+            if (target == null || target.getOwner() == player || !unit.canAttack()
+                    || unit.getPosition().distanceTo(target.getPosition()) > unit.getAttackRange()) {
+                return false;
+            }
+            int damage = combatResolver.computeDamage(unit, target, targetHex.getTerrainType(), rollFactor(random));
+            int counterDamage = combatResolver.computeCounterDamage(unit, target, rollFactor(random));
+            stack.makeAttack(unit, target, damage, counterDamage);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Plays an action for real through the controller (validated, logged and notified like any request).
+     * @param controller The game controller.
+     * @param player The player acting.
+     * @param action A MOVE or ATTACK action found by a search on this state (or a copy of it).
+     * @return true if the controller accepted the action.
+     */
+    public static boolean play(GameController controller, Player player, long action) {
+        int slot = unitSlot(action);
+        if (type(action) == TYPE_PASS || slot >= player.getActiveUnitCount()) return false;
+        Unit unit = player.getActiveUnit(slot);
+        Hex target = controller.getGameState().getBoard().getHexAt(hexIndex(action));
+        if (target == null) return false;
+        if (type(action) == TYPE_MOVE) {
+            GameLog.info(() -> "AI Unit " + unit.getId().toString().substring(0,4) + " moving to " + target.getCoordinates());
+            return controller.requestMove(player, unit, Collections.singletonList(target.getCoordinates()));
+        }
+        if (type(action) == TYPE_ATTACK && target.getUnit() != null) {
+            GameLog.info(() -> "AI Unit " + unit.getId().toString().substring(0,4) + " attacking " + target.getUnit().getId().toString().substring(0,4));
+            return controller.requestAttack(player, unit, target.getUnit());
+        }
+        return false;
+    }
+
+    // Same range as CombatResolver's rolls: [0.8, 1.2)
+    private static double rollFactor(SplittableRandom random) {
+        return random == null ? 1.0 : 0.8 + random.nextDouble() * 0.4;
+    }
+}
@@ -0,0 +1,234 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index of the units on a board, for range and nearest-unit queries.
+ * The axial (q, r) plane is cut into square cells of {@link #CELL_SIZE} x {@link #CELL_SIZE} hexes,
+ * each holding a {@link UnitRoster} of the units standing in it. A query only visits the cells
+ * overlapping its search area, so its cost depends on the local unit density rather than on
+ * the total number of units or hexes.
+ * Maintained by {@link Board} whenever a unit is placed, moved or removed.
+ *
+ * Query results depend only on where the units stand, not on the order they entered their
+ * cells: a board rebuilt from a save or a journal then answers exactly as the original did.
+ */
+public class SpatialUnitIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int CELL_SIZE = 4; // Hexes per cell side; close to typical attack/vision ranges
+
+    // Order of query results, and tie-break between equally near units
+    private static final Comparator<Unit> BY_POSITION = (a, b) -> comparePositions(a.getPosition(), b.getPosition());
+
+    private final int minQ;
+    private final int maxQ;
+    private final int minR;
+    private final int maxR;
+    private final int cellsQ; // Number of cell columns
+    private final int cellsR; // Number of cell rows
+    private final UnitRoster[] buckets; // buckets[cq * cellsR + cr], created on first use
+    private final Map<Unit, Integer> cellOf; // Unit -> bucket it is stored in
+
+    /**
+     * Creates an empty index covering the axial bounding box [minQ, maxQ] x [minR, maxR].
+     */
+    SpatialUnitIndex(int minQ, int maxQ, int minR, int maxR) {
+        this(minQ, maxQ, minR, maxR, 16);
+    }
+
+    private SpatialUnitIndex(int minQ, int maxQ, int minR, int maxR, int expectedUnits) {
+        this.minQ = minQ;
+        this.maxQ = maxQ;
+        this.minR = minR;
+        this.maxR = maxR;
+        this.cellsQ = maxQ < minQ ? 0 : (maxQ - minQ) / CELL_SIZE + 1;
+        this.cellsR = maxR < minR ? 0 : (maxR - minR) / CELL_SIZE + 1;
+        this.buckets = new UnitRoster[cellsQ * cellsR];
+        this.cellOf = new IdentityHashMap<>(expectedUnits);
+    }
+
+    /**
+     * Copies this index onto another set of units, keeping each bucket's order.
+     * @param mapper Maps every indexed unit to its counterpart.
+     */
+    SpatialUnitIndex copy(Function<Unit, Unit> mapper) {
+        SpatialUnitIndex copy = new SpatialUnitIndex(minQ, maxQ, minR, maxR, cellOf.size());
+        for (int b = 0; b < buckets.length; b++) {
+            UnitRoster bucket = buckets[b];
+            if (bucket == null) continue;
+            UnitRoster target = new UnitRoster(bucket.size());
+            for (int i = 0; i < bucket.size(); i++) {
+                Unit unit = mapper.apply(bucket.get(i));
+                target.add(unit);
+                copy.cellOf.put(unit, b);
+            }
+            copy.buckets[b] = target;
+        }
+        return copy;
+    }
+
+    private int cellQ(int q) {
+        return Math.floorDiv(q - minQ, CELL_SIZE);
+    }
+
+    private int cellR(int r) {
+        return Math.floorDiv(r - minR, CELL_SIZE);
+    }
+
+    // Bucket of a coordinate, or -1 if it lies outside the covered box
+    private int bucketOf(AxialCoord coord) {
+        if (coord == null) return -1;
+        int cq = cellQ(coord.getQ());
+        int cr = cellR(coord.getR());
+        if (cq < 0 || cq >= cellsQ || cr < 0 || cr >= cellsR) return -1;
+        return cq * cellsR + cr;
+    }
+
+    /**
+     * Files a unit under the cell of its current position (adding it if needed).
+     * @param unit The unit that was placed or moved.
+     * @return The slot the unit left in its previous cell, or -1 if it did not change cells.
+     */
+    int update(Unit unit) {
+        int bucket = bucketOf(unit.getPosition());
+        Integer current = cellOf.get(unit);
+        if (current != null && current == bucket) return -1;
+        int previousSlot = -1;
+        if (current != null) {
+            previousSlot = buckets[current].remove(unit);
+            cellOf.remove(unit);
+        }
+        if (bucket >= 0) {
+            if (buckets[bucket] == null) {
+                buckets[bucket] = new UnitRoster();
+            }
+            buckets[bucket].add(unit);
+            cellOf.put(unit, bucket);
+        }
+        return previousSlot;
+    }
+
+    /**
+     * Drops a unit from the index.
+     * @param unit The unit that left the board.
+     * @return The slot the unit occupied in its cell, or -1 if it was not indexed.
+     */
+    int remove(Unit unit) {
+        Integer current = cellOf.remove(unit);
+        if (current != null) {
+            return buckets[current].remove(unit);
+        }
+        return -1;
+    }
+
+    /**
+     * Re-files a unit at the slot it held in the cell of its current position,
+     * undoing a {@link #remove} (see {@link UnitRoster#restore}).
+     * @param unit The unit, back at the position it was removed from.
+     * @param slot The slot returned by remove() or update().
+     */
+    void restore(Unit unit, int slot) {
+        int bucket = bucketOf(unit.getPosition());
+        if (bucket < 0 || slot < 0) return;
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new UnitRoster();
+        }
+        buckets[bucket].restore(unit, slot);
+        cellOf.put(unit, bucket);
+    }
+
+    /**
+     * @return The number of indexed units.
+     */
+    public int size() {
+        return cellOf.size();
+    }
+
+    /**
+     * Finds the units within a hex distance of a coordinate.
+     * @param center The center of the search.
+     * @param radius The maximum hex distance (inclusive).
+     * @param filter Extra condition on the units, or null to accept all.
+     * @return A new list of matching units, ordered by q, then r.
+     */
+    public List<Unit> unitsWithin(AxialCoord center, int radius, Predicate<Unit> filter) {
+        List<Unit> result = new ArrayList<>();
+        if (center == null || radius < 0) return result;
+        int cq1 = Math.max(0, cellQ(center.getQ() - radius));
+        int cq2 = Math.min(cellsQ - 1, cellQ(center.getQ() + radius));
+        int cr1 = Math.max(0, cellR(center.getR() - radius));
+        int cr2 = Math.min(cellsR - 1, cellR(center.getR() + radius));
+        for (int cq = cq1; cq <= cq2; cq++) {
+            for (int cr = cr1; cr <= cr2; cr++) {
+                UnitRoster bucket = buckets[cq * cellsR + cr];
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Unit unit = bucket.get(i);
+                    if (center.distanceTo(unit.getPosition()) <= radius && (filter == null || filter.test(unit))) {
+                        result.add(unit);
+                    }
+                }
+            }
+        }
+        if (result.size() > 1) {
+            result.sort(BY_POSITION);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the unit closest to a coordinate that satisfies a condition.
+     * Cells are searched in growing square rings around the center; the search stops as soon
+     * as no unvisited cell can hold a closer unit.
+     * @param center The center of the search.
+     * @param predicate Condition on the units, or null to accept all.
+     * @return The nearest matching unit (of equally near ones, the first by q, then r), or empty if there is none.
+     */
+    public Optional<Unit> nearest(AxialCoord center, Predicate<Unit> predicate) {
+        if (center == null || cellOf.isEmpty()) return Optional.empty();
+        int ccq = cellQ(center.getQ());
+        int ccr = cellR(center.getR());
+        // Rings beyond this one lie entirely outside the grid
+        int maxRing = Math.max(Math.max(ccq, cellsQ - 1 - ccq), Math.max(ccr, cellsR - 1 - ccr));
+
+        Unit best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Any hex in ring k differs from the center by more than (k - 1) * CELL_SIZE along q or r,
+            // and the hex distance is at least that difference
+            if (ring > 0 && (ring - 1) * CELL_SIZE + 1 > bestDistance) break;
+            for (int cq = ccq - ring; cq <= ccq + ring; cq++) {
+                if (cq < 0 || cq >= cellsQ) continue;
+                boolean edgeColumn = cq == ccq - ring || cq == ccq + ring;
+                int step = edgeColumn ? 1 : 2 * ring; // Inner columns only touch the ring at top and bottom
+                for (int cr = ccr - ring; cr <= ccr + ring; cr += Math.max(1, step)) {
+                    if (cr < 0 || cr >= cellsR) continue;
+                    UnitRoster bucket = buckets[cq * cellsR + cr];
+                    if (bucket == null) continue;
+                    for (int i = 0; i < bucket.size(); i++) {
+                        Unit unit = bucket.get(i);
+                        int distance = center.distanceTo(unit.getPosition());
+                        boolean closer = distance < bestDistance || (distance == bestDistance
+                                && comparePositions(unit.getPosition(), best.getPosition()) < 0);
+                        if (closer && (predicate == null || predicate.test(unit))) {
+                            bestDistance = distance;
+                            best = unit;
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static int comparePositions(AxialCoord a, AxialCoord b) {
+        int byQ = Integer.compare(a.getQ(), b.getQ());
+        return byQ != 0 ? byQ : Integer.compare(a.getR(), b.getR());
+    }
+}
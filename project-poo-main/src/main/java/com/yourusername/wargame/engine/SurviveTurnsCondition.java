@@ -19,10 +19,14 @@ public class SurviveTurnsCondition implements VictoryCondition {
         this.targetTurns = targetTurns;
     }
     
+    public int getTargetTurns() {
+        return targetTurns;
+    }
+    
     @Override
     public boolean checkCondition(GameState gameState, Player player) {
         // Player must still have units and the turn number must be greater than target
-        return !player.getActiveUnits().isEmpty() && gameState.getCurrentTurnNumber() > targetTurns;
+        return player.hasActiveUnits() && gameState.getCurrentTurnNumber() > targetTurns;
     }
     
     @Override
@@ -0,0 +1,31 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.terrain.TerrainType;
+
+import java.io.Serializable;
+
+/**
+ * Read-only terrain of a board, addressed by dense hex index (see {@link Board#indexOf(int, int)}).
+ * A {@link Board} built on a layer creates its {@link Hex} objects only when they are first used,
+ * so a layer backed by a memory-mapped file (see {@link com.yourusername.wargame.io.MapFile})
+ * opens a huge map without reading it. Implementations must be immutable: copies of a board share its layer.
+ */
+public interface TerrainLayer extends Serializable {
+
+    /**
+     * @return The number of index slots covered by the layer.
+     */
+    int getIndexSize();
+
+    /**
+     * @return The number of slots holding a hex.
+     */
+    int getHexCount();
+
+    /**
+     * Gets the terrain of a slot.
+     * @param index The hex index, in [0, getIndexSize()).
+     * @return The terrain, or null for an empty slot.
+     */
+    TerrainType getTerrain(int index);
+}
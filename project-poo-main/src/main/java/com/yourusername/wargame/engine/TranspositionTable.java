@@ -0,0 +1,92 @@
+package com.yourusername.wargame.engine;
+
+/**
+ * Fixed-size, lock-free transposition table for game-tree search.
+ *
+ * Entries live in three parallel long arrays (no objects, no locks). Each slot stores its
+ * data word, its best action, and a check word equal to key ^ data ^ action. A probe is only
+ * accepted if the check still matches, so a slot torn by two concurrent writers is simply
+ * read as a miss instead of returning mixed data. Replacement is "always replace".
+ */
+class TranspositionTable {
+
+    static final int EXACT = 0;
+    static final int LOWER_BOUND = 1; // Value is at least the stored score (beta cut-off)
+    static final int UPPER_BOUND = 2; // Value is at most the stored score (failed low)
+
+    private final long[] checks;
+    private final long[] data;    // score (low 32 bits) | depth (8 bits) << 32 | bound (2 bits) << 40
+    private final long[] actions;
+    private final int mask;
+
+    /**
+     * Creates a table with 2^bits slots.
+     * @param bits The log2 of the number of slots.
+     */
+    TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 slots.");
+        }
+        int size = 1 << bits;
+        this.checks = new long[size];
+        this.data = new long[size];
+        this.actions = new long[size];
+        this.mask = size - 1;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    /**
+     * Stores a search result.
+     * @param key The position's hash.
+     * @param depth The remaining depth the score was searched to.
+     * @param score The score.
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param action The best action found.
+     */
+    void store(long key, int depth, int score, int bound, long action) {
+        int i = slot(key);
+        long word = (score & 0xFFFFFFFFL) | ((long) (depth & 0xFF) << 32) | ((long) bound << 40);
+        data[i] = word;
+        actions[i] = action;
+        checks[i] = key ^ word ^ action;
+    }
+
+    /**
+     * Looks up a position. The entry is copied out before it is verified, so a concurrent
+     * write can only turn a probe into a miss.
+     * @param key The position's hash.
+     * @param entry Receives {data word, action} on a hit.
+     * @return true on a hit.
+     */
+    boolean probe(long key, long[] entry) {
+        int i = slot(key);
+        long word = data[i];
+        long action = actions[i];
+        if (word == 0 || (checks[i] ^ word ^ action) != key) return false;
+        entry[0] = word;
+        entry[1] = action;
+        return true;
+    }
+
+    static int score(long word) {
+        return (int) word;
+    }
+
+    static int depth(long word) {
+        return (int) ((word >>> 32) & 0xFF);
+    }
+
+    static int bound(long word) {
+        return (int) ((word >>> 40) & 0x3);
+    }
+
+    /**
+     * @return The number of slots.
+     */
+    int capacity() {
+        return checks.length;
+    }
+}
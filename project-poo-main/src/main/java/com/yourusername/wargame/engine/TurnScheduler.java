@@ -0,0 +1,155 @@
+package com.yourusername.wargame.engine;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * Runs AI turns as discrete tasks instead of nested calls.
+ *
+ * An AI player ends its turn by calling {@link GameController#endTurn}, which schedules the next
+ * AI turn here. If a turn is already running further down the stack, the new turn is only queued:
+ * the loop in {@link #drain()} (a trampoline) runs it once the current turn has returned. AI-vs-AI
+ * games therefore run at constant stack depth, however many turns they last. When the controller has
+ * an {@link AiTurnExecutor}, each turn is submitted to it instead of being run on the calling thread.
+ *
+ * Turns can be paused, then run one at a time ({@link #step()}) or a few at once ({@link #fastForward(int)}).
+ */
+public class TurnScheduler implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final GameController controller;
+    private final ArrayDeque<Player> pending = new ArrayDeque<>();
+    private boolean paused;
+    private int allowance;      // Turns that may still run while paused (step / fast-forward)
+    private boolean draining;   // A drain loop is running; nested schedules only queue
+    private long turnsRun;
+
+    TurnScheduler(GameController controller) {
+        this.controller = Objects.requireNonNull(controller, "Controller cannot be null");
+    }
+
+    /**
+     * Queues an AI player's turn and runs it unless paused or already inside a turn.
+     * @param player The AI player whose turn it is.
+     */
+    void schedule(Player player) {
+        synchronized (this) {
+            pending.add(Objects.requireNonNull(player, "Player cannot be null"));
+        }
+        drain();
+    }
+
+    /**
+     * Drops every queued turn (new game).
+     */
+    synchronized void clear() {
+        pending.clear();
+        allowance = 0;
+    }
+
+    // Trampoline: runs queued turns one after the other until none is runnable
+    private void drain() {
+        while (true) {
+            Player next;
+            synchronized (this) {
+                if (draining) return; // The loop below us picks the turn up
+                next = takeRunnable();
+                if (next == null) return;
+                draining = true;
+            }
+            try {
+                runTurn(next);
+            } finally {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    private Player takeRunnable() {
+        if (pending.isEmpty()) return null;
+        if (paused) {
+            if (allowance == 0) return null;
+            allowance--;
+        }
+        turnsRun++;
+        return pending.poll();
+    }
+
+    private void runTurn(Player player) {
+        // A turn queued for a game that has since moved on is skipped
+        GameState gameState = controller.getGameState();
+        if (!controller.isGameRunning() || gameState.getCurrentPlayer() != player) return;
+
+        AiTurnExecutor executor = controller.getAiTurnExecutor();
+        if (executor != null) {
+            executor.submit(controller, player); // Its endTurn schedules the next turn from the worker
+        } else {
+            player.performTurn(controller);      // Its endTurn only queues the next turn
+        }
+    }
+
+    // --- Flow control ---
+
+    /**
+     * Stops running AI turns; scheduled turns wait until {@link #resume()}, {@link #step()} or {@link #fastForward(int)}.
+     * A turn already running finishes normally.
+     */
+    public synchronized void pause() {
+        paused = true;
+    }
+
+    /**
+     * Runs AI turns again as soon as they are scheduled, starting with any waiting turn.
+     */
+    public void resume() {
+        synchronized (this) {
+            paused = false;
+            allowance = 0;
+        }
+        drain();
+    }
+
+    /**
+     * Runs the next AI turn while paused.
+     */
+    public void step() {
+        fastForward(1);
+    }
+
+    /**
+     * Runs the next AI turns back to back while paused, then stays paused.
+     * Has no effect on a scheduler that is not paused.
+     * @param turns The number of AI turns to run.
+     */
+    public void fastForward(int turns) {
+        if (turns <= 0) {
+            throw new IllegalArgumentException("Number of turns must be positive.");
+        }
+        synchronized (this) {
+            if (!paused) return;
+            allowance += turns;
+        }
+        drain();
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return The number of AI turns waiting to run.
+     */
+    public synchronized int getPendingTurns() {
+        return pending.size();
+    }
+
+    /**
+     * @return The number of AI turns started since the controller was created.
+     */
+    public synchronized long getTurnsRun() {
+        return turnsRun;
+    }
+}
@@ -0,0 +1,99 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo and redo of the moves of the current turn, for {@link GameController}.
+ *
+ * The moves themselves are made through an {@link ActionStack}, whose records hold only what a
+ * move changed (a unit's position, movement points and flags), so the history costs a few dozen
+ * bytes per move whatever the size of the board. Undoing a move unmakes it, restoring board
+ * occupancy, unit list orders and fog exactly; redoing it plays the same move again.
+ * Actions that showed the player something (an attack's roll, hexes that were fogged) are made
+ * through the stack too, then {@link #clear() commit} it: they and everything before them are
+ * permanent, as are the actions of earlier turns, since the history is also cleared at each end of turn.
+ * Not thread-safe: the controller calls it with its lock held.
+ */
+final class UndoHistory {
+
+    /** A move of the history, as needed to play it again. */
+    static final class Move {
+        final Unit unit;
+        final AxialCoord destination;
+
+        private Move(Unit unit, AxialCoord destination) {
+            this.unit = unit;
+            this.destination = destination;
+        }
+
+        static Move of(Unit unit, AxialCoord destination) {
+            return new Move(unit, destination);
+        }
+    }
+
+    private final ActionStack stack;
+    private final List<Move> done = new ArrayList<>();   // Parallel to the stack's records
+    private final List<Move> undone = new ArrayList<>(); // Latest undone last
+
+    UndoHistory(GameState gameState, FogOfWar fogOfWar) {
+        this.stack = new ActionStack(gameState, fogOfWar);
+    }
+
+    /**
+     * @return The stack to make the next action through; once it is made, call {@link #recorded}
+     *         for a move that can be taken back, or {@link #clear} to commit it.
+     */
+    ActionStack getStack() {
+        return stack;
+    }
+
+    void recorded(Move move) {
+        done.add(move);
+    }
+
+    boolean canUndo() {
+        return !done.isEmpty();
+    }
+
+    boolean canRedo() {
+        return !undone.isEmpty();
+    }
+
+    /**
+     * Unmakes the latest move and moves it to the redo list.
+     * @return The move undone.
+     */
+    Move undo() {
+        Move move = done.remove(done.size() - 1);
+        stack.unmake();
+        undone.add(move);
+        return move;
+    }
+
+    /**
+     * Takes the move to redo off the redo list; the caller plays it again.
+     * @return The latest undone move.
+     */
+    Move takeRedo() {
+        return undone.remove(undone.size() - 1);
+    }
+
+    /**
+     * Drops the redo list (a new move makes it obsolete).
+     */
+    void clearRedo() {
+        undone.clear();
+    }
+
+    /**
+     * Makes every action permanent and forgets them.
+     */
+    void clear() {
+        stack.clear();
+        done.clear();
+        undone.clear();
+    }
+}
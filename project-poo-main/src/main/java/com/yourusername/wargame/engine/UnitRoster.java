@@ -0,0 +1,138 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Dense, unordered set of units with O(1) add, remove and membership tests.
+ * Units are packed in an array; removal moves the last unit into the freed slot.
+ * Iterate without allocating via {@link #size()} and {@link #get(int)}.
+ */
+public class UnitRoster implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Unit[] units;
+    private int size;
+    private final Map<Unit, Integer> slots; // Unit -> array slot
+
+    public UnitRoster() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty roster sized for an expected number of units.
+     * @param expectedSize The expected number of units.
+     */
+    public UnitRoster(int expectedSize) {
+        this.units = new Unit[Math.max(1, expectedSize)];
+        this.slots = new IdentityHashMap<>(Math.max(1, expectedSize));
+    }
+
+    /**
+     * Adds a unit if it is not already present.
+     * @param unit The unit to add.
+     * @return true if the unit was added.
+     */
+    public boolean add(Unit unit) {
+        if (unit == null || slots.putIfAbsent(unit, size) != null) return false;
+        if (size == units.length) {
+            units = Arrays.copyOf(units, size * 2);
+        }
+        units[size] = unit;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a unit, moving the last unit into its slot.
+     * @param unit The unit to remove.
+     * @return The slot the unit occupied (pass it to {@link #restore} to undo), or -1 if absent.
+     */
+    public int remove(Unit unit) {
+        Integer slot = slots.remove(unit);
+        if (slot == null) return -1;
+        int last = --size;
+        if (slot != last) {
+            Unit moved = units[last];
+            units[slot] = moved;
+            slots.put(moved, slot);
+        }
+        units[last] = null;
+        return slot;
+    }
+
+    /**
+     * Re-inserts a removed unit at the slot returned by {@link #remove}, restoring the exact prior order.
+     * Must be applied in reverse order of removals.
+     * @param unit The unit to re-insert.
+     * @param slot The slot it previously occupied.
+     */
+    public void restore(Unit unit, int slot) {
+        if (unit == null || slots.containsKey(unit)) return;
+        if (slot < 0 || slot > size) {
+            throw new IllegalArgumentException("Invalid roster slot: " + slot);
+        }
+        add(unit);
+        if (slot != size - 1) {
+            // Undo the swap performed by remove(): the unit at slot goes back to the end
+            Unit displaced = units[slot];
+            units[slot] = unit;
+            units[size - 1] = displaced;
+            slots.put(unit, slot);
+            slots.put(displaced, size - 1);
+        }
+    }
+
+    public boolean contains(Unit unit) {
+        return unit != null && slots.containsKey(unit);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the unit at a slot, for allocation-free iteration.
+     * @param i The slot, in [0, size()).
+     * @return The unit.
+     */
+    public Unit get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Roster slot " + i + " out of bounds for size " + size);
+        }
+        return units[i];
+    }
+
+    public void clear() {
+        Arrays.fill(units, 0, size, null);
+        size = 0;
+        slots.clear();
+    }
+
+    /**
+     * Copies this roster onto another set of units, keeping the slot order.
+     * @param mapper Maps every unit to its counterpart.
+     * @return The new roster.
+     */
+    public UnitRoster copy(Function<Unit, Unit> mapper) {
+        UnitRoster copy = new UnitRoster(units.length);
+        for (int i = 0; i < size; i++) {
+            copy.add(mapper.apply(units[i]));
+        }
+        return copy;
+    }
+
+    /**
+     * @return A new list with the roster's units, in slot order.
+     */
+    public List<Unit> toList() {
+        return new ArrayList<>(Arrays.asList(units).subList(0, size));
+    }
+}
@@ -1,6 +1,7 @@
 package com.yourusername.wargame.engine;
 
 import java.io.Serializable;
+import java.util.Map;
 
 /**
  * Interface for checking victory conditions in the game.
@@ -22,4 +23,14 @@ public interface VictoryCondition extends Serializable {
     default String getDescription() {
         return "Default victory condition description.";
     }
+
+    /**
+     * Gets the equivalent condition for a copied game state.
+     * Conditions that do not reference players can be shared, which is the default.
+     * @param playerMapping Maps each original player to its copy.
+     * @return The condition to use in the copy.
+     */
+    default VictoryCondition copyFor(Map<Player, Player> playerMapping) {
+        return this;
+    }
 }
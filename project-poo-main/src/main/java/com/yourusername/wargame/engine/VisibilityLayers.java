@@ -0,0 +1,200 @@
+package com.yourusername.wargame.engine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Per-player visibility bitsets for a board, keyed by dense hex index.
+ * Bit i of player p's layer is set when hex i is visible to player p.
+ * Supports any number of players (layers are created on first use) and word-wide bulk
+ * operations such as allied-vision unions, "newly revealed" diffs and popcounts.
+ */
+public class VisibilityLayers implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int indexSize; // Number of hex indices covered
+    private final int words;     // longs per layer
+    private long[][] layers = new long[0][];
+
+    public VisibilityLayers(int indexSize) {
+        if (indexSize < 0) {
+            throw new IllegalArgumentException("Index size cannot be negative.");
+        }
+        this.indexSize = indexSize;
+        this.words = (indexSize + 63) >>> 6;
+    }
+
+    /**
+     * Creates an independent copy of these layers.
+     * @return A new instance with the same bits.
+     */
+    public VisibilityLayers copy() {
+        VisibilityLayers copy = new VisibilityLayers(indexSize);
+        copy.layers = new long[layers.length][];
+        for (int p = 0; p < layers.length; p++) {
+            copy.layers[p] = layers[p] == null ? null : layers[p].clone();
+        }
+        return copy;
+    }
+
+    // Layer of a player, creating empty layers up to that index if needed
+    private long[] layer(int playerIndex) {
+        if (playerIndex < 0) {
+            throw new IllegalArgumentException("Player index cannot be negative: " + playerIndex);
+        }
+        if (playerIndex >= layers.length) {
+            layers = Arrays.copyOf(layers, playerIndex + 1);
+        }
+        long[] layer = layers[playerIndex];
+        if (layer == null) {
+            layer = new long[words];
+            layers[playerIndex] = layer;
+        }
+        return layer;
+    }
+
+    /**
+     * @return The number of hex indices each layer covers.
+     */
+    public int getIndexSize() {
+        return indexSize;
+    }
+
+    /**
+     * @return The number of player layers allocated so far.
+     */
+    public int getPlayerCount() {
+        return layers.length;
+    }
+
+    /**
+     * Tests whether a hex is visible to a player. O(1).
+     * @param playerIndex The player's index.
+     * @param hexIndex The hex index.
+     * @return true if the bit is set; false for unknown players or out-of-range indices.
+     */
+    public boolean isVisible(int playerIndex, int hexIndex) {
+        if (playerIndex < 0 || playerIndex >= layers.length || hexIndex < 0 || hexIndex >= indexSize) {
+            return false;
+        }
+        long[] layer = layers[playerIndex];
+        return layer != null && (layer[hexIndex >>> 6] & (1L << hexIndex)) != 0;
+    }
+
+    /**
+     * Sets or clears a hex's visibility for a player.
+     * @param playerIndex The player's index.
+     * @param hexIndex The hex index.
+     * @param visible The new visibility.
+     */
+    public void setVisible(int playerIndex, int hexIndex, boolean visible) {
+        if (hexIndex < 0 || hexIndex >= indexSize) return;
+        long[] layer = layer(playerIndex);
+        if (visible) {
+            layer[hexIndex >>> 6] |= 1L << hexIndex;
+        } else {
+            layer[hexIndex >>> 6] &= ~(1L << hexIndex);
+        }
+    }
+
+    /**
+     * Clears a hex's visibility for every player.
+     * @param hexIndex The hex index.
+     */
+    public void clearHex(int hexIndex) {
+        if (hexIndex < 0 || hexIndex >= indexSize) return;
+        long mask = ~(1L << hexIndex);
+        for (long[] layer : layers) {
+            if (layer != null) layer[hexIndex >>> 6] &= mask;
+        }
+    }
+
+    /**
+     * Clears every layer.
+     */
+    public void clearAll() {
+        for (long[] layer : layers) {
+            if (layer != null) Arrays.fill(layer, 0L);
+        }
+    }
+
+    /**
+     * Counts the hexes visible to a player.
+     * @param playerIndex The player's index.
+     * @return The number of set bits in the player's layer.
+     */
+    public int countVisible(int playerIndex) {
+        if (playerIndex < 0 || playerIndex >= layers.length || layers[playerIndex] == null) return 0;
+        int count = 0;
+        for (long word : layers[playerIndex]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Copies a player's layer, e.g. to diff against later with {@link #newlyRevealed}.
+     * @param playerIndex The player's index.
+     * @return A new bitset (all clear for an unknown player).
+     */
+    public long[] snapshot(int playerIndex) {
+        if (playerIndex < 0 || playerIndex >= layers.length || layers[playerIndex] == null) {
+            return new long[words];
+        }
+        return layers[playerIndex].clone();
+    }
+
+    /**
+     * Computes the combined vision of several players (allied vision).
+     * @param playerIndices The players to combine.
+     * @return A new bitset with a bit set wherever any of the players sees the hex.
+     */
+    public long[] union(int... playerIndices) {
+        long[] result = new long[words];
+        for (int playerIndex : playerIndices) {
+            if (playerIndex < 0 || playerIndex >= layers.length || layers[playerIndex] == null) continue;
+            long[] layer = layers[playerIndex];
+            for (int w = 0; w < words; w++) {
+                result[w] |= layer[w];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the hexes a player sees now but did not see in an earlier snapshot.
+     * @param playerIndex The player's index.
+     * @param previous A bitset from {@link #snapshot(int)}.
+     * @return A new bitset of newly revealed hexes.
+     */
+    public long[] newlyRevealed(int playerIndex, long[] previous) {
+        long[] current = snapshot(playerIndex);
+        for (int w = 0; w < words && w < previous.length; w++) {
+            current[w] &= ~previous[w];
+        }
+        return current;
+    }
+
+    /**
+     * Tests a bit in a bitset returned by this class.
+     * @param bits The bitset.
+     * @param hexIndex The hex index.
+     * @return true if the bit is set.
+     */
+    public static boolean isSet(long[] bits, int hexIndex) {
+        return hexIndex >= 0 && (hexIndex >>> 6) < bits.length && (bits[hexIndex >>> 6] & (1L << hexIndex)) != 0;
+    }
+
+    /**
+     * Counts the set bits of a bitset returned by this class.
+     * @param bits The bitset.
+     * @return The popcount.
+     */
+    public static int count(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
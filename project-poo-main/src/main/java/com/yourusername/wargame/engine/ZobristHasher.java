@@ -0,0 +1,51 @@
+package com.yourusername.wargame.engine;
+
+import com.yourusername.wargame.model.unit.Unit;
+
+/**
+ * Zobrist hashing of game positions for transposition detection.
+ * A position's key XORs one random 64-bit key per feature: each unit's (hex, unit type, owner,
+ * exact hit points, action flags), and the side to move. Terrain never changes, so hex occupancy
+ * fully describes the board.
+ *
+ * Keys are not stored in tables (a table per hex and hit point value would grow with the map,
+ * to gigabytes on the largest ones): each is derived on demand with the SplitMix64 finalizer
+ * ({@link RandomStreams#mix}) from the hex index and the packed unit features. They are fixed,
+ * so hashes are reproducible between runs; two features sharing a key is as unlikely as a
+ * collision between random 64-bit keys, which is negligible.
+ */
+class ZobristHasher {
+
+    private static final long HEX_SEED = 0x5DEECE66DL;
+    private static final long SIDE_SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Computes the key of a position.
+     * @param gameState The position.
+     * @return Its 64-bit hash.
+     */
+    long hash(GameState gameState) {
+        Board board = gameState.getBoard();
+        long key = RandomStreams.mix(SIDE_SEED ^ gameState.getCurrentPlayerIndex());
+        for (int p = 0; p < gameState.getPlayers().size(); p++) {
+            Player player = gameState.getPlayers().get(p);
+            for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                Unit unit = player.getActiveUnit(i);
+                AxialCoord position = unit.getPosition();
+                int hex = board.indexOf(position.getQ(), position.getR());
+                if (hex < 0) continue;
+                key ^= unitKey(hex, unit, p);
+            }
+        }
+        return key;
+    }
+
+    // Features packed as: hit points (bits 18+), type (10-17), owner (2-9), moved/attacked flags (0-1)
+    private static long unitKey(int hex, Unit unit, int owner) {
+        long features = (long) unit.getCurrentHitPoints() << 18
+                | (long) unit.getUnitType().ordinal() << 10
+                | (long) (owner & 0xFF) << 2
+                | (unit.hasMovedThisTurn() ? 2 : 0) | (unit.hasAttackedThisTurn() ? 1 : 0);
+        return RandomStreams.mix(RandomStreams.mix(HEX_SEED ^ hex) ^ features);
+    }
+}
@@ -0,0 +1,231 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.ActionRecorder;
+import com.yourusername.wargame.engine.GameController;
+import com.yourusername.wargame.engine.GameLog;
+import com.yourusername.wargame.engine.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records one game as a compact binary journal, from which {@link JournalReplay} can rebuild
+ * the state at any turn.
+ *
+ * Layout, version 1: a header (int magic "WGJR", short version, short flags (0), long seed),
+ * then one record per action, each a tag byte followed by varints (see {@link Varint}):
+ * <pre>
+ * MOVE        from hex index, zigzag(to - from)
+ * ATTACK      attacker hex index, zigzag(defender - attacker)
+ * END_TURN    AI random streams handed out during the turn
+ * UNDO        (nothing: takes back the latest move; a redo is recorded as the move again)
+ * CHECKPOINT  turn number, actions recorded so far, length, then the state in {@link BinarySaveFormat}
+ * </pre>
+ * Moves and attacks take two to five bytes. A checkpoint is written when the game starts and
+ * then at the start of every {@code checkpointInterval}-th turn, so seeking never replays more
+ * than that many turns. Records are flushed to the file at each end of turn. Ends of turn carry
+ * the AI streams used so that a game rebuilt from the journal can go on exactly as the original.
+ *
+ * Attach a journal with {@link GameController#setActionRecorder} before starting the game.
+ * Recording never interrupts the game: after an I/O error the journal logs it, stops writing,
+ * and reports it through {@link #getError()}.
+ */
+public class ActionJournal implements ActionRecorder, Closeable {
+
+    public static final int MAGIC = 0x57474A52; // "WGJR"
+    public static final short VERSION = 1;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+
+    static final int HEADER_SIZE = 4 + 2 + 2 + 8;
+
+    // Record tags
+    static final byte MOVE = 1;
+    static final byte ATTACK = 2;
+    static final byte END_TURN = 3;
+    static final byte CHECKPOINT = 4;
+    static final byte UNDO = 5;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RECORD_SIZE = 1 + 2 * Varint.MAX_LONG_BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final int checkpointInterval;
+    private boolean started;
+    private long actionCount;
+    private long aiDecisionCount; // As of the last end of turn or checkpoint
+    private int checkpointCount;
+    private IOException error;
+
+    /**
+     * Creates a journal file, replacing it if it exists.
+     * @param file The journal file.
+     * @param checkpointInterval Turns between two checkpoints (1 = a checkpoint every turn).
+     * @throws IOException if the file cannot be created.
+     */
+    public ActionJournal(Path file, int checkpointInterval) throws IOException {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public ActionJournal(Path file) throws IOException {
+        this(file, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    // --- ActionRecorder ---
+
+    @Override
+    public void onGameStarted(GameController controller) {
+        if (error != null) return;
+        if (started) {
+            fail(new IOException("A journal records a single game; use a new journal for the next one."));
+            return;
+        }
+        started = true;
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        buffer.putLong(controller.getRandomStreams().getMasterSeed());
+        checkpoint(controller);
+    }
+
+    @Override
+    public void onMove(GameController controller, int fromIndex, int toIndex) {
+        if (!recording()) return;
+        ensureRoom(MAX_RECORD_SIZE);
+        buffer.put(MOVE);
+        Varint.putUnsigned(buffer, fromIndex);
+        Varint.putSigned(buffer, toIndex - fromIndex);
+        actionCount++;
+    }
+
+    @Override
+    public void onAttack(GameController controller, int attackerIndex, int defenderIndex) {
+        if (!recording()) return;
+        ensureRoom(MAX_RECORD_SIZE);
+        buffer.put(ATTACK);
+        Varint.putUnsigned(buffer, attackerIndex);
+        Varint.putSigned(buffer, defenderIndex - attackerIndex);
+        actionCount++;
+    }
+
+    @Override
+    public void onUndo(GameController controller) {
+        if (!recording()) return;
+        ensureRoom(1);
+        buffer.put(UNDO);
+        actionCount++;
+    }
+
+    @Override
+    public void onEndTurn(GameController controller) {
+        if (!recording()) return;
+        ensureRoom(1 + Varint.MAX_LONG_BYTES);
+        buffer.put(END_TURN);
+        Varint.putUnsigned(buffer, controller.getAiDecisionCount() - aiDecisionCount);
+        aiDecisionCount = controller.getAiDecisionCount();
+        actionCount++;
+        GameState gameState = controller.getGameState();
+        if (gameState.getCurrentPlayerIndex() == 0 && gameState.getCurrentTurnNumber() % checkpointInterval == 0) {
+            checkpoint(controller);
+        } else {
+            flush();
+        }
+    }
+
+    // --- Writing ---
+
+    private boolean recording() {
+        return started && error == null;
+    }
+
+    // Full state, so that replays can start here; also flushes everything before it
+    private void checkpoint(GameController controller) {
+        try {
+            ByteBuffer state = BinarySaveFormat.encode(SavedGame.of(controller));
+            ensureRoom(1 + 3 * Varint.MAX_LONG_BYTES);
+            buffer.put(CHECKPOINT);
+            Varint.putUnsigned(buffer, controller.getGameState().getCurrentTurnNumber());
+            Varint.putUnsigned(buffer, actionCount);
+            Varint.putUnsigned(buffer, state.remaining());
+            drain();
+            aiDecisionCount = controller.getAiDecisionCount();
+            while (state.hasRemaining()) {
+                channel.write(state);
+            }
+            checkpointCount++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        try {
+            drain();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void fail(IOException e) {
+        error = e;
+        buffer.clear();
+        GameLog.error(() -> "Action journal stopped: " + e.getMessage());
+    }
+
+    /**
+     * @return The number of moves, attacks, undos and ends of turn recorded.
+     */
+    public long getActionCount() {
+        return actionCount;
+    }
+
+    public int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    /**
+     * @return The error that stopped the journal, or null if it is still recording.
+     */
+    public IOException getError() {
+        return error;
+    }
+
+    /**
+     * Writes the pending records and closes the file.
+     * @throws IOException if the records cannot be written, or if recording had already failed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (error == null) {
+                drain();
+            }
+        } finally {
+            channel.close();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
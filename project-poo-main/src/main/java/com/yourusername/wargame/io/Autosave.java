@@ -0,0 +1,572 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.ActionRecorder;
+import com.yourusername.wargame.engine.GameController;
+import com.yourusername.wargame.engine.GameLog;
+import com.yourusername.wargame.engine.GameState;
+import com.yourusername.wargame.engine.Player;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Saves the game at every end of turn without holding it up, writing only what changed.
+ *
+ * At each turn boundary the game thread copies the units' positions, hit points, movement points
+ * and flags into a few int arrays, and does nothing else: the players and the board, which do not
+ * change during a game, are encoded once when it starts. A background writer
+ * then compares them with the last save and appends to a delta file only the units that changed,
+ * and the unit order of the players that lost units. Terrain never changes during a game, so hexes
+ * need no deltas: their occupancy follows from the unit positions. Every {@code fullEvery} deltas,
+ * and when a game starts or is resumed, the base image is rewritten instead, in the
+ * {@link BinarySaveFormat}, and the delta file starts over.
+ *
+ * Files: the base image at the given path, and the deltas next to it ({@code <name>.delta}):
+ * <pre>
+ * header   int magic "WGAD", short version, short flags (0), long base size, long base CRC-32
+ * deltas   int length, then varints (see {@link Varint}):
+ *          turn, current player, combat count, AI decision count,
+ *          changed unit count, per unit: record, zigzag q, zigzag r, hit points, movement points, flags,
+ *          changed roster count, per roster: player, unit count, unit records
+ * </pre>
+ * Units are identified by their record number in the base image. {@link #load} folds the deltas onto the base;
+ * deltas written for an older base (crash during a rewrite), and a last delta cut short, are ignored.
+ *
+ * Attach with {@link GameController#setActionRecorder}; {@link #close()} writes the pending save.
+ */
+public class Autosave implements ActionRecorder, Closeable {
+
+    public static final int DELTA_MAGIC = 0x57474144; // "WGAD"
+    public static final short DELTA_VERSION = 1;
+    public static final int DEFAULT_FULL_EVERY = 20;
+    public static final String DELTA_SUFFIX = ".delta";
+
+    private static final int DELTA_HEADER_SIZE = 4 + 2 + 2 + 8 + 8;
+    // Ints per unit in a snapshot: type and owner, position, hit and movement points, flags
+    private static final int STATE_INTS = 4;
+
+    /** The units at a turn boundary, with the static part of the image they belong to. */
+    private static final class Snapshot {
+        final byte[] prefix;     // Header (patched when written), players and board of the base image
+        final boolean full;      // Ids were renumbered: the base must be rewritten
+        final int turn;
+        final int currentPlayer;
+        final long combatCount;
+        final long aiDecisionCount;
+        final int[][] rosters;   // Per player, unit ids in the player's unit order
+        final int[] states;      // Per unit id, STATE_INTS ints
+
+        Snapshot(byte[] prefix, boolean full, int turn, int currentPlayer, long combatCount,
+                 long aiDecisionCount, int[][] rosters, int[] states) {
+            this.prefix = prefix;
+            this.full = full;
+            this.turn = turn;
+            this.currentPlayer = currentPlayer;
+            this.combatCount = combatCount;
+            this.aiDecisionCount = aiDecisionCount;
+            this.rosters = rosters;
+            this.states = states;
+        }
+
+        Snapshot asFull() {
+            return new Snapshot(prefix, true, turn, currentPlayer, combatCount, aiDecisionCount, rosters, states);
+        }
+    }
+
+    private final Path baseFile;
+    private final Path deltaFile;
+    private final int fullEvery;
+    private final ExecutorService writer;
+
+    // Game thread
+    private final Map<Unit, Integer> ids = new IdentityHashMap<>(); // Unit -> id, renumbered with each new base
+    private byte[] prefix;
+    private int deltasSinceFull;
+
+    // Handed from the game thread to the writer; a save not yet taken is replaced by the next one
+    private Snapshot pending;
+    private volatile boolean closed; // Set under the lock by close(): no more saves are handed over
+
+    // Writer thread
+    private Snapshot written;        // The state the files hold
+    private int[] recordOf;          // Unit id -> record number in the base file, -1 if not in it
+    private FileChannel deltaChannel;
+    private volatile int deltaCount;
+    private volatile IOException error;
+
+    /**
+     * Creates an autosave. Nothing is written until a game is started or resumed.
+     * @param file The base image; the deltas go next to it.
+     * @param fullEvery Deltas between two rewrites of the base.
+     */
+    public Autosave(Path file, int fullEvery) {
+        if (fullEvery <= 0) {
+            throw new IllegalArgumentException("Deltas between full saves must be positive.");
+        }
+        this.baseFile = file.toAbsolutePath();
+        this.deltaFile = deltaFileOf(baseFile);
+        this.fullEvery = fullEvery;
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "autosave-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Autosave(Path file) {
+        this(file, DEFAULT_FULL_EVERY);
+    }
+
+    private static Path deltaFileOf(Path baseFile) {
+        return baseFile.resolveSibling(baseFile.getFileName() + DELTA_SUFFIX);
+    }
+
+    // --- ActionRecorder: saves at turn boundaries only ---
+
+    @Override
+    public void onGameStarted(GameController controller) {
+        if (closed || error != null) return;
+        try {
+            // The static part of the image is encoded once per game
+            ByteBuffer image = BinarySaveFormat.encode(SavedGame.of(controller));
+            int unitCount = Short.toUnsignedInt(image.getShort(BinarySaveFormat.UNIT_COUNT_OFFSET));
+            prefix = Arrays.copyOf(image.array(), image.limit() - unitCount * BinarySaveFormat.UNIT_RECORD_SIZE);
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        capture(controller, true);
+    }
+
+    @Override
+    public void onMove(GameController controller, int fromIndex, int toIndex) {
+    }
+
+    @Override
+    public void onAttack(GameController controller, int attackerIndex, int defenderIndex) {
+    }
+
+    @Override
+    public void onUndo(GameController controller) {
+    }
+
+    @Override
+    public void onEndTurn(GameController controller) {
+        if (closed || error != null || prefix == null) return;
+        capture(controller, deltasSinceFull >= fullEvery);
+    }
+
+    // Copies the units of the game and hands them to the writer
+    private void capture(GameController controller, boolean full) {
+        GameState gameState = controller.getGameState();
+        List<Player> players = gameState.getPlayers();
+        if (full) {
+            ids.clear();
+            for (Player player : players) {
+                for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                    ids.put(player.getActiveUnit(i), ids.size());
+                }
+            }
+            deltasSinceFull = 0;
+        } else {
+            deltasSinceFull++;
+        }
+
+        int[][] rosters = new int[players.size()][];
+        int[] states = new int[ids.size() * STATE_INTS];
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            rosters[p] = new int[player.getActiveUnitCount()];
+            for (int i = 0; i < rosters[p].length; i++) {
+                Unit unit = player.getActiveUnit(i);
+                Integer id = ids.get(unit);
+                if (id == null) {
+                    // A unit the base does not know: number the units again
+                    capture(controller, true);
+                    return;
+                }
+                rosters[p][i] = id;
+                int at = id * STATE_INTS;
+                states[at] = (unit.getUnitType().ordinal() << 8) | p;
+                states[at + 1] = (unit.getPosition().getQ() << 16) | (unit.getPosition().getR() & 0xFFFF);
+                states[at + 2] = (unit.getCurrentHitPoints() << 16) | (unit.getCurrentMovementPoints() & 0xFFFF);
+                states[at + 3] = (unit.hasMovedThisTurn() ? BinarySaveFormat.MOVED : 0)
+                        | (unit.hasAttackedThisTurn() ? BinarySaveFormat.ATTACKED : 0);
+            }
+        }
+        Snapshot snapshot = new Snapshot(prefix, full, gameState.getCurrentTurnNumber(),
+                gameState.getCurrentPlayerIndex(), controller.getCombatCount(), controller.getAiDecisionCount(),
+                rosters, states);
+
+        synchronized (this) {
+            if (closed) return; // Closed while the units were copied
+            if (pending == null) {
+                writer.execute(this::writePending);
+            } else if (pending.full) {
+                snapshot = snapshot.asFull(); // Its ids are only valid against a new base
+            }
+            pending = snapshot;
+        }
+    }
+
+    // --- Writing (writer thread) ---
+
+    private void writePending() {
+        Snapshot snapshot;
+        synchronized (this) {
+            snapshot = pending;
+            pending = null;
+        }
+        if (snapshot == null || error != null) return;
+        try {
+            if (snapshot.full || written == null || !inBase(snapshot)) {
+                writeBase(snapshot);
+            } else {
+                writeDelta(snapshot);
+            }
+            written = snapshot;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // True if every unit of a snapshot has a record in the base file
+    private boolean inBase(Snapshot snapshot) {
+        for (int[] roster : snapshot.rosters) {
+            for (int id : roster) {
+                if (id >= recordOf.length || recordOf[id] < 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeBase(Snapshot snapshot) throws IOException {
+        ByteBuffer image = image(snapshot);
+        // Records follow the unit order, which differs from the ids once units are lost
+        recordOf = new int[snapshot.states.length / STATE_INTS];
+        Arrays.fill(recordOf, -1);
+        int record = 0;
+        for (int[] roster : snapshot.rosters) {
+            for (int id : roster) {
+                recordOf[id] = record++;
+            }
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(image.duplicate());
+
+        // Written aside, then moved over the old base: a crash leaves one complete base or the other
+        Path temporary = baseFile.resolveSibling(baseFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, image);
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, baseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, baseFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (deltaChannel != null) {
+            deltaChannel.close();
+        }
+        deltaChannel = FileChannel.open(deltaFile, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(DELTA_HEADER_SIZE);
+        header.putInt(DELTA_MAGIC).putShort(DELTA_VERSION).putShort((short) 0);
+        header.putLong(image.limit()).putLong(checksum.getValue());
+        header.flip();
+        writeFully(deltaChannel, header);
+        deltaCount = 0;
+    }
+
+    private void writeDelta(Snapshot snapshot) throws IOException {
+        int[] states = snapshot.states;
+        int[] before = written.states;
+        int changedUnits = 0;
+        for (int[] roster : snapshot.rosters) {
+            for (int id : roster) {
+                if (changed(states, before, id)) changedUnits++;
+            }
+        }
+        int changedRosters = 0;
+        int rosterIds = 0;
+        for (int p = 0; p < snapshot.rosters.length; p++) {
+            if (!Arrays.equals(snapshot.rosters[p], written.rosters[p])) {
+                changedRosters++;
+                rosterIds += snapshot.rosters[p].length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 6 * Varint.MAX_LONG_BYTES
+                + changedUnits * 6 * Varint.MAX_LONG_BYTES + changedRosters * 2 * Varint.MAX_LONG_BYTES
+                + rosterIds * Varint.MAX_LONG_BYTES);
+        buffer.position(4); // Length, filled in below
+        Varint.putUnsigned(buffer, snapshot.turn);
+        Varint.putUnsigned(buffer, snapshot.currentPlayer);
+        Varint.putUnsigned(buffer, snapshot.combatCount);
+        Varint.putUnsigned(buffer, snapshot.aiDecisionCount);
+        Varint.putUnsigned(buffer, changedUnits);
+        for (int[] roster : snapshot.rosters) {
+            for (int id : roster) {
+                if (!changed(states, before, id)) continue;
+                int at = id * STATE_INTS;
+                Varint.putUnsigned(buffer, recordOf[id]);
+                Varint.putSigned(buffer, states[at + 1] >> 16);
+                Varint.putSigned(buffer, (short) states[at + 1]);
+                Varint.putUnsigned(buffer, states[at + 2] >>> 16);
+                Varint.putUnsigned(buffer, states[at + 2] & 0xFFFF);
+                Varint.putUnsigned(buffer, states[at + 3]);
+            }
+        }
+        Varint.putUnsigned(buffer, changedRosters);
+        for (int p = 0; p < snapshot.rosters.length; p++) {
+            if (Arrays.equals(snapshot.rosters[p], written.rosters[p])) continue;
+            Varint.putUnsigned(buffer, p);
+            Varint.putUnsigned(buffer, snapshot.rosters[p].length);
+            for (int id : snapshot.rosters[p]) {
+                Varint.putUnsigned(buffer, recordOf[id]);
+            }
+        }
+        buffer.putInt(0, buffer.position() - 4);
+        buffer.flip();
+        writeFully(deltaChannel, buffer);
+        deltaCount++;
+    }
+
+    private static boolean changed(int[] states, int[] before, int id) {
+        int at = id * STATE_INTS;
+        return states[at + 1] != before[at + 1] || states[at + 2] != before[at + 2] || states[at + 3] != before[at + 3];
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // The save image of a snapshot: its prefix, patched, followed by the unit records
+    private static ByteBuffer image(Snapshot snapshot) throws IOException {
+        int unitCount = 0;
+        for (int[] roster : snapshot.rosters) {
+            unitCount += roster.length;
+        }
+        if (unitCount > 0xFFFF) {
+            throw new IOException("Too many units to save: " + unitCount);
+        }
+        ByteBuffer image = ByteBuffer.allocate(snapshot.prefix.length + unitCount * BinarySaveFormat.UNIT_RECORD_SIZE);
+        image.put(snapshot.prefix);
+        image.putLong(BinarySaveFormat.COMBAT_COUNT_OFFSET, snapshot.combatCount);
+        image.putLong(BinarySaveFormat.AI_DECISION_COUNT_OFFSET, snapshot.aiDecisionCount);
+        image.putInt(BinarySaveFormat.TURN_OFFSET, snapshot.turn);
+        image.put(BinarySaveFormat.CURRENT_PLAYER_OFFSET, (byte) snapshot.currentPlayer);
+        image.putShort(BinarySaveFormat.UNIT_COUNT_OFFSET, (short) unitCount);
+
+        int record = 0;
+        for (int[] roster : snapshot.rosters) {
+            for (int id : roster) {
+                int at = id * STATE_INTS;
+                image.putInt(record++)
+                        .put((byte) (snapshot.states[at] >>> 8))
+                        .put((byte) snapshot.states[at])
+                        .putShort((short) (snapshot.states[at + 1] >> 16))
+                        .putShort((short) snapshot.states[at + 1])
+                        .putShort((short) (snapshot.states[at + 2] >>> 16))
+                        .putShort((short) snapshot.states[at + 2])
+                        .put((byte) snapshot.states[at + 3])
+                        .put((byte) 0);
+            }
+        }
+        image.flip();
+        return image;
+    }
+
+    private void fail(IOException e) {
+        error = e;
+        GameLog.error(() -> "Autosave stopped: " + e.getMessage());
+    }
+
+    /**
+     * @return The number of deltas written since the base was last rewritten.
+     */
+    public int getDeltaCount() {
+        return deltaCount;
+    }
+
+    /**
+     * @return The error that stopped the autosave, or null if it is still saving.
+     */
+    public IOException getError() {
+        return error;
+    }
+
+    /**
+     * Writes the pending save, if any, and stops the writer. Later ends of turn are ignored.
+     * @throws IOException if a save failed, or the files cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                throw new IOException("Autosave writer did not finish.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the autosave writer.", e);
+        }
+        if (deltaChannel != null) {
+            deltaChannel.close();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // --- Loading ---
+
+    /**
+     * Reads an autosave: the base image with its deltas folded in.
+     * @param file The base image (the deltas are read from next to it, if present).
+     * @return The game as of the last complete delta, ready to be resumed.
+     * @throws IOException if the base cannot be read or is not a valid save.
+     */
+    public static SavedGame load(Path file) throws IOException {
+        byte[] base = Files.readAllBytes(file);
+        ByteBuffer image = ByteBuffer.wrap(base);
+        if (base.length < BinarySaveFormat.HEADER_SIZE || image.getInt(0) != BinarySaveFormat.MAGIC) {
+            throw new IOException("Not a save file.");
+        }
+        int unitCount = Short.toUnsignedInt(image.getShort(BinarySaveFormat.UNIT_COUNT_OFFSET));
+        int unitsOffset = base.length - unitCount * BinarySaveFormat.UNIT_RECORD_SIZE;
+        int playerCount = image.get(BinarySaveFormat.PLAYER_COUNT_OFFSET);
+        if (unitsOffset < BinarySaveFormat.HEADER_SIZE || playerCount <= 0) {
+            throw new IOException("Invalid save file.");
+        }
+
+        // Units of the base, in record order: each player's units are consecutive
+        int[] states = new int[unitCount * STATE_INTS];
+        int[] rosterSizes = new int[playerCount];
+        image.position(unitsOffset);
+        for (int id = 0; id < unitCount; id++) {
+            image.getInt(); // Id: the record number
+            int type = Byte.toUnsignedInt(image.get());
+            int owner = image.get();
+            if (owner < 0 || owner >= playerCount) {
+                throw new IOException("Invalid unit record " + id);
+            }
+            int at = id * STATE_INTS;
+            states[at] = (type << 8) | owner;
+            states[at + 1] = image.getInt();                 // q and r
+            states[at + 2] = image.getInt();                 // Hit and movement points
+            states[at + 3] = Byte.toUnsignedInt(image.get()); // Flags
+            image.get(); // Padding
+            rosterSizes[owner]++;
+        }
+        int[][] rosters = new int[playerCount][];
+        int[] filled = new int[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            rosters[p] = new int[rosterSizes[p]];
+        }
+        for (int id = 0; id < unitCount; id++) {
+            int owner = states[id * STATE_INTS] & 0xFF;
+            rosters[owner][filled[owner]++] = id;
+        }
+
+        Snapshot state = new Snapshot(Arrays.copyOf(base, unitsOffset), true,
+                image.getInt(BinarySaveFormat.TURN_OFFSET), image.get(BinarySaveFormat.CURRENT_PLAYER_OFFSET),
+                image.getLong(BinarySaveFormat.COMBAT_COUNT_OFFSET),
+                image.getLong(BinarySaveFormat.AI_DECISION_COUNT_OFFSET), rosters, states);
+        Path deltas = deltaFileOf(file);
+        if (Files.exists(deltas)) {
+            state = foldDeltas(state, Files.readAllBytes(deltas), base);
+        }
+        return BinarySaveFormat.decode(image(state));
+    }
+
+    // Applies every complete delta written for this base
+    private static Snapshot foldDeltas(Snapshot state, byte[] deltas, byte[] base) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(deltas);
+        CRC32 checksum = new CRC32();
+        checksum.update(base);
+        if (deltas.length < DELTA_HEADER_SIZE || buffer.getInt() != DELTA_MAGIC
+                || buffer.getShort() != DELTA_VERSION) {
+            throw new IOException("Not an autosave delta file.");
+        }
+        buffer.getShort(); // Flags
+        if (buffer.getLong() != base.length || buffer.getLong() != checksum.getValue()) {
+            GameLog.error("Autosave deltas belong to another base image; ignored.");
+            return state;
+        }
+
+        int[] states = state.states;
+        int[][] rosters = state.rosters;
+        int turn = state.turn;
+        int currentPlayer = state.currentPlayer;
+        long combatCount = state.combatCount;
+        long aiDecisionCount = state.aiDecisionCount;
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) break; // Cut short: written when the game stopped
+            ByteBuffer delta = buffer.slice().limit(length);
+            buffer.position(buffer.position() + length);
+            try {
+                turn = Varint.getInt(delta);
+                currentPlayer = Varint.getInt(delta);
+                combatCount = Varint.getUnsigned(delta);
+                aiDecisionCount = Varint.getUnsigned(delta);
+                for (int n = Varint.getInt(delta); n > 0; n--) {
+                    int at = unitId(Varint.getInt(delta), states) * STATE_INTS;
+                    int q = (int) Varint.getSigned(delta);
+                    int r = (int) Varint.getSigned(delta);
+                    int hitPoints = Varint.getInt(delta);
+                    int movementPoints = Varint.getInt(delta);
+                    states[at + 1] = (q << 16) | (r & 0xFFFF);
+                    states[at + 2] = (hitPoints << 16) | (movementPoints & 0xFFFF);
+                    states[at + 3] = Varint.getInt(delta);
+                }
+                for (int n = Varint.getInt(delta); n > 0; n--) {
+                    int player = Varint.getInt(delta);
+                    if (player >= rosters.length) {
+                        throw new IOException("Invalid player in autosave delta: " + player);
+                    }
+                    int[] roster = new int[Varint.getInt(delta)];
+                    for (int i = 0; i < roster.length; i++) {
+                        roster[i] = unitId(Varint.getInt(delta), states);
+                    }
+                    rosters[player] = roster;
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Corrupt autosave delta.", e);
+            }
+        }
+        return new Snapshot(state.prefix, true, turn, currentPlayer, combatCount, aiDecisionCount, rosters, states);
+    }
+
+    private static int unitId(int id, int[] states) throws IOException {
+        if (id >= states.length / STATE_INTS) {
+            throw new IOException("Invalid unit in autosave delta: " + id);
+        }
+        return id;
+    }
+}
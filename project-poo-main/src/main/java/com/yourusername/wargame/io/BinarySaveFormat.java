@@ -0,0 +1,415 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.*;
+import com.yourusername.wargame.model.terrain.TerrainType;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact, versioned binary save format, written and read through NIO channels.
+ *
+ * Layout (big-endian), version 2:
+ * <pre>
+ * header   int magic "WGSV", short version, short flags (0),
+ *          long seed, long combatCount, long aiDecisionCount,
+ *          int turnNumber, byte currentPlayerIndex, byte playerCount, short unitCount
+ * players  per player: byte kind, string name,
+ *          byte conditionCount, per condition: byte kind, int argument
+ * board    int mapRadius, int minQ, short columnCount, per column: int minR, int size,
+ *          then one byte per index slot: the terrain ordinal, or 0xFF for an empty slot
+ * units    one {@value #UNIT_RECORD_SIZE}-byte record per unit, in each player's unit order:
+ *          int id, byte type, byte owner, short q, short r, short hitPoints,
+ *          short movementPoints, byte flags (1 = moved, 2 = attacked), byte padding
+ * </pre>
+ * Strings are a short byte length followed by UTF-8 bytes. A player's kind is one of the known
+ * player classes, recreated through its (String name, int playerIndex) constructor, so AI settings
+ * other than the defaults are not kept. Version 1 saves, which stored the class name instead of the
+ * kind, are still read; names other than those of the known classes are rejected. Unit ids are the record numbers; units get fresh UUIDs when loaded.
+ * Visibility is not stored: it is recomputed from the unit positions when the game is resumed.
+ */
+public final class BinarySaveFormat {
+
+    public static final int MAGIC = 0x57475356; // "WGSV"
+    public static final short VERSION = 2;
+    private static final short CLASS_NAME_VERSION = 1; // Players stored by class name
+
+    static final int UNIT_RECORD_SIZE = 16;
+    static final int HEADER_SIZE = 4 + 2 + 2 + 8 + 8 + 8 + 4 + 1 + 1 + 2;
+    private static final int EMPTY_SLOT = 0xFF;
+
+    // Offsets of the header fields that change as a game is played (patched by Autosave)
+    static final int COMBAT_COUNT_OFFSET = 16;
+    static final int AI_DECISION_COUNT_OFFSET = 24;
+    static final int TURN_OFFSET = 32;
+    static final int CURRENT_PLAYER_OFFSET = 36;
+    static final int PLAYER_COUNT_OFFSET = 37;
+    static final int UNIT_COUNT_OFFSET = 38;
+
+    // Victory condition kinds
+    private static final byte DESTROY_ALL = 1;
+    private static final byte SURVIVE_TURNS = 2;
+
+    // Player kinds
+    private static final byte HUMAN = 1;
+    private static final byte AI = 2;
+    private static final byte MCTS_AI = 3;
+    private static final byte ALPHA_BETA_AI = 4;
+
+    // Unit flags
+    static final int MOVED = 1;
+    static final int ATTACKED = 2;
+
+    private BinarySaveFormat() {
+    }
+
+    // --- Files ---
+
+    /**
+     * Writes a game to a file, replacing it if it exists.
+     * @param file The file to write.
+     * @param game The game to save.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, SavedGame game) throws IOException {
+        ByteBuffer buffer = encode(game);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a game from a file.
+     * @param file The file to read.
+     * @return The saved game, ready to be resumed.
+     * @throws IOException if the file cannot be read or is not a valid save.
+     */
+    public static SavedGame read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Save file too large: " + size + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of save file");
+                }
+            }
+            buffer.flip();
+            return decode(buffer);
+        }
+    }
+
+    // --- Encoding ---
+
+    /**
+     * Encodes a game.
+     * @param game The game to encode.
+     * @return A buffer holding the encoded game, ready to be read (position 0, limit = size).
+     * @throws IOException if the game cannot be represented (unsupported victory condition, out-of-range value).
+     */
+    public static ByteBuffer encode(SavedGame game) throws IOException {
+        GameState gameState = game.getGameState();
+        Board board = gameState.getBoard();
+        List<Player> players = gameState.getPlayers();
+        if (players.size() > Byte.MAX_VALUE) {
+            throw new IOException("Too many players to save: " + players.size());
+        }
+
+        // Units in each player's order; a unit's id is its record number
+        List<Unit> units = new ArrayList<>();
+        for (Player player : players) {
+            units.addAll(player.getUnits());
+        }
+        if (units.size() > 0xFFFF) {
+            throw new IOException("Too many units to save: " + units.size());
+        }
+
+        byte[] kinds = new byte[players.size()];
+        byte[][] names = new byte[players.size()][];
+        int size = HEADER_SIZE;
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            kinds[p] = playerKind(player);
+            names[p] = utf8(player.getName());
+            size += 1 + 2 + names[p].length
+                    + 1 + 5 * gameState.getVictoryConditionsForPlayer(player).size();
+        }
+        size += 4 + 4 + 2 + 8 * board.getColumnCount() + board.getIndexSize();
+        size += UNIT_RECORD_SIZE * units.size();
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        buffer.putLong(game.getSeed()).putLong(game.getCombatCount()).putLong(game.getAiDecisionCount());
+        buffer.putInt(gameState.getCurrentTurnNumber());
+        buffer.put((byte) gameState.getCurrentPlayerIndex()).put((byte) players.size());
+        buffer.putShort((short) units.size());
+
+        for (int p = 0; p < players.size(); p++) {
+            buffer.put(kinds[p]);
+            putString(buffer, names[p]);
+            List<VictoryCondition> conditions = gameState.getVictoryConditionsForPlayer(players.get(p));
+            buffer.put((byte) conditions.size());
+            for (VictoryCondition condition : conditions) {
+                putCondition(buffer, condition, players);
+            }
+        }
+
+        buffer.putInt(board.getMapRadius()).putInt(board.getMinQ()).putShort(checkedShort(board.getColumnCount()));
+        for (int c = 0; c < board.getColumnCount(); c++) {
+            buffer.putInt(board.getColumnMinR(c)).putInt(board.getColumnSize(c));
+        }
+        for (int index = 0; index < board.getIndexSize(); index++) {
+            TerrainType type = board.getTerrainAt(index); // Does not build the hexes of a lazy board
+            buffer.put((byte) (type == null ? EMPTY_SLOT : type.ordinal()));
+        }
+
+        for (int id = 0; id < units.size(); id++) {
+            Unit unit = units.get(id);
+            AxialCoord position = unit.getPosition();
+            int flags = (unit.hasMovedThisTurn() ? MOVED : 0) | (unit.hasAttackedThisTurn() ? ATTACKED : 0);
+            buffer.putInt(id)
+                    .put((byte) unit.getUnitType().ordinal())
+                    .put((byte) unit.getOwner().getPlayerIndex())
+                    .putShort(checkedShort(position.getQ()))
+                    .putShort(checkedShort(position.getR()))
+                    .putShort(checkedShort(unit.getCurrentHitPoints()))
+                    .putShort(checkedShort(unit.getCurrentMovementPoints()))
+                    .put((byte) flags)
+                    .put((byte) 0);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void putCondition(ByteBuffer buffer, VictoryCondition condition, List<Player> players)
+            throws IOException {
+        if (condition instanceof DestroyAllCondition) {
+            int target = players.indexOf(((DestroyAllCondition) condition).getTargetPlayer());
+            if (target < 0) {
+                throw new IOException("Victory condition targets a player outside the game.");
+            }
+            buffer.put(DESTROY_ALL).putInt(target);
+        } else if (condition instanceof SurviveTurnsCondition) {
+            buffer.put(SURVIVE_TURNS).putInt(((SurviveTurnsCondition) condition).getTargetTurns());
+        } else {
+            throw new IOException("Unsupported victory condition: " + condition.getClass().getName());
+        }
+    }
+
+    // --- Decoding ---
+
+    /**
+     * Decodes a game encoded by {@link #encode}.
+     * @param buffer The encoded game, from its position to its limit.
+     * @return The saved game, ready to be resumed.
+     * @throws IOException if the data is not a valid save of a supported version.
+     */
+    public static SavedGame decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a save file.");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION && version != CLASS_NAME_VERSION) {
+                throw new IOException("Unsupported save version: " + version);
+            }
+            buffer.getShort(); // Flags
+            long seed = buffer.getLong();
+            long combatCount = buffer.getLong();
+            long aiDecisionCount = buffer.getLong();
+            int turnNumber = buffer.getInt();
+            int currentPlayerIndex = buffer.get();
+            int playerCount = buffer.get();
+            int unitCount = Short.toUnsignedInt(buffer.getShort());
+
+            List<Player> players = new ArrayList<>(playerCount);
+            List<int[]> conditionData = new ArrayList<>(playerCount); // Kind and argument pairs
+            for (int p = 0; p < playerCount; p++) {
+                int kind;
+                if (version == CLASS_NAME_VERSION) {
+                    String className = getString(buffer);
+                    kind = playerKind(className);
+                    if (kind == 0) {
+                        throw new IOException("Unsupported player type: " + className);
+                    }
+                } else {
+                    kind = buffer.get();
+                }
+                String name = getString(buffer);
+                players.add(createPlayer(kind, name, p));
+                int[] conditions = new int[2 * buffer.get()];
+                for (int i = 0; i < conditions.length; i += 2) {
+                    conditions[i] = buffer.get();
+                    conditions[i + 1] = buffer.getInt();
+                }
+                conditionData.add(conditions);
+            }
+            Map<Player, List<VictoryCondition>> victoryConditions = new HashMap<>();
+            for (int p = 0; p < playerCount; p++) {
+                victoryConditions.put(players.get(p), createConditions(conditionData.get(p), players));
+            }
+
+            Board board = readBoard(buffer);
+            GameState gameState = new GameState(board, players, victoryConditions);
+            gameState.restoreTurn(currentPlayerIndex, turnNumber);
+
+            UnitType[] types = UnitType.values();
+            for (int i = 0; i < unitCount; i++) {
+                buffer.getInt(); // Id: the record number
+                int type = Byte.toUnsignedInt(buffer.get());
+                int owner = buffer.get();
+                int q = buffer.getShort();
+                int r = buffer.getShort();
+                int hitPoints = buffer.getShort();
+                int movementPoints = buffer.getShort();
+                int flags = buffer.get();
+                buffer.get(); // Padding
+                if (type >= types.length || owner < 0 || owner >= playerCount) {
+                    throw new IOException("Invalid unit record " + i);
+                }
+                Player player = players.get(owner);
+                Unit unit = new Unit(types[type], player, AxialCoord.of(q, r));
+                unit.restoreState(hitPoints, movementPoints, (flags & MOVED) != 0, (flags & ATTACKED) != 0);
+                if (!board.placeUnit(unit, unit.getPosition())) {
+                    throw new IOException("Unit " + i + " cannot stand at " + unit.getPosition());
+                }
+                player.addUnit(unit);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException(buffer.remaining() + " unexpected bytes after the units.");
+            }
+            return new SavedGame(gameState, seed, combatCount, aiDecisionCount);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated save file.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid save file: " + e.getMessage(), e);
+        }
+    }
+
+    private static Board readBoard(ByteBuffer buffer) throws IOException {
+        int mapRadius = buffer.getInt();
+        int minQ = buffer.getInt();
+        int columns = Short.toUnsignedInt(buffer.getShort());
+        int[] columnMinR = new int[columns];
+        int[] columnSize = new int[columns];
+        long slots = 0;
+        for (int c = 0; c < columns; c++) {
+            columnMinR[c] = buffer.getInt();
+            columnSize[c] = buffer.getInt();
+            slots += columnSize[c];
+        }
+        if (slots > buffer.remaining()) {
+            throw new IOException("Truncated save file.");
+        }
+        TerrainType[] terrainTypes = TerrainType.values();
+        TerrainType[] terrain = new TerrainType[(int) slots];
+        for (int index = 0; index < terrain.length; index++) {
+            int ordinal = Byte.toUnsignedInt(buffer.get());
+            if (ordinal == EMPTY_SLOT) continue;
+            if (ordinal >= terrainTypes.length) {
+                throw new IOException("Invalid terrain at index " + index + ": " + ordinal);
+            }
+            terrain[index] = terrainTypes[ordinal];
+        }
+        return new Board(mapRadius, minQ, columnMinR, columnSize, terrain);
+    }
+
+    // Players are recreated through their (String name, int playerIndex) constructor
+    private static Player createPlayer(int kind, String name, int playerIndex) throws IOException {
+        switch (kind) {
+            case HUMAN:
+                return new HumanPlayer(name, playerIndex);
+            case AI:
+                return new AiPlayer(name, playerIndex);
+            case MCTS_AI:
+                return new MctsAiPlayer(name, playerIndex);
+            case ALPHA_BETA_AI:
+                return new AlphaBetaAiPlayer(name, playerIndex);
+            default:
+                throw new IOException("Unknown kind " + kind + " for player " + name);
+        }
+    }
+
+    // Exact classes only: a subclass saved as its parent would come back as the parent
+    private static byte playerKind(Player player) throws IOException {
+        byte kind = playerKind(player.getClass().getName());
+        if (kind == 0) {
+            throw new IOException("Unsupported player type: " + player.getClass().getName());
+        }
+        return kind;
+    }
+
+    // The kind of a player class name, or 0 if it is not one of the known classes
+    private static byte playerKind(String className) {
+        if (className.equals(HumanPlayer.class.getName())) return HUMAN;
+        if (className.equals(AiPlayer.class.getName())) return AI;
+        if (className.equals(MctsAiPlayer.class.getName())) return MCTS_AI;
+        if (className.equals(AlphaBetaAiPlayer.class.getName())) return ALPHA_BETA_AI;
+        return 0;
+    }
+
+    private static List<VictoryCondition> createConditions(int[] data, List<Player> players) throws IOException {
+        List<VictoryCondition> conditions = new ArrayList<>(data.length / 2);
+        for (int i = 0; i < data.length; i += 2) {
+            int argument = data[i + 1];
+            switch (data[i]) {
+                case DESTROY_ALL:
+                    if (argument < 0 || argument >= players.size()) {
+                        throw new IOException("Victory condition targets unknown player " + argument);
+                    }
+                    conditions.add(new DestroyAllCondition(players.get(argument)));
+                    break;
+                case SURVIVE_TURNS:
+                    conditions.add(new SurviveTurnsCondition(argument));
+                    break;
+                default:
+                    throw new IOException("Unknown victory condition kind: " + data[i]);
+            }
+        }
+        return conditions;
+    }
+
+    // --- Primitives ---
+
+    private static byte[] utf8(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("String too long to save: " + value.length() + " characters");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static short checkedShort(int value) throws IOException {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new IOException("Value out of range for the save format: " + value);
+        }
+        return (short) value;
+    }
+}
@@ -0,0 +1,295 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.engine.GameController;
+import com.yourusername.wargame.engine.GameLog;
+import com.yourusername.wargame.engine.GameState;
+import com.yourusername.wargame.engine.Hex;
+import com.yourusername.wargame.engine.Player;
+import com.yourusername.wargame.model.unit.Unit;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rebuilds the games recorded by an {@link ActionJournal}.
+ *
+ * Opening a journal maps the file and indexes its checkpoints. {@link #seek(int)} then starts
+ * from the last checkpoint at or before the requested turn and replays only the actions after it,
+ * through a {@link GameController} of its own, so a seek costs at most one checkpoint interval
+ * of replay whatever the length of the game.
+ */
+public final class JournalReplay {
+
+    /** A full state in the journal, and where the actions following it start. */
+    private static final class Checkpoint {
+        final int turn;
+        final long actionIndex;
+        final int stateOffset;
+        final int stateLength;
+
+        Checkpoint(int turn, long actionIndex, int stateOffset, int stateLength) {
+            this.turn = turn;
+            this.actionIndex = actionIndex;
+            this.stateOffset = stateOffset;
+            this.stateLength = stateLength;
+        }
+
+        int recordsOffset() {
+            return stateOffset + stateLength;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final long seed;
+    private final List<Checkpoint> checkpoints;
+    private final long actionCount;
+
+    private JournalReplay(ByteBuffer data, long seed, List<Checkpoint> checkpoints, long actionCount) {
+        this.data = data;
+        this.seed = seed;
+        this.checkpoints = checkpoints;
+        this.actionCount = actionCount;
+    }
+
+    /**
+     * Opens a journal and indexes its checkpoints. A journal cut short (game still running,
+     * or writer stopped) is read up to its last complete record.
+     * @param file The journal file.
+     * @return The replay.
+     * @throws IOException if the file cannot be read or is not a journal of a supported version.
+     */
+    public static JournalReplay open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large: " + channel.size() + " bytes.");
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.remaining() < ActionJournal.HEADER_SIZE || data.getInt() != ActionJournal.MAGIC) {
+            throw new IOException("Not a journal file.");
+        }
+        short version = data.getShort();
+        if (version != ActionJournal.VERSION) {
+            throw new IOException("Unsupported journal version: " + version);
+        }
+        data.getShort(); // Flags
+        long seed = data.getLong();
+
+        // Walk the records: only checkpoints are kept, actions are counted
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        long actionCount = 0;
+        int complete = data.position();
+        try {
+            while (data.hasRemaining()) {
+                byte tag = data.get();
+                if (tag == ActionJournal.CHECKPOINT) {
+                    int turn = Varint.getInt(data);
+                    long actionIndex = Varint.getUnsigned(data);
+                    int length = Varint.getInt(data);
+                    if (length > data.remaining()) break;
+                    checkpoints.add(new Checkpoint(turn, actionIndex, data.position(), length));
+                    data.position(data.position() + length);
+                } else {
+                    skipAction(tag, data);
+                    actionCount++;
+                }
+                complete = data.position();
+            }
+        } catch (IOException e) {
+            if (data.hasRemaining()) throw e; // Otherwise only the last record is cut short
+        }
+        if (checkpoints.isEmpty()) {
+            throw new IOException("Journal holds no game.");
+        }
+        data.position(0).limit(complete);
+        return new JournalReplay(data.slice(), seed, Collections.unmodifiableList(checkpoints), actionCount);
+    }
+
+    private static void skipAction(byte tag, ByteBuffer data) throws IOException {
+        switch (tag) {
+            case ActionJournal.MOVE:
+            case ActionJournal.ATTACK:
+                Varint.getUnsigned(data);
+                Varint.getSigned(data);
+                break;
+            case ActionJournal.END_TURN:
+                Varint.getUnsigned(data);
+                break;
+            case ActionJournal.UNDO:
+                break;
+            default:
+                throw new IOException("Unknown journal record: " + tag);
+        }
+    }
+
+    // --- Seeking ---
+
+    /**
+     * Rebuilds the game as it was at the start of a turn (when its first player began it),
+     * or at its last recorded action if the journal stops earlier.
+     * @param turn The turn number.
+     * @return The game at that point, to be resumed with {@link SavedGame#resumeIn}: the rest
+     *         of the game then plays as the recorded one did.
+     * @throws IOException if the journal is corrupt, or its actions are refused by the game.
+     */
+    public SavedGame seek(int turn) throws IOException {
+        Checkpoint start = checkpoints.get(0);
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.turn > turn) break;
+            start = checkpoint;
+        }
+        SavedGame saved = BinarySaveFormat.decode(slice(start.stateOffset, start.stateLength));
+        if (saved.getGameState().getCurrentTurnNumber() >= turn) {
+            return saved;
+        }
+
+        GameLog.Sink previousSink = GameLog.setThreadSink(GameLog.SILENT);
+        try {
+            GameController replay = new GameController(saved.getSeed());
+            replay.getTurnScheduler().pause(); // The journal plays the AI players' actions
+            saved.resumeIn(replay);
+            GameState gameState = replay.getGameState();
+            long aiDecisionCount = saved.getAiDecisionCount();
+
+            ByteBuffer records = slice(start.recordsOffset(), data.limit() - start.recordsOffset());
+            long action = start.actionIndex;
+            while (records.hasRemaining() && replay.isGameRunning() && gameState.getCurrentTurnNumber() < turn) {
+                byte tag = records.get();
+                Player player = gameState.getCurrentPlayer();
+                Board board = gameState.getBoard();
+                boolean applied;
+                switch (tag) {
+                    case ActionJournal.MOVE: {
+                        int from = Varint.getInt(records);
+                        Hex to = hexAt(board, from + (int) Varint.getSigned(records));
+                        applied = replay.requestMove(player, unitAt(board, from), List.of(to.getCoordinates()));
+                        break;
+                    }
+                    case ActionJournal.ATTACK: {
+                        int attacker = Varint.getInt(records);
+                        int defender = attacker + (int) Varint.getSigned(records);
+                        applied = replay.requestAttack(player, unitAt(board, attacker), unitAt(board, defender));
+                        break;
+                    }
+                    case ActionJournal.END_TURN:
+                        aiDecisionCount += Varint.getUnsigned(records);
+                        applied = replay.endTurn(player);
+                        break;
+                    case ActionJournal.UNDO:
+                        applied = replay.undo(player);
+                        break;
+                    case ActionJournal.CHECKPOINT:
+                        // Later checkpoints are not needed: the replay is already at this point
+                        Varint.getUnsigned(records);
+                        Varint.getUnsigned(records);
+                        records.position(records.position() + Varint.getInt(records));
+                        continue;
+                    default:
+                        throw new IOException("Unknown journal record: " + tag);
+                }
+                if (!applied) {
+                    throw new IOException("Journal diverges from the game at action " + action + ".");
+                }
+                action++;
+            }
+            return new SavedGame(gameState, saved.getSeed(), replay.getCombatCount(), aiDecisionCount);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt journal: " + e.getMessage(), e);
+        } finally {
+            GameLog.setThreadSink(previousSink);
+        }
+    }
+
+    /**
+     * Rebuilds the game at its last recorded action.
+     */
+    public SavedGame seekToEnd() throws IOException {
+        return seek(Integer.MAX_VALUE);
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        return data.duplicate().position(offset).limit(offset + length).slice();
+    }
+
+    private static Hex hexAt(Board board, int index) throws IOException {
+        Hex hex = index >= 0 && index < board.getIndexSize() ? board.getHexAt(index) : null;
+        if (hex == null) {
+            throw new IOException("Journal refers to a hex outside the map: " + index);
+        }
+        return hex;
+    }
+
+    private static Unit unitAt(Board board, int index) throws IOException {
+        Unit unit = hexAt(board, index).getUnit();
+        if (unit == null) {
+            throw new IOException("Journal refers to an empty hex: " + index);
+        }
+        return unit;
+    }
+
+    // --- Accessors ---
+
+    /**
+     * @return The master seed the recorded game started with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of moves, attacks, undos and ends of turn in the journal.
+     */
+    public long getActionCount() {
+        return actionCount;
+    }
+
+    /**
+     * @return The turn numbers of the checkpoints, in order.
+     */
+    public List<Integer> getCheckpointTurns() {
+        List<Integer> turns = new ArrayList<>(checkpoints.size());
+        for (Checkpoint checkpoint : checkpoints) {
+            turns.add(checkpoint.turn);
+        }
+        return turns;
+    }
+
+    /**
+     * Prints a journal's summary, and the units at a turn.
+     * Arguments: file [turn] (default: the end of the journal).
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReplay <journal> [turn]");
+            System.exit(2);
+        }
+        JournalReplay replay = open(Paths.get(args[0]));
+        System.out.printf("Seed %d, %d actions, checkpoints at turns %s%n",
+                replay.getSeed(), replay.getActionCount(), replay.getCheckpointTurns());
+
+        long start = System.nanoTime();
+        SavedGame game = args.length > 1 ? replay.seek(Integer.parseInt(args[1])) : replay.seekToEnd();
+        GameState gameState = game.getGameState();
+        System.out.printf("Turn %d, %s to play (rebuilt in %.1f ms)%n", gameState.getCurrentTurnNumber(),
+                gameState.getCurrentPlayer().getName(), (System.nanoTime() - start) / 1e6);
+        for (Player player : gameState.getPlayers()) {
+            StringBuilder units = new StringBuilder();
+            for (int i = 0; i < player.getActiveUnitCount(); i++) {
+                Unit unit = player.getActiveUnit(i);
+                units.append(' ').append(unit.getTypeName()).append('@').append(unit.getPosition())
+                        .append('(').append(unit.getCurrentHitPoints()).append(')');
+            }
+            System.out.println(player.getName() + ":" + units);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.Board;
+import com.yourusername.wargame.engine.TerrainLayer;
+import com.yourusername.wargame.model.terrain.TerrainType;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Map file format whose terrain layer is memory-mapped, for maps too large to parse up front.
+ *
+ * Layout (big-endian), version 1:
+ * <pre>
+ * header   int magic "WGMP", short version, short flags (0),
+ *          int mapRadius, int minQ, int columnCount, int hexCount,
+ *          per column: int minR, int size
+ * terrain  one byte per index slot, columns one after the other:
+ *          the terrain ordinal, or 0xFF for an empty slot
+ * </pre>
+ * {@link #open(Path)} reads the header only and maps the terrain bytes with {@link FileChannel#map}:
+ * the returned {@link Board} builds each hex the first time it is looked up, so opening a map costs
+ * page faults on the hexes actually used instead of a full parse and one object per hex.
+ */
+public final class MapFile {
+
+    public static final int MAGIC = 0x57474D50; // "WGMP"
+    public static final short VERSION = 1;
+
+    private static final int FIXED_HEADER_SIZE = 4 + 2 + 2 + 4 + 4 + 4 + 4;
+    private static final int EMPTY_SLOT = 0xFF;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Gives the terrain of a hex while a map is written.
+     */
+    @FunctionalInterface
+    public interface TerrainSource {
+        TerrainType terrainAt(int q, int r);
+    }
+
+    private MapFile() {
+    }
+
+    /**
+     * Writes the terrain of a board. Hexes a lazy board has not built yet stay unbuilt.
+     * @param file The file to write.
+     * @param board The board to save.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, Board board) throws IOException {
+        int columns = board.getColumnCount();
+        int[] columnMinR = new int[columns];
+        int[] columnSize = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            columnMinR[c] = board.getColumnMinR(c);
+            columnSize[c] = board.getColumnSize(c);
+        }
+        write(file, board.getMapRadius(), board.getMinQ(), columnMinR, columnSize, board.getHexCount(),
+                (index, out) -> {
+                    TerrainType type = board.getTerrainAt(index);
+                    out.put((byte) (type == null ? EMPTY_SLOT : type.ordinal()));
+                });
+    }
+
+    /**
+     * Writes a hexagonal map of a given radius, streaming the terrain: no board is built,
+     * so maps far larger than the heap can be generated.
+     * @param file The file to write.
+     * @param radius The map radius.
+     * @param terrain Gives the terrain of each hex.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeHexagonal(Path file, int radius, TerrainSource terrain) throws IOException {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Map radius cannot be negative.");
+        }
+        int columns = 2 * radius + 1;
+        int[] columnMinR = new int[columns];
+        int[] columnSize = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            int q = c - radius;
+            columnMinR[c] = Math.max(-radius, -q - radius);
+            columnSize[c] = Math.min(radius, -q + radius) - columnMinR[c] + 1;
+        }
+        int[] column = { 0 };
+        int[] rowInColumn = { 0 };
+        write(file, radius, -radius, columnMinR, columnSize, Board.diskSize(radius), (index, out) -> {
+            // Slots are written in order: walk the columns alongside
+            while (rowInColumn[0] == columnSize[column[0]]) {
+                column[0]++;
+                rowInColumn[0] = 0;
+            }
+            int q = column[0] - radius;
+            int r = columnMinR[column[0]] + rowInColumn[0]++;
+            out.put((byte) terrain.terrainAt(q, r).ordinal());
+        });
+    }
+
+    // Writes one slot's terrain byte
+    private interface SlotWriter {
+        void write(int index, ByteBuffer out);
+    }
+
+    private static void write(Path file, int mapRadius, int minQ, int[] columnMinR, int[] columnSize,
+                              int hexCount, SlotWriter slots) throws IOException {
+        int columns = columnMinR.length;
+        long slotCount = 0;
+        for (int size : columnSize) {
+            slotCount += size;
+        }
+        if (slotCount > Integer.MAX_VALUE) {
+            throw new IOException("Map too large: " + slotCount + " slots");
+        }
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE + 8 * columns);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        header.putInt(mapRadius).putInt(minQ).putInt(columns).putInt(hexCount);
+        for (int c = 0; c < columns; c++) {
+            header.putInt(columnMinR[c]).putInt(columnSize[c]);
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            for (int index = 0; index < slotCount; index++) {
+                if (!chunk.hasRemaining()) {
+                    chunk.flip();
+                    writeFully(channel, chunk);
+                    chunk.clear();
+                }
+                slots.write(index, chunk);
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Opens a map file: reads its column layout and maps its terrain layer, without reading it.
+     * @param file The map file.
+     * @return A board whose hexes are built on demand from the mapped terrain.
+     * @throws IOException if the file cannot be read or is not a valid map file.
+     */
+    public static Board open(Path file) throws IOException {
+        MappedTerrainLayer layer = new MappedTerrainLayer(file.toAbsolutePath());
+        return new Board(layer.mapRadius, layer.minQ, layer.columnMinR, layer.columnSize, layer);
+    }
+
+    /**
+     * Terrain read straight from the mapped bytes of a map file. Serializes as the file's path,
+     * and maps the file again when deserialized.
+     */
+    private static final class MappedTerrainLayer implements TerrainLayer {
+        private static final long serialVersionUID = 1L;
+
+        private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+
+        private final String path;
+        private transient int mapRadius;
+        private transient int minQ;
+        private transient int[] columnMinR;
+        private transient int[] columnSize;
+        private transient int hexCount;
+        private transient MappedByteBuffer terrain;
+
+        MappedTerrainLayer(Path file) throws IOException {
+            this.path = file.toString();
+            map();
+        }
+
+        private void map() throws IOException {
+            try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+                ByteBuffer fixed = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+                readFully(channel, fixed, 0);
+                if (fixed.getInt() != MAGIC) {
+                    throw new IOException("Not a map file: " + path);
+                }
+                short version = fixed.getShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported map version: " + version);
+                }
+                fixed.getShort(); // Flags
+                mapRadius = fixed.getInt();
+                minQ = fixed.getInt();
+                int columns = fixed.getInt();
+                hexCount = fixed.getInt();
+                if (columns < 0 || FIXED_HEADER_SIZE + 8L * columns > channel.size()) {
+                    throw new IOException("Invalid column count: " + columns);
+                }
+
+                ByteBuffer layout = ByteBuffer.allocate(8 * columns);
+                readFully(channel, layout, FIXED_HEADER_SIZE);
+                columnMinR = new int[columns];
+                columnSize = new int[columns];
+                long slots = 0;
+                for (int c = 0; c < columns; c++) {
+                    columnMinR[c] = layout.getInt();
+                    columnSize[c] = layout.getInt();
+                    slots += columnSize[c];
+                }
+                long offset = FIXED_HEADER_SIZE + 8L * columns;
+                if (slots > Integer.MAX_VALUE || offset + slots != channel.size()) {
+                    throw new IOException("Map file size does not match its layout: " + path);
+                }
+                // The mapping stays valid after the channel is closed
+                terrain = channel.map(FileChannel.MapMode.READ_ONLY, offset, slots);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Truncated map file: " + path, e);
+            }
+        }
+
+        private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Truncated map file.");
+                }
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public int getIndexSize() {
+            return terrain.capacity();
+        }
+
+        @Override
+        public int getHexCount() {
+            return hexCount;
+        }
+
+        @Override
+        public TerrainType getTerrain(int index) {
+            int ordinal = Byte.toUnsignedInt(terrain.get(index)); // Absolute read: safe from any thread
+            if (ordinal == EMPTY_SLOT) return null;
+            if (ordinal >= TERRAIN_TYPES.length) {
+                throw new IllegalStateException("Corrupt map file " + path + ": terrain " + ordinal + " at index " + index);
+            }
+            return TERRAIN_TYPES[ordinal];
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            map();
+        }
+    }
+}
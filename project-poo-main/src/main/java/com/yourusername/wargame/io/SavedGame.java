@@ -0,0 +1,64 @@
+package com.yourusername.wargame.io;
+
+import com.yourusername.wargame.engine.GameController;
+import com.yourusername.wargame.engine.GameState;
+
+import java.util.Objects;
+
+/**
+ * Everything needed to resume a game: its state, and the position of its random streams
+ * (master seed and the number of combat and AI streams already used), so that a resumed game
+ * rolls exactly what the original would have.
+ */
+public final class SavedGame {
+
+    private final GameState gameState;
+    private final long seed;
+    private final long combatCount;
+    private final long aiDecisionCount;
+
+    public SavedGame(GameState gameState, long seed, long combatCount, long aiDecisionCount) {
+        this.gameState = Objects.requireNonNull(gameState, "GameState cannot be null");
+        this.seed = seed;
+        this.combatCount = combatCount;
+        this.aiDecisionCount = aiDecisionCount;
+    }
+
+    /**
+     * Captures the game of a controller. The state is not copied: save it before the game moves on.
+     * @param controller A controller with a game loaded.
+     * @return The saved game.
+     */
+    public static SavedGame of(GameController controller) {
+        GameState gameState = controller.getGameState();
+        if (gameState == null) {
+            throw new IllegalStateException("No game to save.");
+        }
+        return new SavedGame(gameState, controller.getRandomStreams().getMasterSeed(),
+                controller.getCombatCount(), controller.getAiDecisionCount());
+    }
+
+    /**
+     * Resumes this game in a controller (see {@link GameController#resumeGame}).
+     * @param controller The controller to play it.
+     */
+    public void resumeIn(GameController controller) {
+        controller.resumeGame(gameState, seed, combatCount, aiDecisionCount);
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getCombatCount() {
+        return combatCount;
+    }
+
+    public long getAiDecisionCount() {
+        return aiDecisionCount;
+    }
+}
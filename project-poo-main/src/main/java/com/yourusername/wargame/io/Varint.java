@@ -0,0 +1,63 @@
+package com.yourusername.wargame.io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128 variable-length integers: 7 bits per byte, high bit set on every byte but the last,
+ * so values below 128 take one byte. Signed values are zigzag-encoded first (0, -1, 1, -2, ...
+ * become 0, 1, 2, 3, ...) so that small negative numbers stay short too.
+ */
+final class Varint {
+
+    /** Longest encoding of a long. */
+    static final int MAX_LONG_BYTES = 10;
+
+    private Varint() {
+    }
+
+    static void putUnsigned(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static void putSigned(ByteBuffer buffer, long value) {
+        putUnsigned(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    static long getUnsigned(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        try {
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated varint.", e);
+        }
+        throw new IOException("Varint longer than 64 bits.");
+    }
+
+    static long getSigned(ByteBuffer buffer) throws IOException {
+        long encoded = getUnsigned(buffer);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Reads an unsigned varint that must fit in a non-negative int.
+     */
+    static int getInt(ByteBuffer buffer) throws IOException {
+        long value = getUnsigned(buffer);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of range: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -38,6 +38,29 @@ public class Unit implements Serializable {
         this.hasAttackedThisTurn = false;
     }
 
+    // Copy constructor: same identity and state, new owner (see copyFor)
+    private Unit(Unit source, Player newOwner) {
+        this.id = source.id;
+        this.unitType = source.unitType;
+        this.owner = Objects.requireNonNull(newOwner, "Owner cannot be null");
+        this.position = source.position;
+        this.currentHitPoints = source.currentHitPoints;
+        this.currentMovementPoints = source.currentMovementPoints;
+        this.hasMovedThisTurn = source.hasMovedThisTurn;
+        this.hasAttackedThisTurn = source.hasAttackedThisTurn;
+    }
+
+    /**
+     * Creates a copy of this unit for a copied game state.
+     * The copy keeps the same id (so it is equal to this unit) and shares the immutable
+     * type and position; only the mutable state is duplicated.
+     * @param newOwner The owner of the copy (the copied player).
+     * @return The new unit.
+     */
+    public Unit copyFor(Player newOwner) {
+        return new Unit(this, newOwner);
+    }
+
     // --- Getters for immutable properties ---
     public UUID getId() { return id; }
     public UnitType getUnitType() { return unitType; }
@@ -121,6 +144,21 @@ public class Unit implements Serializable {
         }
     }
 
+    /**
+     * Overwrites the unit's mutable combat and turn state, e.g. to undo an action.
+     * Values are taken as-is; callers must pass a state the unit actually had.
+     * @param hitPoints The hit points.
+     * @param movementPoints The remaining movement points.
+     * @param hasMoved Whether the unit has moved this turn.
+     * @param hasAttacked Whether the unit has attacked this turn.
+     */
+    public void restoreState(int hitPoints, int movementPoints, boolean hasMoved, boolean hasAttacked) {
+        this.currentHitPoints = hitPoints;
+        this.currentMovementPoints = movementPoints;
+        this.hasMovedThisTurn = hasMoved;
+        this.hasAttackedThisTurn = hasAttacked;
+    }
+
     /**
      * Resets the unit's state for the start of a new turn.
      * Restores movement points, resets action flags.
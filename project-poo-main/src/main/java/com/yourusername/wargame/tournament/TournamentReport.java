@@ -0,0 +1,224 @@
+package com.yourusername.wargame.tournament;
+
+import java.util.*;
+
+/**
+ * Results of a {@link TournamentRunner} run: the score of every pairing with a 95% Wilson
+ * confidence interval, the throughput in games per second, and the distribution of each
+ * entrant's decision times.
+ */
+public class TournamentReport {
+
+    private static final double Z_95 = 1.959964; // Normal quantile for a 95% two-sided interval
+
+    /**
+     * Two entrants meeting on one scenario; scores are from the first entrant's point of view.
+     */
+    public static final class Pairing {
+        private final String entrantA;
+        private final String entrantB;
+        private final String scenario;
+        private int games;
+        private int winsA;
+        private int winsB;
+        private int draws;
+        private long turns;
+
+        Pairing(String entrantA, String entrantB, String scenario) {
+            this.entrantA = entrantA;
+            this.entrantB = entrantB;
+            this.scenario = scenario;
+        }
+
+        public String getEntrantA() {
+            return entrantA;
+        }
+
+        public String getEntrantB() {
+            return entrantB;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int getWinsA() {
+            return winsA;
+        }
+
+        public int getWinsB() {
+            return winsB;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public double getAverageTurns() {
+            return games == 0 ? 0 : (double) turns / games;
+        }
+
+        /**
+         * @return Entrant A's score rate: wins plus half the draws, over the games played.
+         */
+        public double getScoreA() {
+            return games == 0 ? 0 : (winsA + 0.5 * draws) / games;
+        }
+
+        /**
+         * @return The 95% Wilson score interval of entrant A's score rate, as {low, high}.
+         */
+        public double[] getConfidenceInterval() {
+            return wilson(winsA + 0.5 * draws, games);
+        }
+    }
+
+    /**
+     * Decision times of one entrant, over all its games.
+     */
+    public static final class Latency {
+        private long[] samples = new long[256]; // Nanoseconds
+        private int count;
+        private boolean sorted;
+
+        void addAll(long[] values) {
+            if (count + values.length > samples.length) {
+                samples = Arrays.copyOf(samples, Math.max(count + values.length, samples.length * 2));
+            }
+            System.arraycopy(values, 0, samples, count, values.length);
+            count += values.length;
+            sorted = false;
+        }
+
+        public int getDecisions() {
+            return count;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return The decision time at that percentile (nearest rank), in microseconds.
+         */
+        public double percentileMicros(double percentile) {
+            if (count == 0) return 0;
+            if (!sorted) {
+                Arrays.sort(samples, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return samples[Math.min(count - 1, Math.max(0, rank - 1))] / 1000.0;
+        }
+    }
+
+    private final List<String> entrantNames = new ArrayList<>();
+    private final List<Pairing> pairings;
+    private final Map<String, Latency> latencies = new LinkedHashMap<>();
+    private final int parallelism;
+    private final long masterSeed;
+    private int games;
+    private long elapsedNanos;
+
+    TournamentReport(List<TournamentRunner.Entrant> entrants, List<Pairing> pairings, int parallelism, long masterSeed) {
+        for (TournamentRunner.Entrant entrant : entrants) {
+            entrantNames.add(entrant.getName());
+            latencies.put(entrant.getName(), new Latency());
+        }
+        this.pairings = pairings;
+        this.parallelism = parallelism;
+        this.masterSeed = masterSeed;
+    }
+
+    void add(TournamentRunner.GameRecord record) {
+        Pairing pairing = pairings.get(record.pairing);
+        pairing.games++;
+        pairing.turns += record.result.getTurns();
+        double score = record.scoreA();
+        if (score == 1.0) {
+            pairing.winsA++;
+        } else if (score == 0.0) {
+            pairing.winsB++;
+        } else {
+            pairing.draws++;
+        }
+        latencies.get(entrantNames.get(record.entrantA)).addAll(record.latenciesA);
+        latencies.get(entrantNames.get(record.entrantB)).addAll(record.latenciesB);
+        games++;
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Pairing> getPairings() {
+        return Collections.unmodifiableList(pairings);
+    }
+
+    public Latency getLatency(String entrantName) {
+        return latencies.get(entrantName);
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return The tournament's master seed, to replay it.
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Wilson score interval of a proportion at 95% confidence.
+     * @param successes Number of successes (may be fractional: draws count as half).
+     * @param trials Number of trials.
+     * @return {low, high}, or {0, 1} without trials.
+     */
+    public static double[] wilson(double successes, int trials) {
+        if (trials == 0) return new double[] { 0, 1 };
+        double p = successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] { Math.max(0, center - margin), Math.min(1, center + margin) };
+    }
+
+    /**
+     * @return A printable multi-line summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%d games in %.2f s on %d threads: %.1f games/s (seed %d)%n",
+                games, elapsedNanos / 1e9, parallelism, getGamesPerSecond(), masterSeed));
+        out.append(String.format("%-14s %-10s %-10s %6s %5s %5s %5s %7s %15s %7s%n",
+                "Scenario", "A", "B", "Games", "A", "B", "Draw", "Score A", "95% CI", "Turns"));
+        for (Pairing pairing : pairings) {
+            double[] interval = pairing.getConfidenceInterval();
+            out.append(String.format("%-14s %-10s %-10s %6d %5d %5d %5d %7.3f  [%.3f, %.3f] %7.1f%n",
+                    pairing.scenario, pairing.entrantA, pairing.entrantB, pairing.games,
+                    pairing.winsA, pairing.winsB, pairing.draws, pairing.getScoreA(),
+                    interval[0], interval[1], pairing.getAverageTurns()));
+        }
+        out.append(String.format("%-10s %9s %10s %10s %10s %10s%n",
+                "Decisions", "Count", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)"));
+        for (Map.Entry<String, Latency> entry : latencies.entrySet()) {
+            Latency latency = entry.getValue();
+            out.append(String.format("%-10s %9d %10.0f %10.0f %10.0f %10.0f%n",
+                    entry.getKey(), latency.getDecisions(), latency.percentileMicros(50),
+                    latency.percentileMicros(90), latency.percentileMicros(99), latency.percentileMicros(100)));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,289 @@
+package com.yourusername.wargame.tournament;
+
+import com.yourusername.wargame.engine.*;
+import com.yourusername.wargame.model.unit.Unit;
+import com.yourusername.wargame.model.unit.UnitType;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Plays round-robin AI tournaments: every pair of entrants meets on every scenario, each game
+ * being an independent headless match ({@link HeadlessEngine}) run as a task of a work-stealing
+ * {@link ForkJoinPool}. Sides alternate from one game to the next so that neither entrant keeps
+ * the first move. The {@link TournamentReport} gives win rates with confidence intervals, the
+ * overall throughput and the decision latency of each entrant.
+ */
+public class TournamentRunner {
+
+    public static final long DEFAULT_SEARCH_BUDGET_MILLIS = 50;
+
+    /**
+     * An AI implementation taking part in a tournament.
+     */
+    public static final class Entrant {
+        private final String name;
+        private final Scenario.PlayerFactory factory;
+
+        public Entrant(String name, Scenario.PlayerFactory factory) {
+            this.name = Objects.requireNonNull(name, "Entrant name cannot be null");
+            this.factory = Objects.requireNonNull(factory, "Player factory cannot be null");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Scenario.PlayerFactory getFactory() {
+            return factory;
+        }
+
+        /** The basic rule-based {@link AiPlayer}. */
+        public static Entrant greedy() {
+            return new Entrant("Greedy", AiPlayer::new);
+        }
+
+        /** Single-threaded {@link MctsAiPlayer}: the tournament pool provides the parallelism. */
+        public static Entrant mcts(long budgetMillis) {
+            return new Entrant("MCTS", (name, index) -> new MctsAiPlayer(name, index, budgetMillis, 1));
+        }
+
+        /** {@link AlphaBetaAiPlayer} with its default maximum depth. */
+        public static Entrant alphaBeta(long budgetMillis) {
+            return new Entrant("AlphaBeta",
+                    (name, index) -> new AlphaBetaAiPlayer(name, index, budgetMillis, AlphaBetaAiPlayer.DEFAULT_MAX_DEPTH));
+        }
+    }
+
+    private final List<Entrant> entrants;
+    private final List<Scenario> scenarios;
+    private final int gamesPerPairing;
+    private final int parallelism;
+    private final HeadlessEngine engine;
+    private final RandomStreams randomStreams; // Game g is played with seed randomStreams.seedFor(GAME, g)
+
+    /**
+     * Creates a tournament.
+     * @param entrants The AIs taking part (at least two).
+     * @param scenarios The scenarios every pair plays; their players are replaced by the entrants.
+     * @param gamesPerPairing Games per pair of entrants and scenario (sides alternate between games).
+     * @param parallelism Number of games played at the same time.
+     * @param maxTurns Turn limit after which a game is a draw.
+     */
+    public TournamentRunner(List<Entrant> entrants, List<Scenario> scenarios, int gamesPerPairing,
+                            int parallelism, int maxTurns) {
+        this(entrants, scenarios, gamesPerPairing, parallelism, maxTurns, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a reproducible tournament: each game's seed is derived from the master seed and the
+     * game's position in the schedule, not from the thread or the order in which games finish.
+     * @param entrants The AIs taking part (at least two).
+     * @param scenarios The scenarios every pair plays; their players are replaced by the entrants.
+     * @param gamesPerPairing Games per pair of entrants and scenario (sides alternate between games).
+     * @param parallelism Number of games played at the same time.
+     * @param maxTurns Turn limit after which a game is a draw.
+     * @param masterSeed The seed all game seeds are derived from.
+     */
+    public TournamentRunner(List<Entrant> entrants, List<Scenario> scenarios, int gamesPerPairing,
+                            int parallelism, int maxTurns, long masterSeed) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants.");
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one scenario.");
+        }
+        if (gamesPerPairing <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Games per pairing and parallelism must be positive.");
+        }
+        this.entrants = new ArrayList<>(entrants);
+        this.scenarios = new ArrayList<>(scenarios);
+        this.gamesPerPairing = gamesPerPairing;
+        this.parallelism = parallelism;
+        this.engine = new HeadlessEngine(maxTurns);
+        this.randomStreams = new RandomStreams(masterSeed);
+    }
+
+    /**
+     * Plays every game of the tournament and gathers the results.
+     * @return The tournament report.
+     */
+    public TournamentReport run() {
+        List<TournamentReport.Pairing> pairings = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            for (int a = 0; a < entrants.size(); a++) {
+                for (int b = a + 1; b < entrants.size(); b++) {
+                    pairings.add(new TournamentReport.Pairing(entrants.get(a).getName(), entrants.get(b).getName(),
+                            scenario.getName()));
+                }
+            }
+        }
+        TournamentReport report = new TournamentReport(entrants, pairings, parallelism, randomStreams.getMasterSeed());
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            List<ForkJoinTask<GameRecord>> games = new ArrayList<>();
+            int pairingIndex = 0;
+            long gameIndex = 0;
+            for (Scenario scenario : scenarios) {
+                for (int a = 0; a < entrants.size(); a++) {
+                    for (int b = a + 1; b < entrants.size(); b++) {
+                        for (int g = 0; g < gamesPerPairing; g++) {
+                            int pairing = pairingIndex;
+                            int first = a, second = b;
+                            boolean swapped = g % 2 == 1; // Alternate who plays side 0
+                            long seed = randomStreams.seedFor(RandomStreams.GAME, gameIndex++);
+                            games.add(pool.submit(() -> playGame(scenario, pairing, first, second, swapped, seed)));
+                        }
+                        pairingIndex++;
+                    }
+                }
+            }
+            for (ForkJoinTask<GameRecord> game : games) {
+                report.add(game.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    // One game between entrants a and b; entrant a plays side 0 unless swapped
+    private GameRecord playGame(Scenario scenario, int pairing, int a, int b, boolean swapped, long seed) {
+        int side0 = swapped ? b : a;
+        int side1 = swapped ? a : b;
+        DecisionTimer timer = new DecisionTimer();
+        GameResult result = engine.play(scenario,
+                Arrays.asList(entrants.get(side0).getFactory(), entrants.get(side1).getFactory()), timer, seed);
+        return new GameRecord(pairing, a, b, swapped, result, timer.samples(swapped ? 1 : 0), timer.samples(swapped ? 0 : 1));
+    }
+
+    /**
+     * Result of one game, with the decision times of each entrant.
+     */
+    static final class GameRecord {
+        final int pairing;
+        final int entrantA;
+        final int entrantB;
+        final boolean swapped;   // Entrant A played side 1
+        final GameResult result;
+        final long[] latenciesA; // Nanoseconds per decision
+        final long[] latenciesB;
+
+        GameRecord(int pairing, int entrantA, int entrantB, boolean swapped, GameResult result,
+                   long[] latenciesA, long[] latenciesB) {
+            this.pairing = pairing;
+            this.entrantA = entrantA;
+            this.entrantB = entrantB;
+            this.swapped = swapped;
+            this.result = result;
+            this.latenciesA = latenciesA;
+            this.latenciesB = latenciesB;
+        }
+
+        /** @return 1 if entrant A won, 0 if it lost, 0.5 for a draw. */
+        double scoreA() {
+            if (result.isDraw()) return 0.5;
+            return (result.getWinnerIndex() == 1) == swapped ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Times each decision: from the start of a turn, or from the player's previous action,
+     * to its next action, or to the end of its turn (the decision to stop).
+     */
+    private static final class DecisionTimer implements GameController.GameEventListener {
+        private final long[][] samples = { new long[64], new long[64] };
+        private final int[] counts = new int[2];
+        private Player thinking;
+        private long since;
+
+        @Override
+        public void onTurnStart(Player player) {
+            long now = System.nanoTime();
+            if (thinking != null) {
+                record(thinking, now); // Decision to end the turn
+            }
+            thinking = player;
+            since = now;
+        }
+
+        @Override
+        public void onUnitAction(Unit unit, String actionType) {
+            actionBy(unit.getOwner());
+        }
+
+        @Override
+        public void onCombatResolved(Unit attacker, Unit defender, int damageDealt, boolean defenderDestroyed) {
+            actionBy(attacker.getOwner());
+        }
+
+        private void actionBy(Player player) {
+            if (player == thinking) {
+                long now = System.nanoTime();
+                record(player, now);
+                since = now;
+            }
+        }
+
+        private void record(Player player, long now) {
+            int side = player.getPlayerIndex();
+            if (counts[side] == samples[side].length) {
+                samples[side] = Arrays.copyOf(samples[side], counts[side] * 2);
+            }
+            samples[side][counts[side]++] = now - since;
+        }
+
+        @Override
+        public void onGameStateUpdate(GameState newState) {
+        }
+
+        @Override
+        public void onGameOver(Player winner) {
+            thinking = null;
+        }
+
+        long[] samples(int side) {
+            return Arrays.copyOf(samples[side], counts[side]);
+        }
+    }
+
+    // --- Command line ---
+
+    /**
+     * A mirrored skirmish with mixed units on a radius 6 map, used when no scenario is given.
+     */
+    public static Scenario openFieldScenario() {
+        UnitType[] types = { UnitType.INFANTRY, UnitType.ARCHER, UnitType.CAVALRY, UnitType.MAGE, UnitType.INFANTRY };
+        Scenario.Builder builder = Scenario.builder("Open Field").radius(6);
+        builder.player("West", AiPlayer::new);
+        for (int i = 0; i < types.length; i++) {
+            builder.unit(types[i], -4, i - 2);
+        }
+        builder.player("East", AiPlayer::new);
+        for (int i = 0; i < types.length; i++) {
+            builder.unit(types[i], 4, i - 2);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs the greedy, MCTS and alpha-beta AIs against each other and prints the report.
+     * Arguments: [gamesPerPairing] [parallelism] [searchBudgetMillis] [maxTurns] [seed].
+     */
+    public static void main(String[] args) {
+        int gamesPerPairing = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long budget = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEARCH_BUDGET_MILLIS;
+        int maxTurns = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : new SplittableRandom().nextLong();
+
+        List<Entrant> entrants = Arrays.asList(Entrant.greedy(), Entrant.mcts(budget), Entrant.alphaBeta(budget));
+        List<Scenario> scenarios = Arrays.asList(Scenario.skirmish(), openFieldScenario());
+        TournamentRunner runner = new TournamentRunner(entrants, scenarios, gamesPerPairing, parallelism, maxTurns, seed);
+        System.out.print(runner.run().format());
+    }
+}
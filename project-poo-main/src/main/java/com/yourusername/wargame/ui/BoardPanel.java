@@ -184,25 +184,34 @@ public class BoardPanel extends JPanel {
     
     /**
      * Converts pixel coordinates to axial coordinates.
+     * Inverts axialToPixel and rounds to the nearest hex, so no per-hex scan or allocation is needed.
      */
     private AxialCoord pixelToAxial(int x, int y) {
         if (gameState == null) return null;
         
-        // Find closest hex center
-        double minDist = Double.MAX_VALUE;
-        AxialCoord closest = null;
-        
-        for (Map.Entry<AxialCoord, Point> entry : hexToPixel.entrySet()) {
-            Point center = entry.getValue();
-            double dist = Math.sqrt(Math.pow(x - center.x, 2) + Math.pow(y - center.y, 2));
-            
-            if (dist < minDist && dist <= HEX_SIZE) {
-                minDist = dist;
-                closest = entry.getKey();
-            }
+        // Fractional axial coordinates relative to the board center
+        double px = x - getWidth() / 2;
+        double py = y - getHeight() / 2;
+        double fq = (2.0 / 3.0 * px) / HEX_SIZE;
+        double fr = (-1.0 / 3.0 * px + Math.sqrt(3) / 3.0 * py) / HEX_SIZE;
+        
+        // Cube rounding: round all three coordinates, then fix the one with the largest error
+        double fs = -fq - fr;
+        long q = Math.round(fq);
+        long r = Math.round(fr);
+        long s = Math.round(fs);
+        double dq = Math.abs(q - fq);
+        double dr = Math.abs(r - fr);
+        double ds = Math.abs(s - fs);
+        if (dq > dr && dq > ds) {
+            q = -r - s;
+        } else if (dr > ds) {
+            r = -q - s;
         }
         
-        return closest;
+        // Only hexes that exist on the board are valid targets
+        Hex hex = gameState.getBoard().getHex((int) q, (int) r);
+        return hex != null ? hex.getCoordinates() : null;
     }
     
     /**
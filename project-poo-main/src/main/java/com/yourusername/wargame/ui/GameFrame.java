@@ -2,6 +2,10 @@ package com.yourusername.wargame.ui;
 
 import com.yourusername.wargame.*;
 import com.yourusername.wargame.engine.*;
+import com.yourusername.wargame.io.ActionJournal;
+import com.yourusername.wargame.io.Autosave;
+import com.yourusername.wargame.io.BinarySaveFormat;
+import com.yourusername.wargame.io.SavedGame;
 import com.yourusername.wargame.model.terrain.TerrainType;
 import com.yourusername.wargame.model.unit.Unit;
 import com.yourusername.wargame.model.unit.UnitType;
@@ -12,6 +16,9 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
 
@@ -19,16 +26,28 @@ import java.util.List;
  * The main window for the Wargame application.
  * Contains the game board panel, info panel, menus, and handles user interactions.
  */
-public class GameFrame extends JFrame implements GameController.GameEventListener {
+public class GameFrame extends JFrame implements GameController.GameEventListener, AiTurnExecutor.ProgressListener {
     
     private static final long serialVersionUID = 1L;
     
+    // Hard limit on the thinking time of an AI turn
+    private static final long AI_TURN_DEADLINE_MILLIS = 10_000;
+    private static final String SAVE_EXTENSION = ".wgs";
+    private static final Path RECORDING_DIRECTORY = Paths.get(System.getProperty("user.home"), ".wargame");
+    private static final Path AUTOSAVE_FILE = RECORDING_DIRECTORY.resolve("autosave" + SAVE_EXTENSION);
+    private static final Path JOURNAL_FILE = RECORDING_DIRECTORY.resolve("last-game.wgj");
+    
     // Core game components
     private final GameController gameController;
+    private final AiTurnExecutor aiTurnExecutor;
+    private final Autosave autosave; // Null if the recording directory cannot be created
+    private ActionJournal journal;   // Journal of the game in progress, replaced for each new game
     
     // UI components
     private final BoardPanel boardPanel;
     private final InfoPanel infoPanel;
+    private JMenuItem undoItem;
+    private JMenuItem redoItem;
     
     // UI interaction state
     private AxialCoord selectedHex = null;
@@ -45,8 +64,26 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
         gameController = new GameController();
         gameController.setGameEventListener(this);
         
+        // AI turns run on a worker thread so the window stays responsive; progress comes back on the EDT
+        aiTurnExecutor = new AiTurnExecutor(AI_TURN_DEADLINE_MILLIS, SwingUtilities::invokeLater);
+        aiTurnExecutor.setProgressListener(this);
+        gameController.setAiTurnExecutor(aiTurnExecutor);
+        
+        // Every end of turn is saved in the background, so a crashed or closed game can be resumed;
+        // each game is also journaled (see startJournal)
+        autosave = createAutosave();
+        if (autosave != null) {
+            gameController.addActionRecorder(autosave);
+        }
+        
         // Set up the window
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeRecorders();
+            }
+        });
         setLayout(new BorderLayout());
         
         // Create the UI components
@@ -81,13 +118,44 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
         JMenuItem newGameItem = new JMenuItem("New Game");
         newGameItem.addActionListener(e -> createDefaultScenario());
         
+        JMenuItem saveGameItem = new JMenuItem("Save Game...");
+        saveGameItem.addActionListener(e -> saveGame());
+        
+        JMenuItem loadGameItem = new JMenuItem("Load Game...");
+        loadGameItem.addActionListener(e -> loadGame());
+        
         JMenuItem quitItem = new JMenuItem("Quit");
-        quitItem.addActionListener(e -> System.exit(0));
+        quitItem.addActionListener(e -> {
+            closeRecorders();
+            System.exit(0);
+        });
+        
+        JMenuItem resumeAutosaveItem = new JMenuItem("Resume Autosave");
+        resumeAutosaveItem.addActionListener(e -> resumeAutosave());
         
         fileMenu.add(newGameItem);
+        fileMenu.add(saveGameItem);
+        fileMenu.add(loadGameItem);
+        fileMenu.add(resumeAutosaveItem);
         fileMenu.addSeparator();
         fileMenu.add(quitItem);
         
+        // Edit menu: undo and redo the human player's moves since its last attack or scouting move
+        JMenu editMenu = new JMenu("Edit");
+        int shortcut = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        
+        undoItem = new JMenuItem("Undo");
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut));
+        undoItem.addActionListener(e -> undoLastAction());
+        
+        redoItem = new JMenuItem("Redo");
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcut));
+        redoItem.addActionListener(e -> redoLastAction());
+        
+        editMenu.add(undoItem);
+        editMenu.add(redoItem);
+        updateEditMenu();
+        
         // Help menu
         JMenu helpMenu = new JMenu("Help");
         
@@ -99,6 +167,8 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
                             "Controls:\n" +
                             "- Click on your units to select them\n" +
                             "- Click on highlighted hexes to move or attack\n" +
+                            "- Edit > Undo / Redo takes back moves of your turn, up to your last attack\n" +
+                            "  or the last move that revealed fogged hexes\n" +
                             "- Use the End Turn button when done",
                     "About Wargame",
                     JOptionPane.INFORMATION_MESSAGE);
@@ -108,6 +178,7 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
         
         // Add menus to menu bar
         menuBar.add(fileMenu);
+        menuBar.add(editMenu);
         menuBar.add(helpMenu);
         
         // Set the menu bar
@@ -118,55 +189,170 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
      * Creates a default scenario for testing.
      */
     private void createDefaultScenario() {
-        // Create a board
-        Board board = new Board(5);
-        
-        // Create players
-        HumanPlayer humanPlayer = new HumanPlayer("Human Player", 0);
-        AiPlayer aiPlayer = new AiPlayer("AI Player", 1);
-        List<Player> players = Arrays.asList(humanPlayer, aiPlayer);
-        
-        // Create victory conditions
-        Map<Player, List<VictoryCondition>> victoryConditions = new HashMap<>();
-        victoryConditions.put(humanPlayer, Collections.singletonList(new DestroyAllCondition(aiPlayer)));
-        victoryConditions.put(aiPlayer, Collections.singletonList(new DestroyAllCondition(humanPlayer)));
-        
-        // Create game state
-        GameState gameState = new GameState(board, players, victoryConditions);
-        
-        // Create and place units for the human player
-        Unit infantry1 = new Unit(UnitType.INFANTRY, humanPlayer, new AxialCoord(-3, 1));
-        Unit archer1 = new Unit(UnitType.ARCHER, humanPlayer, new AxialCoord(-3, 0));
-        Unit cavalry1 = new Unit(UnitType.CAVALRY, humanPlayer, new AxialCoord(-2, -1));
-        
-        // Create and place units for the AI player
-        Unit infantry2 = new Unit(UnitType.INFANTRY, aiPlayer, new AxialCoord(3, -1));
-        Unit archer2 = new Unit(UnitType.ARCHER, aiPlayer, new AxialCoord(3, -2));
-        Unit mage2 = new Unit(UnitType.MAGE, aiPlayer, new AxialCoord(2, -3));
-        
-        // Add units to players
-        humanPlayer.addUnit(infantry1);
-        humanPlayer.addUnit(archer1);
-        humanPlayer.addUnit(cavalry1);
-        
-        aiPlayer.addUnit(infantry2);
-        aiPlayer.addUnit(archer2);
-        aiPlayer.addUnit(mage2);
-        
-        // Place units on board
-        board.placeUnit(infantry1, infantry1.getPosition());
-        board.placeUnit(archer1, archer1.getPosition());
-        board.placeUnit(cavalry1, cavalry1.getPosition());
-        
-        board.placeUnit(infantry2, infantry2.getPosition());
-        board.placeUnit(archer2, archer2.getPosition());
-        board.placeUnit(mage2, mage2.getPosition());
+        // Human player against the basic AI (see Scenario.skirmish)
+        GameState gameState = Scenario.skirmish().createGameState();
         
         // Initialize the game
+        startJournal();
         gameController.initializeGame(gameState);
         gameController.startGame();
     }
     
+    /**
+     * Saves the current game in the binary save format. Only during the human player's turn,
+     * so that no AI is changing the game while it is written.
+     */
+    private void saveGame() {
+        if (!isHumanTurnActive || gameController.getGameState() == null) {
+            JOptionPane.showMessageDialog(this, "The game can only be saved during your turn.",
+                    "Save Game", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("wargame" + SAVE_EXTENSION));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            BinarySaveFormat.write(chooser.getSelectedFile().toPath(), SavedGame.of(gameController));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not save the game: " + e.getMessage(),
+                    "Save Game", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    /**
+     * Loads a game saved with {@link #saveGame()} and resumes it.
+     */
+    private void loadGame() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        SavedGame game;
+        try {
+            game = BinarySaveFormat.read(chooser.getSelectedFile().toPath());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not load the game: " + e.getMessage(),
+                    "Load Game", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        selectedUnit = null;
+        selectedHex = null;
+        startJournal();
+        game.resumeIn(gameController);
+    }
+    
+    // --- Autosave and journal ---
+    
+    private static Autosave createAutosave() {
+        try {
+            Files.createDirectories(RECORDING_DIRECTORY);
+        } catch (IOException e) {
+            GameLog.error(() -> "Autosave and journal disabled: " + e.getMessage());
+            return null;
+        }
+        return new Autosave(AUTOSAVE_FILE);
+    }
+    
+    // A journal records a single game: the previous one is closed and a new one recorded next to the autosave
+    private void startJournal() {
+        closeJournal();
+        if (autosave == null) return; // No recording directory
+        try {
+            journal = new ActionJournal(JOURNAL_FILE);
+            gameController.addActionRecorder(journal);
+        } catch (IOException e) {
+            GameLog.error(() -> "Could not create the game journal: " + e.getMessage());
+        }
+    }
+    
+    private void closeJournal() {
+        if (journal == null) return;
+        gameController.removeActionRecorder(journal);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            GameLog.error(() -> "Game journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+    
+    /**
+     * Resumes the game saved automatically at the last end of turn.
+     */
+    private void resumeAutosave() {
+        if (!Files.exists(AUTOSAVE_FILE)) {
+            JOptionPane.showMessageDialog(this, "There is no autosave yet.",
+                    "Resume Autosave", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        SavedGame game;
+        try {
+            game = Autosave.load(AUTOSAVE_FILE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not load the autosave: " + e.getMessage(),
+                    "Resume Autosave", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        selectedUnit = null;
+        selectedHex = null;
+        startJournal();
+        game.resumeIn(gameController);
+    }
+    
+    // Writes the journal and waits for the save in progress, if any, before the application exits
+    private void closeRecorders() {
+        closeJournal();
+        if (autosave == null) return;
+        try {
+            autosave.close();
+        } catch (IOException e) {
+            GameLog.error(() -> "Autosave: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Takes back the human player's latest move of this turn.
+     */
+    private void undoLastAction() {
+        if (isHumanTurnActive && gameController.getGameState() != null) {
+            Player currentPlayer = gameController.getGameState().getCurrentPlayer();
+            if (gameController.undo(currentPlayer)) {
+                clearSelection();
+            }
+        }
+        updateEditMenu();
+    }
+    
+    /**
+     * Plays again the latest move taken back with {@link #undoLastAction()}.
+     */
+    private void redoLastAction() {
+        if (isHumanTurnActive && gameController.getGameState() != null) {
+            Player currentPlayer = gameController.getGameState().getCurrentPlayer();
+            if (gameController.redo(currentPlayer)) {
+                clearSelection();
+            }
+        }
+        updateEditMenu();
+    }
+    
+    // The selected unit may have moved back
+    private void clearSelection() {
+        selectedUnit = null;
+        selectedHex = null;
+        boardPanel.clearAllHighlights();
+    }
+    
+    // Undo and redo are only offered during the human player's turn, for the moves it can still take back
+    private void updateEditMenu() {
+        GameState state = gameController.getGameState();
+        boolean humanTurn = isHumanTurnActive && state != null;
+        undoItem.setEnabled(humanTurn && gameController.canUndo(state.getCurrentPlayer()));
+        redoItem.setEnabled(humanTurn && gameController.canRedo(state.getCurrentPlayer()));
+    }
+    
     /**
      * Called by BoardPanel when a hex is clicked.
      * Handles unit selection and movement/attack actions.
@@ -252,6 +438,9 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
     public void requestEndTurn() {
         if (isHumanTurnActive && gameController.getGameState() != null) {
             Player currentPlayer = gameController.getGameState().getCurrentPlayer();
+            // Returns at once: an AI turn that follows runs on the AI worker thread
+            isHumanTurnActive = false;
+            updateEditMenu();
             gameController.endTurn(currentPlayer);
             
             // Clear selection and highlights
@@ -272,9 +461,40 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
      * Called by BoardPanel when the mouse hovers over a hex.
      */
     public void handleHexHover(AxialCoord coord) {
-        if (gameController.getGameState() != null) {
-            infoPanel.updateHoverInfo(gameController.getGameState(), coord);
+        GameState gameState = gameController.getGameState();
+        if (gameState != null) {
+            infoPanel.updateHoverInfo(gameState, coord, attackOddsAt(gameState, coord));
+        }
+    }
+    
+    // Odds of the selected unit attacking the enemy unit at coord, if it is in range
+    private CombatOdds attackOddsAt(GameState gameState, AxialCoord coord) {
+        if (selectedUnit == null || coord == null || !selectedUnit.canAttack()) {
+            return null;
+        }
+        Hex hex = gameState.getBoard().getHex(coord);
+        if (hex == null || !hex.isOccupied() || hex.getUnit().getOwner() == selectedUnit.getOwner()
+                || selectedUnit.getPosition().distanceTo(coord) > selectedUnit.getAttackRange()) {
+            return null;
         }
+        return gameController.computeCombatOdds(selectedUnit, hex.getUnit());
+    }
+    
+    // --- AiTurnExecutor.ProgressListener implementation (called on the EDT) ---
+    
+    @Override
+    public void onAiTurnStarted(Player player, long deadlineMillis) {
+        infoPanel.setAiStatus(player.getName() + " is thinking...");
+    }
+    
+    @Override
+    public void onAiProgress(Player player, String status, long elapsedMillis) {
+        infoPanel.setAiStatus(status + " - " + elapsedMillis / 1000.0 + " s");
+    }
+    
+    @Override
+    public void onAiTurnFinished(Player player, boolean cancelled) {
+        infoPanel.setAiStatus(cancelled ? "cancelled" : "idle");
     }
     
     // --- GameEventListener implementation ---
@@ -284,6 +504,7 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
         SwingUtilities.invokeLater(() -> {
             boardPanel.setGameState(newState);
             infoPanel.updateInfo(newState, selectedHex, selectedUnit);
+            updateEditMenu();
         });
     }
     
@@ -315,6 +536,7 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
     public void onTurnStart(Player player) {
         SwingUtilities.invokeLater(() -> {
             isHumanTurnActive = !player.isAi();
+            updateEditMenu();
             
             GameState state = gameController.getGameState();
             infoPanel.updateInfo(state, null, null);
@@ -336,6 +558,7 @@ public class GameFrame extends JFrame implements GameController.GameEventListene
     public void onGameOver(Player winner) {
         SwingUtilities.invokeLater(() -> {
             isHumanTurnActive = false;
+            updateEditMenu();
             
             JOptionPane.showMessageDialog(this,
                     "Game Over!\nWinner: " + winner.getName(),
@@ -1,5 +1,6 @@
 package com.yourusername.wargame.ui;
 
+import com.yourusername.wargame.CombatOdds;
 import com.yourusername.wargame.engine.*;
 import com.yourusername.wargame.model.terrain.TerrainType;
 import com.yourusername.wargame.model.unit.Unit;
@@ -24,6 +25,7 @@ public class InfoPanel extends JPanel {
     // UI components
     private JLabel turnLabel;
     private JLabel playerLabel;
+    private JLabel aiStatusLabel;
     private JButton endTurnButton;
     
     private JPanel unitInfoPanel;
@@ -57,6 +59,7 @@ public class InfoPanel extends JPanel {
         
         turnLabel = new JLabel("Turn: -");
         playerLabel = new JLabel("Player: -");
+        aiStatusLabel = new JLabel("AI: idle");
         
         endTurnButton = new JButton("End Turn");
         endTurnButton.setEnabled(false);
@@ -65,6 +68,8 @@ public class InfoPanel extends JPanel {
         gameStatePanel.add(turnLabel);
         gameStatePanel.add(Box.createVerticalStrut(5));
         gameStatePanel.add(playerLabel);
+        gameStatePanel.add(Box.createVerticalStrut(5));
+        gameStatePanel.add(aiStatusLabel);
         gameStatePanel.add(Box.createVerticalStrut(10));
         gameStatePanel.add(endTurnButton);
         
@@ -150,12 +155,30 @@ public class InfoPanel extends JPanel {
         }
     }
     
+    /**
+     * Shows what the AI is doing (thinking, idle...).
+     * @param status The status text.
+     */
+    public void setAiStatus(String status) {
+        aiStatusLabel.setText("AI: " + status);
+    }
+    
     /**
      * Updates the hover information for the hovered hex.
      * @param gameState The current game state.
      * @param hoveredHex The currently hovered hex.
      */
     public void updateHoverInfo(GameState gameState, AxialCoord hoveredHex) {
+        updateHoverInfo(gameState, hoveredHex, null);
+    }
+    
+    /**
+     * Updates the hover information for the hovered hex, with the odds of attacking its unit.
+     * @param gameState The current game state.
+     * @param hoveredHex The currently hovered hex.
+     * @param attackOdds Odds of the selected unit attacking the hovered unit, or null.
+     */
+    public void updateHoverInfo(GameState gameState, AxialCoord hoveredHex, CombatOdds attackOdds) {
         hoverInfoPanel.removeAll();
         
         if (hoveredHex != null && gameState != null && gameState.getBoard() != null) {
@@ -175,6 +198,17 @@ public class InfoPanel extends JPanel {
                     hoverInfoPanel.add(unitLabel);
                     hoverInfoPanel.add(ownerLabel);
                     hoverInfoPanel.add(healthLabel);
+                    
+                    if (attackOdds != null) {
+                        DecimalFormat pct = new DecimalFormat("0%");
+                        hoverInfoPanel.add(new JLabel("Attack: " + attackOdds.getMinDamage() + "-"
+                                + attackOdds.getMaxDamage() + " dmg, kill " + pct.format(attackOdds.getKillChance())));
+                        if (attackOdds.canCounterAttack()) {
+                            hoverInfoPanel.add(new JLabel("Counter: " + attackOdds.getMinCounterDamage() + "-"
+                                    + attackOdds.getMaxCounterDamage() + " dmg, loss "
+                                    + pct.format(attackOdds.getAttackerDeathChance())));
+                        }
+                    }
                 } else {
                     hoverInfoPanel.add(new JLabel("Unit: None"));
                 }